@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Startup time and memory of the JVM image (Dockerfile) vs the native image (Dockerfile.native).
+#
+#   scripts/compare-startup.sh [runs]
+#
+# Startup = docker run until /actuator/health answers UP. RSS = VmRSS of the server process once up.
+# Each image is started `runs` times (default 5) and the median is reported.
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=18080
+
+cd "$(dirname "$0")/.."
+
+docker build -q -t depth-chart:jvm -f Dockerfile . >/dev/null
+docker build -q -t depth-chart:native -f Dockerfile.native . >/dev/null
+
+now_ms() {
+  date +%s%3N
+}
+
+# prints "<startup ms> <rss kB>"
+measure() {
+  local image=$1
+  local container
+  local start
+  local elapsed
+
+  start=$(now_ms)
+  container=$(docker run -d -p "${PORT}:8080" "${image}")
+  until curl -sf "http://localhost:${PORT}/actuator/health" | grep -q UP; do
+    if [ $(( $(now_ms) - start )) -gt 120000 ]; then
+      echo "timed out waiting for ${image}" >&2
+      docker logs "${container}" >&2
+      docker rm -f "${container}" >/dev/null
+      exit 1
+    fi
+    sleep 0.05
+  done
+  elapsed=$(( $(now_ms) - start ))
+
+  local rss
+  rss=$(docker exec "${container}" sh -c "grep VmRSS /proc/1/status" | awk '{print $2}')
+  docker rm -f "${container}" >/dev/null
+  echo "${elapsed} ${rss}"
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+printf "%-8s %14s %12s\n" "image" "startup (ms)" "RSS (MB)"
+for variant in jvm native; do
+  results=$(for _ in $(seq "${RUNS}"); do measure "depth-chart:${variant}"; done)
+  startup=$(echo "${results}" | awk '{print $1}' | median)
+  rss=$(echo "${results}" | awk '{print $2}' | median)
+  printf "%-8s %14d %12d\n" "${variant}" "${startup}" "$(( rss / 1024 ))"
+done
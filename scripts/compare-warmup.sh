@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# First-request latency and time to steady-state p99 for three ways of starting the jar:
+#   jvm   plain java -jar
+#   cds   with an AppCDS archive trained by a warmup run (-XX:ArchiveClassesAtExit)
+#   crac  restored from a CRaC checkpoint taken after the warmup (skipped unless the JDK supports CRaC)
+#
+#   scripts/compare-warmup.sh [probe seconds]
+#
+# Each mode is measured by ColdStartProbe (./gradlew coldStartProbe), started before the app.
+set -euo pipefail
+
+DURATION=${1:-60}
+PORT=18080
+WORK=build/warmup
+
+cd "$(dirname "$0")/.."
+rm -rf "${WORK}"
+mkdir -p "${WORK}"
+
+./gradlew -q bootJar loadTestClasses
+# extracted layout, which is what AppCDS needs (classes from nested jars cannot be archived)
+java -Djarmode=tools -jar build/libs/fanduel-depth-chart-0.0.1-SNAPSHOT.jar extract --destination "${WORK}/app"
+JAR="${WORK}/app/fanduel-depth-chart-0.0.1-SNAPSHOT.jar"
+
+# rate limiting off: the probe is one client and would mostly measure 429s
+APP_ARGS=(--server.port=${PORT} --depthchart.rate-limit.enabled=false)
+WARMUP_ARGS=("${APP_ARGS[@]}" --depthchart.warmup.enabled=true)
+
+echo "== training AppCDS archive"
+java -XX:ArchiveClassesAtExit="${WORK}/app.jsa" -jar "${JAR}" "${WARMUP_ARGS[@]}" \
+  --depthchart.warmup.exit-when-done=true > "${WORK}/cds-training.log"
+
+CRAC=false
+if java -XX:CRaCCheckpointTo="${WORK}/probe-crac" -version >/dev/null 2>&1; then
+  echo "== taking CRaC checkpoint"
+  java -XX:CRaCCheckpointTo="${WORK}/crac" -jar "${JAR}" "${WARMUP_ARGS[@]}" \
+    --depthchart.warmup.checkpoint=true > "${WORK}/crac-checkpoint.log" 2>&1 || true
+  CRAC=true
+else
+  echo "== this JDK has no CRaC support, skipping the crac mode"
+fi
+
+probe() {
+  local mode=$1
+  shift
+  ./gradlew -q coldStartProbe -Pload.baseUrl="http://localhost:${PORT}" -Pload.duration="${DURATION}s" \
+    > "${WORK}/${mode}.txt" &
+  local probe_pid=$!
+  sleep 2 # let gradle start the probe first
+  "$@" > "${WORK}/${mode}-app.log" 2>&1 &
+  local app_pid=$!
+  wait "${probe_pid}"
+  kill "${app_pid}" 2>/dev/null || true
+  wait "${app_pid}" 2>/dev/null || true
+  echo "== ${mode}"
+  grep -E "^(Up after|First request|Steady-state)" "${WORK}/${mode}.txt"
+}
+
+probe jvm java -jar "${JAR}" "${APP_ARGS[@]}"
+probe cds java -XX:SharedArchiveFile="${WORK}/app.jsa" -jar "${JAR}" "${APP_ARGS[@]}"
+if [ "${CRAC}" = true ]; then
+  probe crac java -XX:CRaCRestoreFrom="${WORK}/crac"
+fi
+echo "Full per-second tables in ${WORK}/"
@@ -0,0 +1,37 @@
+package com.fd.depthchart.bench;
+
+import com.fd.depthchart.config.LeagueCatalogProperties;
+import com.fd.depthchart.service.LeagueMetadataService;
+import com.fd.depthchart.service.PropertiesLeagueMetadataService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared catalog for benchmarks, mirroring the NFL entry in application.yml.
+ */
+final class BenchmarkFixtures {
+
+    static final List<String> NFL_POSITIONS = List.of(
+            "LWR", "RWR", "SWR", "QB", "RB", "LT", "LG", "C", "RG", "RT", "WR", "TE", "K", "P");
+
+    static final List<String> NFL_TEAMS = List.of("TB", "NE", "DAL", "KC", "PHI");
+
+    private BenchmarkFixtures() {
+    }
+
+    static LeagueCatalogProperties catalog() {
+        LeagueCatalogProperties.League nfl = new LeagueCatalogProperties.League();
+        nfl.setTeams(Set.copyOf(NFL_TEAMS));
+        nfl.setPositions(Set.copyOf(NFL_POSITIONS));
+
+        LeagueCatalogProperties props = new LeagueCatalogProperties();
+        props.setLeagues(Map.of("NFL", nfl));
+        return props;
+    }
+
+    static LeagueMetadataService leagueMetadataService() {
+        return new PropertiesLeagueMetadataService(catalog());
+    }
+}
@@ -0,0 +1,103 @@
+package com.fd.depthchart.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fd.depthchart.controller.ChartBodies;
+import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.TeamKey;
+import com.fd.depthchart.service.DepthChartServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A full depth chart poll from a client sending {@code Accept-Encoding: gzip, deflate, br}.
+ * {@code precompressed} is the current path (cached variant picked per request);
+ * {@code compressOnTheFly} is what response compression in the servlet container costs per request,
+ * gzip at the default level; {@code uncompressed} is the baseline without compression.
+ * The body sizes of each variant are printed at the end of the trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+
+    private static final int PLAYERS_PER_POSITION = 4;
+    private static final String ACCEPT_ENCODING = "gzip, deflate, br";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ChartBodies chartBodies = new ChartBodies(objectMapper);
+    // stands in for the response stream, see ReadPathBenchmark
+    private final OutputStream sink = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+    private DepthChartServiceImpl service;
+    private TeamKey team;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new DepthChartServiceImpl(BenchmarkFixtures.leagueMetadataService());
+        for (String position : BenchmarkFixtures.NFL_POSITIONS) {
+            for (int i = 1; i <= PLAYERS_PER_POSITION; i++) {
+                service.addPlayerToDepthChart(DepthChartKey.of("NFL", "TB", position),
+                        new Player(i, position + " Player " + i), null);
+            }
+        }
+        team = TeamKey.of("NFL", "TB");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        ChartBodies.Variants variants = chartBodies.get(team, service.getDepthChartVersion("NFL", "TB"),
+                () -> service.getTeamDepthChart("NFL", "TB"));
+        ByteArrayOutputStream onTheFly = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(onTheFly)) {
+            objectMapper.writeValue(gzip, service.getFullDepthChart("NFL", "TB"));
+        }
+        System.out.printf("%nBody bytes: identity %d, gzip precompressed %d, gzip on the fly %d, br %s%n",
+                variants.identity().length, variants.gzip().length, onTheFly.size(),
+                variants.brotli() == null ? "n/a" : variants.brotli().length);
+        service.shutdown();
+    }
+
+    @Benchmark
+    public void precompressed() throws IOException {
+        long version = service.getDepthChartVersion("NFL", "TB");
+        ChartBodies.Variants variants = chartBodies.get(team, version, () -> service.getTeamDepthChart("NFL", "TB"));
+        sink.write(variants.body(chartBodies.negotiate(ACCEPT_ENCODING, variants)));
+    }
+
+    @Benchmark
+    public void compressOnTheFly() throws IOException {
+        objectMapper.writeValue(new GZIPOutputStream(sink), service.getFullDepthChart("NFL", "TB"));
+    }
+
+    @Benchmark
+    public void uncompressed() throws IOException {
+        objectMapper.writeValue(sink, service.getFullDepthChart("NFL", "TB"));
+    }
+}
@@ -0,0 +1,98 @@
+package com.fd.depthchart.bench;
+
+import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.service.DepthChartServiceImpl;
+import com.fd.depthchart.service.DepthChartWriteMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Many sync jobs writing to the same team at once: optimistic compare-and-set writes vs. the batched single writer,
+ * which publishes each team's queued writes as one version. OPTIMISTIC is the baseline: it is the default mode and
+ * replaced the lock-based writes this used to be compared against.
+ * Throughput shows contended write rate, SampleTime the latency distribution per write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ContendedWriteBenchmark {
+
+    private static final int ASYNC_BURST = 16;
+
+    @Param({"OPTIMISTIC", "BATCHED"})
+    public DepthChartWriteMode writeMode;
+
+    private DepthChartServiceImpl service;
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+        DepthChartKey key;
+        Player player;
+        Player[] burst;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            int id = NEXT_ID.incrementAndGet();
+            String position = BenchmarkFixtures.NFL_POSITIONS.get(id % BenchmarkFixtures.NFL_POSITIONS.size());
+            key = DepthChartKey.of("NFL", "TB", position);
+            player = new Player(id, "Writer " + id);
+            burst = new Player[ASYNC_BURST];
+            for (int i = 0; i < ASYNC_BURST; i++) {
+                burst[i] = new Player(id * 1000 + i, "Writer " + id + " #" + i);
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new DepthChartServiceImpl(BenchmarkFixtures.leagueMetadataService(), 256, writeMode, 256);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public Object addThenRemove(Writer writer) {
+        service.addPlayerToDepthChart(writer.key, writer.player, 0);
+        return service.removePlayerFromDepthChart(writer.key, writer.player);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ASYNC_BURST * 2)
+    public void asyncBurst(Writer writer) {
+        CompletableFuture<?>[] writes = new CompletableFuture<?>[ASYNC_BURST * 2];
+        for (int i = 0; i < ASYNC_BURST; i++) {
+            writes[i] = service.addPlayerToDepthChartAsync(writer.key, writer.burst[i], null);
+        }
+        for (int i = 0; i < ASYNC_BURST; i++) {
+            writes[ASYNC_BURST + i] = service.removePlayerFromDepthChartAsync(writer.key, writer.burst[i]);
+        }
+        CompletableFuture.allOf(writes).join();
+    }
+}
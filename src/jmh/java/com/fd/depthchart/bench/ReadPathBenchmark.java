@@ -0,0 +1,81 @@
+package com.fd.depthchart.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.service.DepthChartServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two hot reads as the controller serves them: service call plus JSON written to the response stream.
+ * Run with the gc profiler (on by default in build.gradle) and watch {@code gc.alloc.rate.norm},
+ * the bytes allocated per request; it should only move when the response shape does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    private static final int PLAYERS_PER_POSITION = 4;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // stands in for the response stream; a plain class rather than OutputStream.nullOutputStream(), which fails once closed
+    private final OutputStream sink = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+    private DepthChartServiceImpl service;
+    private DepthChartKey key;
+    private Player starter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new DepthChartServiceImpl(BenchmarkFixtures.leagueMetadataService());
+        for (String position : BenchmarkFixtures.NFL_POSITIONS) {
+            for (int i = 1; i <= PLAYERS_PER_POSITION; i++) {
+                service.addPlayerToDepthChart(DepthChartKey.of("NFL", "TB", position),
+                        new Player(i, position + " Player " + i), null);
+            }
+        }
+        key = DepthChartKey.of("NFL", "TB", "QB");
+        starter = new Player(1, "QB Player 1");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public void getBackups() throws IOException {
+        objectMapper.writeValue(sink, service.getBackups(key, starter));
+    }
+
+    @Benchmark
+    public void getFullDepthChart() throws IOException {
+        objectMapper.writeValue(sink, service.getFullDepthChart("NFL", "TB"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.fd.depthchart.bench;
+
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.TeamKey;
+import com.fd.depthchart.repository.DepthChartRepository;
+import com.fd.depthchart.repository.DiskDepthChartRepository;
+import com.fd.depthchart.repository.InMemoryDepthChartRepository;
+import com.fd.depthchart.repository.OffHeapDepthChartRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same reads and writes against every storage backend, on a catalog of {@code teams} full NFL charts.
+ * Compare time per operation and, from the gc profiler, {@code gc.alloc.rate.norm}: off-heap and disk
+ * reads decode a fresh chart ({@code getPosition} only the one position), heap reads allocate nothing.
+ * Disk writes include forcing the file to disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final int PLAYERS_PER_POSITION = 4;
+
+    @Param({"heap", "off-heap", "disk"})
+    public String backend;
+
+    @Param({"1000"})
+    public int teams;
+
+    private DepthChartRepository repository;
+    private TeamKey[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        repository = switch (backend) {
+            case "heap" -> new InMemoryDepthChartRepository();
+            case "off-heap" -> new OffHeapDepthChartRepository();
+            case "disk" -> new DiskDepthChartRepository(Files.createTempDirectory("depth-chart-bench"));
+            default -> throw new IllegalArgumentException("Unknown backend " + backend);
+        };
+
+        Map<String, List<Player>> positions = new LinkedHashMap<>();
+        for (String position : BenchmarkFixtures.NFL_POSITIONS) {
+            Player[] players = new Player[PLAYERS_PER_POSITION];
+            for (int i = 0; i < players.length; i++) {
+                players[i] = new Player(i + 1, position + " Player " + (i + 1));
+            }
+            positions.put(position, List.of(players));
+        }
+        TeamDepthChart chart = TeamDepthChart.of(1L, positions);
+
+        keys = new TeamKey[teams];
+        for (int i = 0; i < teams; i++) {
+            keys[i] = new TeamKey("NFL", "T" + i);
+            repository.compute(keys[i], (k, stored) -> chart);
+        }
+    }
+
+    @Benchmark
+    public TeamDepthChart get() {
+        return repository.get(randomKey());
+    }
+
+    @Benchmark
+    public List<Player> getPosition() {
+        return repository.getPosition(randomKey(), "QB");
+    }
+
+    @Benchmark
+    public TeamDepthChart commit() {
+        // a new version with one position changed, the shape of a real write
+        return repository.compute(randomKey(), (k, stored) ->
+                stored.withPosition("QB", List.of(new Player(99, "Bench Player"))));
+    }
+
+    private TeamKey randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+    }
+}
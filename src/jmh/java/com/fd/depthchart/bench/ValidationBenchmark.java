@@ -0,0 +1,97 @@
+package com.fd.depthchart.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fd.depthchart.exception.ErrorBodies;
+import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.ErrorResponse;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.Validated;
+import com.fd.depthchart.service.DepthChartServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A rejected backups lookup against an accepted one, each including the response body.
+ * {@code invalidTeam} is the current path (rejection returned by the lookup, cached body);
+ * {@code invalidTeamWithStackTrace} is what a 400 cost before: a fresh exception with a stack trace
+ * and an {@link ErrorResponse} serialized per request. A rejection should not cost more than a valid read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ErrorBodies errorBodies = new ErrorBodies(objectMapper);
+    // stands in for the response stream, see ReadPathBenchmark
+    private final OutputStream sink = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+    private DepthChartServiceImpl service;
+    private DepthChartKey validKey;
+    private DepthChartKey invalidKey;
+    private Player starter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new DepthChartServiceImpl(BenchmarkFixtures.leagueMetadataService());
+        validKey = DepthChartKey.of("NFL", "TB", "QB");
+        invalidKey = DepthChartKey.of("NFL", "XYZ", "QB");
+        starter = new Player(1, "QB Player 1");
+        service.addPlayerToDepthChart(validKey, starter, null);
+        service.addPlayerToDepthChart(validKey, new Player(2, "QB Player 2"), null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public void validTeam() throws IOException {
+        objectMapper.writeValue(sink, service.lookupBackups(validKey, starter).value());
+    }
+
+    @Benchmark
+    public void invalidTeam() throws IOException {
+        Validated<List<Player>> backups = service.lookupBackups(invalidKey, starter);
+        if (!backups.isValid()) {
+            errorBodies.writeIllegalArgument(backups.result(), backups.rejectedValue(), sink);
+        }
+    }
+
+    @Benchmark
+    public void invalidTeamWithStackTrace() throws IOException {
+        try {
+            service.getBackups(invalidKey, starter);
+        } catch (IllegalArgumentException ex) {
+            IllegalArgumentException legacy = new IllegalArgumentException(ex.getMessage());
+            objectMapper.writeValue(sink, new ErrorResponse(ErrorBodies.ILLEGAL_ARGUMENT, legacy.getMessage(), Instant.now()));
+        }
+    }
+}
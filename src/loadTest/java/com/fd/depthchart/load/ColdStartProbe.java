@@ -0,0 +1,159 @@
+package com.fd.depthchart.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast a freshly started instance becomes fast: start the probe first, then the app.
+ * Reports the latency of the first request the app answers and the time until p99 (per one-second
+ * window) settles at its steady-state level, which is how the plain JVM, AppCDS and CRaC restore
+ * modes are compared (see scripts/compare-warmup.sh).
+ */
+public final class ColdStartProbe {
+
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(2);
+    private static final long WINDOW_MILLIS = 1_000;
+
+    // a window counts as steady when its p99 is within this factor of the final p99
+    private static final double STEADY_TOLERANCE = 1.2;
+    private static final int STEADY_WINDOWS = 5;
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final Recorder recorder = new Recorder(TimeUnit.MINUTES.toMicros(1), 3);
+
+    private volatile boolean running = true;
+
+    ColdStartProbe(LoadTestConfig config) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new ColdStartProbe(LoadTestConfig.fromSystemProperties()).run(System.out);
+    }
+
+    void run(PrintStream out) throws Exception {
+        long probeStart = System.nanoTime();
+        long firstLatencyNanos = awaitFirstResponse(probeStart);
+        out.printf("Up after %d ms, first request took %.2f ms%n",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - probeStart), firstLatencyNanos / 1e6);
+
+        ExecutorService pool = Executors.newFixedThreadPool(config.workers());
+        for (int i = 0; i < config.workers(); i++) {
+            pool.execute(this::workerLoop);
+        }
+
+        List<Histogram> windows = new ArrayList<>();
+        long windowCount = config.duration().toMillis() / WINDOW_MILLIS;
+        recorder.reset();
+        for (int i = 0; i < windowCount; i++) {
+            Thread.sleep(WINDOW_MILLIS);
+            windows.add(recorder.getIntervalHistogram());
+        }
+        running = false;
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        report(out, windows, firstLatencyNanos);
+    }
+
+    private long awaitFirstResponse(long probeStart) throws InterruptedException {
+        long deadline = probeStart + READY_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(chartRequest(config.teams().get(0)),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return System.nanoTime() - start;
+                }
+            } catch (IOException ex) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("No response from " + config.baseUrl() + " within " + READY_TIMEOUT);
+    }
+
+    private void workerLoop() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            String team = config.teams().get(random.nextInt(config.teams().size()));
+            HttpRequest request = random.nextInt(4) == 0
+                    ? HttpRequest.newBuilder(uri("/teams/" + team + "/depth-chart/QB/backups"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"number\":1,\"name\":\"Probe\"}"))
+                            .build()
+                    : chartRequest(team);
+            long start = System.nanoTime();
+            try {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+                recorder.recordValue(Math.min(TimeUnit.MINUTES.toMicros(1),
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start)));
+            } catch (IOException ex) {
+                // counted as missing samples; the probe is about latency, not errors
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void report(PrintStream out, List<Histogram> windows, long firstLatencyNanos) {
+        out.printf("%n%6s %10s %9s %9s%n", "second", "requests", "p50 ms", "p99 ms");
+        for (int i = 0; i < windows.size(); i++) {
+            Histogram window = windows.get(i);
+            out.printf("%6d %10d %9.2f %9.2f%n", i + 1, window.getTotalCount(),
+                    window.getValueAtPercentile(50) / 1000.0, window.getValueAtPercentile(99) / 1000.0);
+        }
+
+        List<Long> tail = new ArrayList<>();
+        for (int i = Math.max(0, windows.size() - STEADY_WINDOWS); i < windows.size(); i++) {
+            tail.add(windows.get(i).getValueAtPercentile(99));
+        }
+        tail.sort(Long::compare);
+        long steadyP99 = tail.isEmpty() ? 0 : tail.get(tail.size() / 2);
+
+        // first window from which p99 stays within tolerance of the steady level
+        int steadyFrom = windows.size();
+        for (int i = windows.size() - 1; i >= 0; i--) {
+            if (windows.get(i).getValueAtPercentile(99) > steadyP99 * STEADY_TOLERANCE) {
+                break;
+            }
+            steadyFrom = i;
+        }
+
+        out.printf("%nFirst request: %.2f ms%n", firstLatencyNanos / 1e6);
+        out.printf("Steady-state p99: %.2f ms, reached after %d s of traffic%n",
+                steadyP99 / 1000.0, steadyFrom * WINDOW_MILLIS / 1000);
+    }
+
+    private HttpRequest chartRequest(String team) {
+        return HttpRequest.newBuilder(uri("/teams/" + team + "/depth-chart"))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+    }
+
+    private URI uri(String path) {
+        return config.baseUrl().resolve("/api/v1/" + config.league() + path);
+    }
+}
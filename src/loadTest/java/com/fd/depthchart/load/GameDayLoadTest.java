@@ -0,0 +1,278 @@
+package com.fd.depthchart.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a game-day traffic mix against a running instance:
+ * clients polling the full depth chart, bursts of backups lookups (a starter went down, who is next),
+ * and occasional roster storms that add and then remove a handful of players.
+ *
+ * Each worker is a closed loop (next request after the previous response), so the reported throughput
+ * is what the service sustained. Latency of successful requests per operation goes into an HdrHistogram;
+ * a percentile distribution per operation is written to {@code load.output} and a summary is printed at the end.
+ * Exits non-zero when the error rate or p99 budget is exceeded, so it can gate a release.
+ */
+public final class GameDayLoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // load test players get numbers no real roster uses, so storms never touch real entries
+    private static final int STORM_PLAYER_NUMBER_BASE = 900;
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final OperationStats fullChart = new OperationStats("getFullDepthChart");
+    private final OperationStats backups = new OperationStats("getBackups");
+    private final OperationStats addPlayer = new OperationStats("addPlayer");
+    private final OperationStats removePlayer = new OperationStats("removePlayer");
+
+    // (team, position, player JSON) triples discovered on the live instance, used for backups lookups
+    private final List<String[]> rosterEntries = new ArrayList<>();
+    private List<String> positions = List.of();
+
+    private volatile boolean running = true;
+
+    GameDayLoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        boolean passed = new GameDayLoadTest(config).run(System.out);
+        System.exit(passed ? 0 : 1);
+    }
+
+    boolean run(PrintStream out) throws Exception {
+        discoverRoster();
+        out.printf("Target %s, %d workers, league %s, teams %s, %d roster entries, mix %d/%d/%d%n",
+                config.baseUrl(), config.workers(), config.league(), config.teams(), rosterEntries.size(),
+                config.mix()[0], config.mix()[1], config.mix()[2]);
+
+        ExecutorService pool = Executors.newFixedThreadPool(config.workers());
+        for (int i = 0; i < config.workers(); i++) {
+            int worker = i;
+            pool.execute(() -> workerLoop(worker));
+        }
+
+        out.printf("Warming up for %s%n", config.warmup());
+        Thread.sleep(config.warmup().toMillis());
+        for (OperationStats stats : allStats()) {
+            stats.reset();
+        }
+
+        out.printf("Measuring for %s%n", config.duration());
+        long start = System.nanoTime();
+        Thread.sleep(config.duration().toMillis());
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        running = false;
+        pool.shutdown();
+        pool.awaitTermination(30, TimeUnit.SECONDS);
+
+        return report(out, elapsedSeconds);
+    }
+
+    private void workerLoop(int worker) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int[] mix = config.mix();
+        while (running) {
+            int roll = random.nextInt(100);
+            try {
+                if (roll < mix[0]) {
+                    pollFullChart(randomTeam(random));
+                } else if (roll < mix[0] + mix[1]) {
+                    backupsBurst(random);
+                } else {
+                    rosterStorm(worker, random);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void pollFullChart(String team) throws InterruptedException {
+        send(fullChart, HttpRequest.newBuilder(chartUri(team)).GET());
+    }
+
+    private void backupsBurst(ThreadLocalRandom random) throws InterruptedException {
+        for (int i = 0; i < config.backupsBurst() && running; i++) {
+            String team;
+            String position;
+            String player;
+            if (rosterEntries.isEmpty()) {
+                // empty store: still exercise the endpoint, it answers []
+                team = randomTeam(random);
+                position = "QB";
+                player = playerJson(1, "Unknown");
+            } else {
+                String[] entry = rosterEntries.get(random.nextInt(rosterEntries.size()));
+                team = entry[0];
+                position = entry[1];
+                player = entry[2];
+            }
+            send(backups, HttpRequest.newBuilder(positionUri(team, position, "/backups"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(player)));
+        }
+    }
+
+    private void rosterStorm(int worker, ThreadLocalRandom random) throws InterruptedException {
+        String team = randomTeam(random);
+        List<String[]> added = new ArrayList<>();
+        for (int i = 0; i < config.stormSize(); i++) {
+            String position = positions.isEmpty() ? "QB" : positions.get(random.nextInt(positions.size()));
+            String player = playerJson(STORM_PLAYER_NUMBER_BASE + i, "Load Test " + worker + "-" + i);
+            // depth 0 moves everyone else down, the most expensive shape of write
+            int status = send(addPlayer, HttpRequest.newBuilder(positionUri(team, position, "?position_depth=0"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(player)));
+            if (status == 201) {
+                added.add(new String[]{position, player});
+            }
+        }
+        // always clean up, even after the measurement window closed, so repeated runs start from the same data
+        for (String[] entry : added) {
+            send(removePlayer, HttpRequest.newBuilder(positionUri(team, entry[0], ""))
+                    .header("Content-Type", "application/json")
+                    .method("DELETE", HttpRequest.BodyPublishers.ofString(entry[1])));
+        }
+    }
+
+    private int send(OperationStats stats, HttpRequest.Builder request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(
+                    request.timeout(Duration.ofSeconds(10)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            stats.record(System.nanoTime() - start, response.statusCode());
+            return response.statusCode();
+        } catch (IOException ex) {
+            stats.recordFailure();
+            return -1;
+        }
+    }
+
+    private void discoverRoster() throws IOException, InterruptedException {
+        List<String> seenPositions = new ArrayList<>();
+        for (String team : config.teams()) {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(chartUri(team)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET " + chartUri(team) + " returned " + response.statusCode()
+                        + ", is the app running at " + config.baseUrl() + "?");
+            }
+
+            JsonNode chart = MAPPER.readTree(response.body());
+            Iterator<Map.Entry<String, JsonNode>> fields = chart.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> position = fields.next();
+                if (!seenPositions.contains(position.getKey())) {
+                    seenPositions.add(position.getKey());
+                }
+                for (JsonNode player : position.getValue()) {
+                    rosterEntries.add(new String[]{team, position.getKey(), MAPPER.writeValueAsString(player)});
+                }
+            }
+        }
+        positions = List.copyOf(seenPositions);
+    }
+
+    private boolean report(PrintStream out, double elapsedSeconds) throws IOException {
+        Path outputDir = Path.of(config.outputDirectory());
+        Files.createDirectories(outputDir);
+
+        long totalRequests = 0;
+        long totalErrors = 0;
+        long worstP99Micros = 0;
+
+        out.printf("%n%-18s %10s %10s %9s %9s %9s %9s %9s %7s %8s%n",
+                "operation", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors", "rejected");
+        for (OperationStats stats : allStats()) {
+            Histogram histogram = stats.snapshot();
+            long count = histogram.getTotalCount() + stats.errors() + stats.rejected();
+            totalRequests += count;
+            totalErrors += stats.errors();
+            worstP99Micros = Math.max(worstP99Micros, histogram.getValueAtPercentile(99));
+
+            out.printf("%-18s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7d %8d%n",
+                    stats.name(), count, count / elapsedSeconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    stats.errors(), stats.rejected());
+
+            try (PrintStream file = new PrintStream(Files.newOutputStream(outputDir.resolve(stats.name() + ".hgrm")))) {
+                // scaled to milliseconds, loads straight into the HdrHistogram plotter
+                histogram.outputPercentileDistribution(file, 1000.0);
+            }
+        }
+        out.printf("%nTotal %.1f req/s over %.1fs, histograms in %s%n",
+                totalRequests / elapsedSeconds, elapsedSeconds, outputDir.toAbsolutePath());
+
+        boolean passed = true;
+        double errorRate = totalRequests == 0 ? 1.0 : (double) totalErrors / totalRequests;
+        if (errorRate > config.maxErrorRate()) {
+            out.printf("FAIL: error rate %.4f exceeds %.4f%n", errorRate, config.maxErrorRate());
+            passed = false;
+        }
+        if (config.maxP99Millis() > 0 && millis(worstP99Micros) > config.maxP99Millis()) {
+            out.printf("FAIL: p99 %.2f ms exceeds %d ms%n", millis(worstP99Micros), config.maxP99Millis());
+            passed = false;
+        }
+        return passed;
+    }
+
+    private List<OperationStats> allStats() {
+        return List.of(fullChart, backups, addPlayer, removePlayer);
+    }
+
+    private String randomTeam(ThreadLocalRandom random) {
+        return config.teams().get(random.nextInt(config.teams().size()));
+    }
+
+    private URI chartUri(String team) {
+        return config.baseUrl().resolve("/api/v1/" + config.league() + "/teams/" + team + "/depth-chart");
+    }
+
+    private URI positionUri(String team, String position, String suffix) {
+        return config.baseUrl().resolve(
+                "/api/v1/" + config.league() + "/teams/" + team + "/depth-chart/" + position + suffix);
+    }
+
+    private static String playerJson(int number, String name) {
+        return "{\"number\":" + number + ",\"name\":\"" + name + "\"}";
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.fd.depthchart.load;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Settings for a load test run, read from {@code load.*} system properties
+ * (passed through by {@code ./gradlew loadTest -Pload.duration=2m ...}).
+ *
+ * @param mix percentage weights for chart polling, backups bursts and roster storms
+ */
+record LoadTestConfig(
+        URI baseUrl,
+        String league,
+        List<String> teams,
+        int workers,
+        Duration warmup,
+        Duration duration,
+        int[] mix,
+        int backupsBurst,
+        int stormSize,
+        String outputDirectory,
+        double maxErrorRate,
+        long maxP99Millis
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        int[] mix = Arrays.stream(property("load.mix", "85,10,5").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        if (mix.length != 3 || Arrays.stream(mix).sum() != 100) {
+            throw new IllegalArgumentException("load.mix must be three weights adding up to 100, got " + Arrays.toString(mix));
+        }
+
+        return new LoadTestConfig(
+                URI.create(property("load.baseUrl", "http://localhost:8080")),
+                property("load.league", "NFL"),
+                List.of(property("load.teams", "TB,NE,DAL,KC,PHI").split(",")),
+                Integer.parseInt(property("load.workers", "32")),
+                Duration.parse("PT" + property("load.warmup", "10s")),
+                Duration.parse("PT" + property("load.duration", "60s")),
+                mix,
+                Integer.parseInt(property("load.backupsBurst", "8")),
+                Integer.parseInt(property("load.stormSize", "4")),
+                property("load.output", "build/load-test"),
+                Double.parseDouble(property("load.maxErrorRate", "0.01")),
+                Long.parseLong(property("load.maxP99Millis", "0"))
+        );
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+}
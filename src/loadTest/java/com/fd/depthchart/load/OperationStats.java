@@ -0,0 +1,70 @@
+package com.fd.depthchart.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters for one API operation.
+ * Only successful responses go into the histogram, in microseconds; errors and load shedding are counted
+ * apart, so a fast 429 cannot flatter the percentiles. {@link Recorder} lets every worker record without a lock.
+ */
+final class OperationStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String name;
+    private final Recorder recorder = new Recorder(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void record(long latencyNanos, int status) {
+        if (status == 429 || status == 503) {
+            // the service shedding load on purpose, reported apart from failures
+            rejected.increment();
+        } else if (status >= 400) {
+            errors.increment();
+        } else {
+            recorder.recordValue(Math.min(MAX_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        }
+    }
+
+    void recordFailure() {
+        errors.increment();
+    }
+
+    /**
+     * Drops everything recorded so far, used to discard the warmup phase.
+     */
+    void reset() {
+        recorder.reset();
+        errors.reset();
+        rejected.reset();
+    }
+
+    /**
+     * Successful responses since the last call; every request is in exactly one of this, {@link #errors}
+     * and {@link #rejected}.
+     */
+    Histogram snapshot() {
+        return recorder.getIntervalHistogram();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+}
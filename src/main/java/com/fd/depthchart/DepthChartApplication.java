@@ -1,12 +1,31 @@
 package com.fd.depthchart;
 
+import com.fd.depthchart.config.AdminProperties;
+import com.fd.depthchart.config.DepthChartRuntimeHints;
+import com.fd.depthchart.config.DiagnosticsProperties;
+import com.fd.depthchart.config.HotKeyProperties;
 import com.fd.depthchart.config.LeagueCatalogProperties;
+import com.fd.depthchart.config.RateLimitProperties;
+import com.fd.depthchart.config.StorageProperties;
+import com.fd.depthchart.config.TeamCacheProperties;
+import com.fd.depthchart.config.WarmupProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
-@EnableConfigurationProperties(LeagueCatalogProperties.class)
+@EnableConfigurationProperties({
+        LeagueCatalogProperties.class,
+        AdminProperties.class,
+        DiagnosticsProperties.class,
+        HotKeyProperties.class,
+        RateLimitProperties.class,
+        StorageProperties.class,
+        TeamCacheProperties.class,
+        WarmupProperties.class
+})
+@ImportRuntimeHints(DepthChartRuntimeHints.class)
 public class DepthChartApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,47 @@
+package com.fd.depthchart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * The bulk export/import endpoints under /api/v1/admin. Off unless enabled, since import replaces
+ * whole teams without any further check.
+ */
+@ConfigurationProperties(prefix = "depthchart.admin")
+public class AdminProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Import stops reading once the request body has passed this many bytes.
+     */
+    private long maxImportBytes = 64L * 1024 * 1024;
+
+    /**
+     * Longer import lines are rejected without being parsed; a team is one line.
+     */
+    private int maxLineLength = 1024 * 1024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxImportBytes() {
+        return maxImportBytes;
+    }
+
+    public void setMaxImportBytes(long maxImportBytes) {
+        this.maxImportBytes = maxImportBytes;
+    }
+
+    public int getMaxLineLength() {
+        return maxLineLength;
+    }
+
+    public void setMaxLineLength(int maxLineLength) {
+        this.maxLineLength = maxLineLength;
+    }
+}
@@ -5,7 +5,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fd.depthchart.model.DepthChartDTO;
 import com.fd.depthchart.model.DepthChartKey;
 import com.fd.depthchart.model.Player;
+import com.fd.depthchart.repository.DepthChartRepository;
 import com.fd.depthchart.service.DepthChartService;
+import com.fd.depthchart.snapshot.DepthChartSnapshotWriter;
+import com.fd.depthchart.snapshot.MappedDepthChartSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,8 +18,16 @@ import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.CRC32;
 
 @Component
 @RequiredArgsConstructor
@@ -25,14 +36,29 @@ import java.util.Map;
 public class DepthChartDataLoader implements CommandLineRunner {
 
     private final DepthChartService depthChartService;
+    private final DepthChartRepository repository;
     private final ObjectMapper objectMapper;
 
     // e.g. src/main/resources/data/nfl/tb_2022.json
     @Value("classpath:data/*/*.json")
     private Resource[] depthChartResources;
 
+    // Binary snapshot of the whole store (see SnapshotFormat); empty disables it
+    @Value("${depthchart.snapshot.path:}")
+    private String snapshotPath;
+
     @Override
     public void run(String... args) {
+        if (!repository.isEmpty()) {
+            // a persistent backend kept the store from the last run; seeding would overwrite edits made since
+            log.info("Depth chart store already holds {} teams, not loading data files", repository.size());
+            return;
+        }
+        long sourceStamp = snapshotEnabled() ? sourceStamp() : MappedDepthChartSnapshot.NO_SOURCE_STAMP;
+        if (openSnapshot(sourceStamp)) {
+            return;
+        }
+
         if (depthChartResources == null || depthChartResources.length == 0) {
             log.info("No depth chart JSON files found under classpath:data/*/*.json");
             return;
@@ -45,25 +71,114 @@ public class DepthChartDataLoader implements CommandLineRunner {
                 log.error("Failed to load depth chart from {}", resource.getFilename(), ex);
             }
         }
+
+        writeSnapshot(sourceStamp);
+    }
+
+    private boolean snapshotEnabled() {
+        return snapshotPath != null && !snapshotPath.isBlank();
+    }
+
+    /**
+     * Maps an existing snapshot instead of parsing JSON, so startup does not depend on dataset size.
+     * A snapshot built from other data files than the current ones is ignored and rebuilt.
+     */
+    private boolean openSnapshot(long sourceStamp) {
+        if (!snapshotEnabled()) {
+            return false;
+        }
+        Path path = Path.of(snapshotPath);
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+
+        try {
+            MappedDepthChartSnapshot snapshot = MappedDepthChartSnapshot.open(path);
+            if (snapshot.getSourceStamp() != sourceStamp) {
+                log.info("Depth chart snapshot {} is older than the data files, rebuilding it", path);
+                return false;
+            }
+            depthChartService.attachSnapshot(snapshot);
+            log.info("Mapped depth chart snapshot {}: {} positions, {} players",
+                    path, snapshot.getKeyCount(), snapshot.getPlayerCount());
+            return true;
+        } catch (Exception ex) {
+            log.error("Failed to open depth chart snapshot {}, falling back to JSON", path, ex);
+            return false;
+        }
+    }
+
+    private void writeSnapshot(long sourceStamp) {
+        if (!snapshotEnabled()) {
+            return;
+        }
+        Path path = Path.of(snapshotPath);
+
+        try {
+            DepthChartSnapshotWriter.write(depthChartService.copyOfDepthCharts(), path, sourceStamp);
+            log.info("Wrote depth chart snapshot {} ({} bytes)", path, Files.size(path));
+        } catch (Exception ex) {
+            log.error("Failed to write depth chart snapshot {}", path, ex);
+        }
+    }
+
+    /**
+     * Checksum over the names, sizes and modification times of the data files, in a stable order. Nothing is
+     * read, so the stamp costs the same for any dataset; inside a jar the entry times are the build's.
+     */
+    private long sourceStamp() {
+        if (depthChartResources == null) {
+            return MappedDepthChartSnapshot.NO_SOURCE_STAMP;
+        }
+        Resource[] resources = depthChartResources.clone();
+        Arrays.sort(resources, Comparator.comparing(Resource::getDescription));
+        CRC32 crc = new CRC32();
+        ByteBuffer entry = ByteBuffer.allocate(2 * Long.BYTES);
+        for (Resource resource : resources) {
+            crc.update(String.valueOf(resource.getFilename()).getBytes(StandardCharsets.UTF_8));
+            entry.clear();
+            try {
+                entry.putLong(resource.contentLength()).putLong(resource.lastModified());
+            } catch (IOException ex) {
+                // unreadable now means unreadable when loading too; the stamp just will not match
+                log.warn("Cannot stat {} for the snapshot stamp", resource.getDescription(), ex);
+            }
+            crc.update(entry.array(), 0, entry.position());
+        }
+        // the file count in the high bits keeps a real stamp from ever being NO_SOURCE_STAMP
+        return ((long) resources.length + 1) << 32 | crc.getValue();
+    }
+
+    /**
+     * Parses one depth chart file. Returns null if league, team or positions are missing.
+     * Shared with the team cache, which spills cold teams in the same format.
+     */
+    public static DepthChartDTO readDepthChart(ObjectMapper objectMapper, InputStream in) throws IOException {
+        DepthChartDTO dto = objectMapper.readValue(in, DepthChartDTO.class);
+
+        if (dto == null || dto.getLeague() == null || dto.getTeam() == null
+                || dto.getPositions() == null || dto.getPositions().isEmpty()) {
+            return null;
+        }
+        return dto;
     }
 
     private void loadFile(Resource resource) throws IOException {
         log.info("Loading depth chart from {}", resource.getFilename());
 
-        DepthChartDTO dto = objectMapper.readValue(
-                resource.getInputStream(),
-                DepthChartDTO.class
-        );
+        DepthChartDTO dto;
+        try (InputStream in = resource.getInputStream()) {
+            dto = readDepthChart(objectMapper, in);
+        }
+        if (dto == null) {
+            log.warn("Skipping {} – missing league/team/positions", resource.getFilename());
+            return;
+        }
 
         String league = dto.getLeague();
         String team = dto.getTeam();
         Map<String, List<Player>> positions = dto.getPositions();
 
-        if (league == null || team == null || positions == null || positions.isEmpty()) {
-            log.warn("Skipping {} – missing league/team/positions", resource.getFilename());
-            return;
-        }
-
         int totalPlayers = 0;
 
         for (Map.Entry<String, List<Player>> entry : positions.entrySet()) {
@@ -0,0 +1,44 @@
+package com.fd.depthchart.config;
+
+import com.fd.depthchart.diagnostics.DiagnosticsReport;
+import com.fd.depthchart.model.DepthChartDTO;
+import com.fd.depthchart.model.DepthChartDiff;
+import com.fd.depthchart.model.ErrorResponse;
+import com.fd.depthchart.model.ImportSummary;
+import com.fd.depthchart.model.LeagueDepthEntry;
+import com.fd.depthchart.model.LineupSimulation;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.PlayerSearchHit;
+import com.fd.depthchart.model.PlayerSwap;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Hints for the AOT / native build (./gradlew nativeCompile -Paot).
+ * Jackson binds the models reflectively and the data loader scans the classpath data directory,
+ * neither of which the native image can discover on its own.
+ */
+public class DepthChartRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // covers nested and component types too (DepthChartDiff.PositionDiff, LeagueCatalogProperties.League, ...)
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                Player.class,
+                PlayerSwap.class,
+                PlayerSearchHit.class,
+                DepthChartDTO.class,
+                DepthChartDiff.class,
+                LeagueDepthEntry.class,
+                LineupSimulation.class,
+                ImportSummary.class,
+                ErrorResponse.class,
+                DiagnosticsReport.class,
+                LeagueCatalogProperties.class,
+                LeagueCatalogProperties.League.class
+        );
+
+        hints.resources().registerPattern("data/*/*.json");
+    }
+}
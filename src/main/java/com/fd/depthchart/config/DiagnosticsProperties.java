@@ -0,0 +1,64 @@
+package com.fd.depthchart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bounds for recordings started through the depthchart actuator endpoint.
+ */
+@ConfigurationProperties(prefix = "depthchart.diagnostics")
+public class DiagnosticsProperties {
+
+    /**
+     * How long a recording runs when the start request does not say.
+     */
+    private Duration defaultDuration = Duration.ofMinutes(2);
+
+    /**
+     * Upper bound for a requested duration; a forgotten recording stops on its own.
+     */
+    private Duration maxDuration = Duration.ofMinutes(15);
+
+    /**
+     * The report covers operations that ended within this window.
+     */
+    private Duration window = Duration.ofMinutes(1);
+
+    /**
+     * Entries in the slowest operations and hottest keys lists.
+     */
+    private int top = 10;
+
+    public Duration getDefaultDuration() {
+        return defaultDuration;
+    }
+
+    public void setDefaultDuration(Duration defaultDuration) {
+        this.defaultDuration = defaultDuration;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public void setTop(int top) {
+        this.top = top;
+    }
+}
@@ -0,0 +1,88 @@
+package com.fd.depthchart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Detection of teams that take a disproportionate share of reads (a marquee game) and serving them
+ * from per-CPU replicas instead of the shared store entry.
+ */
+@ConfigurationProperties(prefix = "depthchart.hot-keys")
+public class HotKeyProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * One read in this many is counted; the rest pay only for a random number.
+     */
+    private int sampleOneIn = 16;
+
+    /**
+     * Estimated reads per second at which a team is promoted to a replica.
+     */
+    private long promoteReadsPerSecond = 5_000;
+
+    /**
+     * Estimated reads per second below which a promoted team is demoted again.
+     */
+    private long demoteReadsPerSecond = 1_000;
+
+    /**
+     * Upper bound on promoted teams; each replica holds one reference per CPU stripe.
+     */
+    private int maxHotKeys = 16;
+
+    /**
+     * How often counts are halved and promoted teams re-checked. Zero turns off the background decay.
+     */
+    private Duration decayInterval = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSampleOneIn() {
+        return sampleOneIn;
+    }
+
+    public void setSampleOneIn(int sampleOneIn) {
+        this.sampleOneIn = sampleOneIn;
+    }
+
+    public long getPromoteReadsPerSecond() {
+        return promoteReadsPerSecond;
+    }
+
+    public void setPromoteReadsPerSecond(long promoteReadsPerSecond) {
+        this.promoteReadsPerSecond = promoteReadsPerSecond;
+    }
+
+    public long getDemoteReadsPerSecond() {
+        return demoteReadsPerSecond;
+    }
+
+    public void setDemoteReadsPerSecond(long demoteReadsPerSecond) {
+        this.demoteReadsPerSecond = demoteReadsPerSecond;
+    }
+
+    public int getMaxHotKeys() {
+        return maxHotKeys;
+    }
+
+    public void setMaxHotKeys(int maxHotKeys) {
+        this.maxHotKeys = maxHotKeys;
+    }
+
+    public Duration getDecayInterval() {
+        return decayInterval;
+    }
+
+    public void setDecayInterval(Duration decayInterval) {
+        this.decayInterval = decayInterval;
+    }
+}
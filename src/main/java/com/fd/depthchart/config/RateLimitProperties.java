@@ -0,0 +1,175 @@
+package com.fd.depthchart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limiting and load shedding settings for the /api endpoints.
+ */
+@ConfigurationProperties(prefix = "depthchart.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Upper bound on tracked (client, endpoint) buckets. At the cap idle buckets are swept; if none can be
+     * dropped, requests from new clients get 429 until some are.
+     */
+    private int maxTrackedBuckets = 10_000;
+
+    private Bucket read = new Bucket(200, 100);
+    private Bucket write = new Bucket(50, 20);
+    private Concurrency concurrency = new Concurrency();
+
+    /**
+     * Handler path patterns that get a concurrency limiter of their own, apart from the single-team calls.
+     */
+    private List<String> heavyEndpoints = new ArrayList<>(List.of(
+            "/api/v1/{league}/depth-chart",
+            "/api/v1/{league}/depth-chart/what-if",
+            "/api/v1/players/search",
+            "/api/v1/admin/export",
+            "/api/v1/admin/import"
+    ));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxTrackedBuckets() {
+        return maxTrackedBuckets;
+    }
+
+    public void setMaxTrackedBuckets(int maxTrackedBuckets) {
+        this.maxTrackedBuckets = maxTrackedBuckets;
+    }
+
+    public Bucket getRead() {
+        return read;
+    }
+
+    public void setRead(Bucket read) {
+        this.read = read;
+    }
+
+    public Bucket getWrite() {
+        return write;
+    }
+
+    public void setWrite(Bucket write) {
+        this.write = write;
+    }
+
+    public Concurrency getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(Concurrency concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public List<String> getHeavyEndpoints() {
+        return heavyEndpoints;
+    }
+
+    public void setHeavyEndpoints(List<String> heavyEndpoints) {
+        this.heavyEndpoints = heavyEndpoints;
+    }
+
+    /**
+     * Token bucket per client and endpoint.
+     */
+    public static class Bucket {
+        private long capacity;
+        private double refillPerSecond;
+
+        public Bucket() {
+        }
+
+        public Bucket(long capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+    /**
+     * Adaptive in-flight limit driven by measured request latency; light and heavy endpoints each adapt their own.
+     */
+    public static class Concurrency {
+        private int initialLimit = 64;
+        private int minLimit = 8;
+        private int maxLimit = 512;
+
+        /**
+         * Latency above (best observed latency * tolerance) is treated as queueing and shrinks the limit.
+         */
+        private double tolerance = 2.0;
+
+        /**
+         * Fraction of the limit that writes may occupy; the remainder is reserved for reads.
+         */
+        private double writeShare = 0.5;
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getTolerance() {
+            return tolerance;
+        }
+
+        public void setTolerance(double tolerance) {
+            this.tolerance = tolerance;
+        }
+
+        public double getWriteShare() {
+            return writeShare;
+        }
+
+        public void setWriteShare(double writeShare) {
+            this.writeShare = writeShare;
+        }
+    }
+}
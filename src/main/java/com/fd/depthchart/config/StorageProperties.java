@@ -0,0 +1,36 @@
+package com.fd.depthchart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Where published depth charts are stored (see {@link com.fd.depthchart.repository.DepthChartRepository}).
+ */
+@ConfigurationProperties(prefix = "depthchart.storage")
+public class StorageProperties {
+
+    /**
+     * heap (objects on the heap), off-heap (encoded in direct buffers) or disk (one file per team, kept across restarts).
+     */
+    private String backend = "heap";
+
+    /**
+     * Directory of the disk backend; required with it, there is no default.
+     */
+    private String directory;
+
+    public String getBackend() {
+        return backend;
+    }
+
+    public void setBackend(String backend) {
+        this.backend = backend;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+}
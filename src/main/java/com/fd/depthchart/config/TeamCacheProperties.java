@@ -0,0 +1,75 @@
+package com.fd.depthchart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Optional memory budget for team depth charts. Cold teams are spilled to disk and reloaded on next access.
+ */
+@ConfigurationProperties(prefix = "depthchart.cache")
+public class TeamCacheProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Teams kept on the heap; least recently used teams beyond this are spilled.
+     */
+    private int maxTeams = 1_000;
+
+    /**
+     * Teams not accessed for this long are spilled.
+     */
+    private Duration ttl = Duration.ofHours(6);
+
+    /**
+     * How often cold teams are looked for. Zero turns off background eviction.
+     */
+    private Duration sweepInterval = Duration.ofSeconds(30);
+
+    /**
+     * Where spilled teams are written, one JSON file per team in the classpath data format.
+     * Defaults to a directory of this application's own rather than the shared temp directory.
+     */
+    private String spillDirectory = System.getProperty("user.home") + "/.depth-chart/spill";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxTeams() {
+        return maxTeams;
+    }
+
+    public void setMaxTeams(int maxTeams) {
+        this.maxTeams = maxTeams;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getSweepInterval() {
+        return sweepInterval;
+    }
+
+    public void setSweepInterval(Duration sweepInterval) {
+        this.sweepInterval = sweepInterval;
+    }
+
+    public String getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public void setSpillDirectory(String spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+}
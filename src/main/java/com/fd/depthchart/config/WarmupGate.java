@@ -0,0 +1,50 @@
+package com.fd.depthchart.config;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+/**
+ * Lets the startup warmup past the rate limiter and nobody else. {@link WarmupRunner} opens the gate for
+ * the duration of its run with a random token that exists only in this process and sends it on every call;
+ * while the gate is closed, which is always when warmup is disabled, no request is admitted.
+ */
+@Component
+public class WarmupGate {
+
+    /**
+     * Carries the token on warmup calls.
+     */
+    public static final String HEADER = "X-Depth-Chart-Warmup";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private volatile byte[] token;
+
+    /**
+     * Opens the gate with a fresh token and returns it.
+     */
+    public String open() {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        String value = HexFormat.of().formatHex(bytes);
+        token = value.getBytes(StandardCharsets.US_ASCII);
+        return value;
+    }
+
+    public void close() {
+        token = null;
+    }
+
+    /**
+     * True while the gate is open and {@code presented} is its token.
+     */
+    public boolean admits(String presented) {
+        byte[] current = token;
+        return current != null && presented != null
+                && MessageDigest.isEqual(current, presented.getBytes(StandardCharsets.US_ASCII));
+    }
+}
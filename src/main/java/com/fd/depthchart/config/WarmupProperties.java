@@ -0,0 +1,60 @@
+package com.fd.depthchart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Warmup routine run once the app is ready, used to train an AppCDS archive or to take a CRaC checkpoint
+ * with the request path already JIT-compiled.
+ */
+@ConfigurationProperties(prefix = "depthchart.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Rounds of add / backups / full chart / remove calls.
+     */
+    private int iterations = 2_000;
+
+    /**
+     * Take a CRaC checkpoint after the warmup (needs a CRaC JDK started with -XX:CRaCCheckpointTo).
+     */
+    private boolean checkpoint = false;
+
+    /**
+     * Exit once the warmup is done, e.g. for an AppCDS training run with -XX:ArchiveClassesAtExit.
+     */
+    private boolean exitWhenDone = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public boolean isCheckpoint() {
+        return checkpoint;
+    }
+
+    public void setCheckpoint(boolean checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    public boolean isExitWhenDone() {
+        return exitWhenDone;
+    }
+
+    public void setExitWhenDone(boolean exitWhenDone) {
+        this.exitWhenDone = exitWhenDone;
+    }
+}
@@ -0,0 +1,156 @@
+package com.fd.depthchart.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fd.depthchart.model.Player;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.crac.CheckpointException;
+import org.crac.Core;
+import org.crac.RestoreException;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the depth chart endpoints over loopback HTTP once the app is ready, so the servlet stack,
+ * controller, Jackson and service code are loaded and JIT-compiled before real traffic arrives.
+ * Afterwards it can take a CRaC checkpoint (the restored process starts warm) or exit
+ * (end of an AppCDS training run). Only those two modes also exercise the write path (add and remove a
+ * warmup player, which moves the warmup team's version forward); a process that goes on serving after a
+ * plain warmup only had reads run against its live data.
+ */
+@Component
+@ConditionalOnProperty(name = "depthchart.warmup.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class WarmupRunner implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Player WARMUP_PLAYER = new Player(999, "Warmup Player");
+
+    private final WarmupProperties props;
+    private final LeagueCatalogProperties catalog;
+    private final ObjectMapper objectMapper;
+    private final WarmupGate gate;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        String port = context.getEnvironment().getProperty("local.server.port");
+        String positionUrl = warmupPositionUrl(port);
+        if (positionUrl == null) {
+            log.warn("Warmup skipped: no web server port or empty league catalog");
+            return;
+        }
+
+        String teamUrl = positionUrl.substring(0, positionUrl.lastIndexOf('/'));
+        // this process keeps serving its data after a plain warmup, so writes are left to the modes that don't
+        boolean writes = props.isCheckpoint() || props.isExitWhenDone();
+        log.info("Warming up against {} for {} rounds{}", positionUrl, props.getIterations(),
+                writes ? "" : ", reads only");
+
+        long start = System.nanoTime();
+        int failures = 0;
+        String token = gate.open();
+        try {
+            byte[] player = objectMapper.writeValueAsBytes(WARMUP_PLAYER);
+            for (int i = 0; i < props.getIterations(); i++) {
+                if (writes) {
+                    failures += call("POST", positionUrl + "?position_depth=0", player, token);
+                }
+                failures += call("POST", positionUrl + "/backups", player, token);
+                failures += call("GET", teamUrl, null, token);
+                if (writes) {
+                    failures += call("DELETE", positionUrl, player, token);
+                }
+            }
+        } catch (IOException ex) {
+            log.error("Warmup aborted", ex);
+        } finally {
+            gate.close();
+        }
+        log.info("Warmup finished in {} ms, {} failed calls",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), failures);
+
+        if (props.isCheckpoint()) {
+            checkpoint();
+        }
+        if (props.isExitWhenDone()) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    private void checkpoint() {
+        try {
+            // Spring stops its lifecycle beans (and with them the web server) before the checkpoint
+            // and starts them again after restore
+            Core.checkpointRestore();
+            log.info("Restored from CRaC checkpoint");
+        } catch (UnsupportedOperationException ex) {
+            log.warn("This JVM does not support CRaC, continuing without a checkpoint");
+        } catch (CheckpointException | RestoreException ex) {
+            log.error("CRaC checkpoint failed, continuing without it", ex);
+        }
+    }
+
+    /**
+     * First league and team in alphabetical order, at QB when the league has it.
+     */
+    private String warmupPositionUrl(String port) {
+        if (port == null || catalog.getLeagues().isEmpty()) {
+            return null;
+        }
+        Map.Entry<String, LeagueCatalogProperties.League> league = new TreeMap<>(catalog.getLeagues()).firstEntry();
+        TreeSet<String> teams = new TreeSet<>(league.getValue().getTeams());
+        TreeSet<String> positions = new TreeSet<>(league.getValue().getPositions());
+        if (teams.isEmpty() || positions.isEmpty()) {
+            return null;
+        }
+        String position = positions.contains("QB") ? "QB" : positions.first();
+
+        return "http://127.0.0.1:" + port + "/api/v1/" + league.getKey()
+                + "/teams/" + teams.first() + "/depth-chart/" + position;
+    }
+
+    /**
+     * Returns 1 when the call failed, 0 otherwise. Connections are not kept alive,
+     * so no client socket is open when a checkpoint is taken.
+     */
+    private int call(String method, String url, byte[] body, String token) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            connection.setRequestMethod(method);
+            connection.setRequestProperty("Connection", "close");
+            connection.setRequestProperty(WarmupGate.HEADER, token);
+            if (body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(body);
+                }
+            }
+
+            int status = connection.getResponseCode();
+            try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                if (in != null) {
+                    in.readAllBytes();
+                }
+            }
+            return status < 400 ? 0 : 1;
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.fd.depthchart.controller;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Optional brotli encoding through brotli4j. The library is compile-only: deployments that want
+ * {@code br} responses add it (and the native artifact for their platform) to the runtime classpath,
+ * everyone else gets gzip. {@link Native} is only loaded once the probe found the library.
+ */
+@Slf4j
+final class Brotli {
+
+    private static final String LOADER_CLASS = "com.aayushatharva.brotli4j.Brotli4jLoader";
+
+    // the bodies are compressed once per chart version, so the slowest, densest setting pays off
+    private static final int QUALITY = 11;
+
+    private static final boolean AVAILABLE = probe();
+
+    private Brotli() {
+    }
+
+    static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    static byte[] compress(byte[] body) {
+        if (!AVAILABLE) {
+            throw new IllegalStateException("brotli4j is not on the classpath");
+        }
+        return Native.compress(body);
+    }
+
+    private static boolean probe() {
+        if (!ClassUtils.isPresent(LOADER_CLASS, Brotli.class.getClassLoader())) {
+            return false;
+        }
+        try {
+            Native.load();
+            log.info("brotli4j found, full depth charts are also served with Content-Encoding: br");
+            return true;
+        } catch (LinkageError | RuntimeException ex) {
+            log.warn("brotli4j is on the classpath but its native library did not load, serving gzip only", ex);
+            return false;
+        }
+    }
+
+    private static final class Native {
+
+        private static final Encoder.Parameters PARAMETERS = new Encoder.Parameters().setQuality(QUALITY);
+
+        static void load() {
+            Brotli4jLoader.ensureAvailability();
+        }
+
+        static byte[] compress(byte[] body) {
+            try {
+                return Encoder.compress(body, PARAMETERS);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("brotli compression failed", ex);
+            }
+        }
+    }
+}
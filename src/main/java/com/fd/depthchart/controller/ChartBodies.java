@@ -0,0 +1,238 @@
+package com.fd.depthchart.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.TeamKey;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized full depth chart bodies per team, with the compressed variants next to them.
+ * Charts are polled far more often than they change, so the JSON is written and compressed once
+ * per chart version (at the highest level, the cost is paid once) and every request after that
+ * only picks the variant its {@code Accept-Encoding} allows. Gzip is always produced; brotli
+ * when {@link Brotli} found an encoder. Bodies too small to gain from compression are served as is.
+ * The cache is bounded. A new version replaces only its own team's entry; past the bound, teams not read since
+ * the last sweep are evicted (a clock approximation of LRU), so the teams being polled keep their bodies.
+ */
+public class ChartBodies {
+
+    public static final String GZIP = "gzip";
+    public static final String BROTLI = "br";
+    public static final String IDENTITY = "identity";
+
+    // below this the gzip framing eats most of the saving
+    public static final int MIN_COMPRESSED_SIZE = 256;
+
+    private static final int DEFAULT_MAX_CACHED_TEAMS = 4_096;
+    private static final double UNLISTED_IDENTITY_Q = 0.001;
+
+    private final ObjectMapper objectMapper;
+    private final boolean brotli;
+    private final int maxCachedTeams;
+    // a sweep evicts down to this, so it runs once per batch of new teams rather than on every one
+    private final int lowWaterMark;
+    private final Map<TeamKey, Entry> bodies = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    public ChartBodies(ObjectMapper objectMapper) {
+        this(objectMapper, DEFAULT_MAX_CACHED_TEAMS);
+    }
+
+    public ChartBodies(ObjectMapper objectMapper, int maxCachedTeams) {
+        if (maxCachedTeams < 1) {
+            throw new IllegalArgumentException("maxCachedTeams must be >= 1");
+        }
+        this.objectMapper = objectMapper;
+        this.brotli = Brotli.isAvailable();
+        this.maxCachedTeams = maxCachedTeams;
+        this.lowWaterMark = maxCachedTeams - Math.max(1, maxCachedTeams / 8);
+    }
+
+    /**
+     * One chart version in every encoding that was produced for it; {@code gzip} and {@code brotli}
+     * are null when that variant was not worth producing or no encoder is available.
+     */
+    public record Variants(long version, byte[] identity, byte[] gzip, byte[] brotli) {
+
+        public byte[] body(String coding) {
+            return switch (coding) {
+                case BROTLI -> brotli;
+                case GZIP -> gzip;
+                default -> identity;
+            };
+        }
+    }
+
+    /**
+     * The bodies for at least {@code version} of the team, serializing and compressing {@code chart} if no
+     * such version is cached. Concurrent first requests for the same version wait for a single encoding.
+     * The bytes are always cached and returned under the version of the chart they were encoded from, which
+     * may be newer than {@code version}, and a newer version already cached by a racing request is returned
+     * as is, so the returned version always describes the returned bytes.
+     */
+    public Variants get(TeamKey team, long version, Supplier<TeamDepthChart> chart) {
+        Entry cached = bodies.get(team);
+        if (cached != null && cached.variants.version() >= version) {
+            return cached.use();
+        }
+        // the team's older version, if any, is replaced in place
+        Entry entry = bodies.compute(team, (key, current) -> {
+            if (current != null && current.variants.version() >= version) {
+                return current;
+            }
+            TeamDepthChart read = chart.get();
+            return current != null && current.variants.version() >= read.version() ? current : new Entry(encode(read));
+        });
+        if (bodies.size() > maxCachedTeams) {
+            evictColdTeams();
+        }
+        return entry.variants;
+    }
+
+    /**
+     * Drops teams that were not read since the last sweep until the cache is back at its low-water mark; teams
+     * that were read lose their mark and survive this sweep. A second pass runs if every team had been read.
+     * One thread sweeps at a time, the others carry on serving.
+     */
+    private void evictColdTeams() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (int pass = 0; pass < 2 && bodies.size() > lowWaterMark; pass++) {
+                for (Map.Entry<TeamKey, Entry> cached : bodies.entrySet()) {
+                    if (bodies.size() <= lowWaterMark) {
+                        break;
+                    }
+                    Entry entry = cached.getValue();
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                    } else {
+                        // only this entry; a newer version stored meanwhile stays
+                        bodies.remove(cached.getKey(), entry);
+                    }
+                }
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    /**
+     * The coding to answer with for an {@code Accept-Encoding} header: the acceptable coding with the
+     * highest q-value among those available, preferring brotli, then gzip, then identity on ties.
+     */
+    public String negotiate(String acceptEncoding, Variants variants) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return IDENTITY;
+        }
+
+        double brotliQ = -1;
+        double gzipQ = -1;
+        double identityQ = -1;
+        double anyQ = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = quality(parts);
+            switch (coding) {
+                case BROTLI -> brotliQ = q;
+                case GZIP, "x-gzip" -> gzipQ = q;
+                case IDENTITY -> identityQ = q;
+                case "*" -> anyQ = q;
+                default -> {
+                }
+            }
+        }
+        // codings not listed fall back to "*"; an unlisted identity stays acceptable, but below anything listed
+        brotliQ = brotliQ < 0 ? anyQ : brotliQ;
+        gzipQ = gzipQ < 0 ? anyQ : gzipQ;
+        identityQ = identityQ < 0 ? (anyQ < 0 ? UNLISTED_IDENTITY_Q : anyQ) : identityQ;
+
+        String best = IDENTITY;
+        double bestQ = identityQ;
+        if (variants.gzip() != null && gzipQ > 0 && gzipQ >= bestQ) {
+            best = GZIP;
+            bestQ = gzipQ;
+        }
+        if (variants.brotli() != null && brotliQ > 0 && brotliQ >= bestQ) {
+            best = BROTLI;
+        }
+        return best;
+    }
+
+    private static final class Entry {
+
+        private final Variants variants;
+        // set by reads, cleared by the eviction sweep
+        private volatile boolean referenced;
+
+        private Entry(Variants variants) {
+            this.variants = variants;
+        }
+
+        private Variants use() {
+            // checked first so a hot team's line is not written on every read
+            if (!referenced) {
+                referenced = true;
+            }
+            return variants;
+        }
+    }
+
+    private Variants encode(TeamDepthChart chart) {
+        long version = chart.version();
+        byte[] identity;
+        try {
+            identity = objectMapper.writeValueAsBytes(chart.positions());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize depth chart", ex);
+        }
+        if (identity.length < MIN_COMPRESSED_SIZE) {
+            return new Variants(version, identity, null, null);
+        }
+        return new Variants(version, identity, gzip(identity), brotli ? Brotli.compress(identity) : null);
+    }
+
+    /**
+     * Gzip at the best compression level, which is affordable here because it runs once per version.
+     */
+    public static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("gzip compression failed", ex);
+        }
+        return out.toByteArray();
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.length() > 2 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
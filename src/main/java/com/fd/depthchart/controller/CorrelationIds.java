@@ -0,0 +1,21 @@
+package com.fd.depthchart.controller;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Request correlation ids in UUID format. {@link UUID#randomUUID()} draws from a shared SecureRandom,
+ * which every request thread then contends on; an id that only has to be unique in the logs does not need that.
+ */
+final class CorrelationIds {
+
+    private CorrelationIds() {
+    }
+
+    static String next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;                      // version 4
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L; // IETF variant
+        return new UUID(most, least).toString();
+    }
+}
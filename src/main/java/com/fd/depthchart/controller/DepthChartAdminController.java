@@ -0,0 +1,66 @@
+package com.fd.depthchart.controller;
+
+import com.fd.depthchart.model.ImportSummary;
+import com.fd.depthchart.service.DepthChartTransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@ConditionalOnProperty(name = "depthchart.admin.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Tag(name = "Depth Chart Admin", description = "Bulk export and import of the whole store")
+@Slf4j
+public class DepthChartAdminController {
+
+    private final DepthChartTransferService transferService;
+
+    @Operation(
+            summary = "Export every depth chart as NDJSON",
+            description = "Streams one team per line (league, team, version, positions), ordered by league and team."
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportDepthCharts() {
+        String correlationId = CorrelationIds.next();
+        log.info("[{}] Received request for exportDepthCharts", correlationId);
+
+        StreamingResponseBody body = out -> {
+            int teams = transferService.exportTo(out);
+            log.info("[{}] Exported {} teams", correlationId, teams);
+        };
+
+        return ResponseEntity.ok()
+                .header("X-Correlation-Id", correlationId)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Import depth charts from NDJSON",
+            description = "Reads one team per line in the export format and replaces that team's chart. "
+                    + "Each line is validated against the league catalog as a whole; invalid lines are skipped "
+                    + "and reported in the response. A line's version is kept and must be newer than the "
+                    + "team's current one; lines without a version get the next one."
+    )
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ImportSummary> importDepthCharts(InputStream body) throws IOException {
+        String correlationId = CorrelationIds.next();
+        log.info("[{}] Received request for importDepthCharts", correlationId);
+
+        ImportSummary summary = transferService.importFrom(body);
+
+        return ResponseEntity.ok()
+                .header("X-Correlation-Id", correlationId)
+                .body(summary);
+    }
+}
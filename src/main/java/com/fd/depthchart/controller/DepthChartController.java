@@ -1,34 +1,63 @@
 package com.fd.depthchart.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fd.depthchart.exception.ErrorBodies;
+import com.fd.depthchart.exception.VersionConflictException;
+import com.fd.depthchart.model.DepthChartDiff;
 import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.LeagueDepthEntry;
+import com.fd.depthchart.model.LineupSimulation;
 import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.PlayerSearchHit;
+import com.fd.depthchart.model.PlayerSwap;
+import com.fd.depthchart.model.TeamKey;
+import com.fd.depthchart.model.Validated;
+import com.fd.depthchart.model.VersionTag;
 import com.fd.depthchart.service.DepthChartService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/v1")
-@RequiredArgsConstructor
 @Tag(name = "Depth Chart", description = "Manage team depth charts")
 @Slf4j
 public class DepthChartController {
 
     private final DepthChartService depthChartService;
+    private final ObjectMapper objectMapper;
+    private final ChartBodies chartBodies;
+    private final ErrorBodies errorBodies;
+
+    public DepthChartController(DepthChartService depthChartService, ObjectMapper objectMapper) {
+        this.depthChartService = depthChartService;
+        this.objectMapper = objectMapper;
+        this.chartBodies = new ChartBodies(objectMapper);
+        this.errorBodies = new ErrorBodies(objectMapper);
+    }
 
     @Operation(
             summary = "Add a player to depth chart",
             description = "Adds a player at the given position. If position_depth is not provided, "
-                    + "the player is added to the end of the depth chart."
+                    + "the player is added to the end of the depth chart. With If-Match set to a version "
+                    + "(the ETag of the full depth chart) the write fails with 412 if the chart has changed since."
     )
     @PostMapping("/{league}/teams/{team}/depth-chart/{position}")
     public ResponseEntity<Void> addPlayerToDepthChart(
@@ -36,14 +65,15 @@ public class DepthChartController {
             @Parameter(description = "Team code within the league (e.g. TB)") @PathVariable String team,
             @Parameter(description = "Position code (e.g. QB)") @PathVariable String position,
             @RequestBody Player player,
-            @Parameter(description = "Optional depth index (0 = starter)") @RequestParam(value = "position_depth", required = false) Integer positionDepth) {
+            @Parameter(description = "Optional depth index (0 = starter)") @RequestParam(value = "position_depth", required = false) Integer positionDepth,
+            @Parameter(description = "Only write if the depth chart is still at this version") @RequestHeader(value = "If-Match", required = false) String ifMatch) {
 
-        String correlationId = UUID.randomUUID().toString();
+        String correlationId = CorrelationIds.next();
         log.info("[{}] Received request for addPlayer: league={}, team={}, position={}",
                 correlationId, league, team, position);
         DepthChartKey key = DepthChartKey.of(league, team, position);
 
-        depthChartService.addPlayerToDepthChart(key, player, positionDepth);
+        depthChartService.addPlayerToDepthChart(key, player, positionDepth, expectedVersion(ifMatch, league, team));
 
         return ResponseEntity
                 .created(URI.create(String.format(
@@ -56,72 +86,333 @@ public class DepthChartController {
 
     @Operation(
             summary = "Remove a player from a depth chart position",
-            description = "Returns the removed player in a list, or empty list if not present"
+            description = "Returns the removed player in a list, or empty list if not present. "
+                    + "Honours If-Match like the add endpoint."
     )
     @DeleteMapping("/{league}/teams/{team}/depth-chart/{position}")
     public ResponseEntity<List<Player>> removePlayerFromDepthChart(
             @Parameter(description = "League code (e.g. NFL)") @PathVariable String league,
             @Parameter(description = "Team code within the league (e.g. TB)") @PathVariable String team,
             @Parameter(description = "Position code (e.g. QB)") @PathVariable String position,
-            @RequestBody Player player) {
+            @RequestBody Player player,
+            @Parameter(description = "Only write if the depth chart is still at this version") @RequestHeader(value = "If-Match", required = false) String ifMatch) {
 
-        String correlationId = UUID.randomUUID().toString();
+        String correlationId = CorrelationIds.next();
         log.info("[{}] Received request for removePlayerFromDepthChart : league={}, team={}",
                 correlationId, league, team);
 
         DepthChartKey key = DepthChartKey.of(league, team, position);
 
-        List<Player> removed = depthChartService.removePlayerFromDepthChart(key, player);
+        List<Player> removed = depthChartService.removePlayerFromDepthChart(key, player, expectedVersion(ifMatch, league, team));
 
         return ResponseEntity.ok()
                 .header("X-Correlation-Id", correlationId)
                 .body(removed);
     }
 
+    @Operation(
+            summary = "Move a player to another depth",
+            description = "Moves a player already listed at the position to to_depth (0 = starter), shifting the "
+                    + "players in between, as one new version. Returns the position's new order. Honours If-Match."
+    )
+    @PostMapping("/{league}/teams/{team}/depth-chart/{position}/move")
+    public ResponseEntity<List<Player>> movePlayer(
+            @Parameter(description = "League code (e.g. NFL)") @PathVariable String league,
+            @Parameter(description = "Team code within the league (e.g. TB)") @PathVariable String team,
+            @Parameter(description = "Position code (e.g. QB)") @PathVariable String position,
+            @RequestBody Player player,
+            @Parameter(description = "Target depth index (0 = starter)") @RequestParam("to_depth") int toDepth,
+            @Parameter(description = "Only write if the depth chart is still at this version") @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+
+        String correlationId = CorrelationIds.next();
+        log.info("[{}] Received request for movePlayer: league={}, team={}, position={}, toDepth={}",
+                correlationId, league, team, position, toDepth);
+
+        DepthChartKey key = DepthChartKey.of(league, team, position);
+        List<Player> depth = depthChartService.movePlayer(key, player, toDepth, expectedVersion(ifMatch, league, team));
+
+        return ResponseEntity.ok()
+                .header("X-Correlation-Id", correlationId)
+                .body(depth);
+    }
+
+    @Operation(
+            summary = "Swap two players' depths",
+            description = "Exchanges the depth slots of two players listed at the position, as one new version. "
+                    + "Returns the position's new order. Honours If-Match."
+    )
+    @PostMapping("/{league}/teams/{team}/depth-chart/{position}/swap")
+    public ResponseEntity<List<Player>> swapPlayers(
+            @Parameter(description = "League code (e.g. NFL)") @PathVariable String league,
+            @Parameter(description = "Team code within the league (e.g. TB)") @PathVariable String team,
+            @Parameter(description = "Position code (e.g. QB)") @PathVariable String position,
+            @RequestBody PlayerSwap swap,
+            @Parameter(description = "Only write if the depth chart is still at this version") @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+
+        String correlationId = CorrelationIds.next();
+        log.info("[{}] Received request for swapPlayers: league={}, team={}, position={}",
+                correlationId, league, team, position);
+
+        DepthChartKey key = DepthChartKey.of(league, team, position);
+        List<Player> depth = depthChartService.swapPlayers(key, swap.first(), swap.second(), expectedVersion(ifMatch, league, team));
+
+        return ResponseEntity.ok()
+                .header("X-Correlation-Id", correlationId)
+                .body(depth);
+    }
+
+    @Operation(
+            summary = "Reorder a position",
+            description = "Replaces the order of a position with the given list, which must contain exactly the "
+                    + "players currently listed there, as one new version. Honours If-Match."
+    )
+    @PutMapping("/{league}/teams/{team}/depth-chart/{position}")
+    public ResponseEntity<List<Player>> replaceDepthOrder(
+            @Parameter(description = "League code (e.g. NFL)") @PathVariable String league,
+            @Parameter(description = "Team code within the league (e.g. TB)") @PathVariable String team,
+            @Parameter(description = "Position code (e.g. QB)") @PathVariable String position,
+            @RequestBody List<Player> order,
+            @Parameter(description = "Only write if the depth chart is still at this version") @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+
+        String correlationId = CorrelationIds.next();
+        log.info("[{}] Received request for replaceDepthOrder: league={}, team={}, position={}",
+                correlationId, league, team, position);
+
+        DepthChartKey key = DepthChartKey.of(league, team, position);
+        List<Player> depth = depthChartService.replaceDepthOrder(key, order, expectedVersion(ifMatch, league, team));
+
+        return ResponseEntity.ok()
+                .header("X-Correlation-Id", correlationId)
+                .body(depth);
+    }
+
     @Operation(
             summary = "Get backups for a player",
             description = "Returns all players ranked below the given player at the specified position. "
                     + "If the player is not listed or has no backups, an empty list is returned."
     )
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = Player.class))))
     @PostMapping("/{league}/teams/{team}/depth-chart/{position}/backups")
-    public ResponseEntity<List<Player>> getBackups(
+    public ResponseEntity<?> getBackups(
             @Parameter(description = "League code (e.g. NFL)") @PathVariable String league,
             @Parameter(description = "Team code within the league (e.g. TB)") @PathVariable String team,
             @Parameter(description = "Position code (e.g. QB)")  @PathVariable String position,
             @RequestBody Player player) {
 
-        String correlationId = UUID.randomUUID().toString();
+        String correlationId = CorrelationIds.next();
 
-        log.info("[{}] Get backups: league={}, team={}, position={}",
-                correlationId, league, team, position);
+        // hot read path: at debug, and guarded so the varargs array is not built when it is off
+        if (log.isDebugEnabled()) {
+            log.debug("[{}] Get backups: league={}, team={}, position={}",
+                    correlationId, league, team, position);
+        }
 
         DepthChartKey key = DepthChartKey.of(league, team, position);
 
-        List<Player> backups = depthChartService.getBackups(key, player);
-
+        Validated<List<Player>> backups = depthChartService.lookupBackups(key, player);
+        if (!backups.isValid()) {
+            return rejected(backups);
+        }
 
         return ResponseEntity.ok()
                 .header("X-Correlation-Id", correlationId)
-                .body(backups);
+                .body(backups.value());
     }
 
     @Operation(
             summary = "Get full depth chart for a team",
-            description = "Returns all positions and players for the given league and team."
+            description = "Returns all positions and players for the given league and team. "
+                    + "The body is pre-compressed per chart version and sent gzip or brotli encoded "
+                    + "when Accept-Encoding allows it."
     )
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(type = "object", description = "Players per position code, starter first")))
     @GetMapping("/{league}/teams/{team}/depth-chart")
-    public ResponseEntity<Map<String, List<Player>>> getFullDepthChart(
+    public ResponseEntity<byte[]> getFullDepthChart(
             @Parameter(description = "League code (e.g. NFL)") @PathVariable String league,
-            @Parameter(description = "Team code within the league (e.g. TB)") @PathVariable String team) {
+            @Parameter(description = "Team code within the league (e.g. TB)") @PathVariable String team,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
-        String correlationId = UUID.randomUUID().toString();
-        log.info("[{}] Received request for getFullDepthChart: league={}, team={}",
-                correlationId, league, team);
-        Map<String, List<Player>> fullChart =
-                depthChartService.getFullDepthChart(league, team);
+        String correlationId = CorrelationIds.next();
+        // hot read path, guarded like getBackups
+        if (log.isDebugEnabled()) {
+            log.debug("[{}] Received request for getFullDepthChart: league={}, team={}",
+                    correlationId, league, team);
+        }
+        // the cheap version read only decides whether the cached bodies are current; on a miss the chart is
+        // read once and its bytes are tagged with the version of that same read
+        Validated<Long> version = depthChartService.lookupDepthChartVersion(league, team);
+        if (!version.isValid()) {
+            return rejected(version);
+        }
+        ChartBodies.Variants variants = chartBodies.get(TeamKey.of(league, team), version.value(),
+                () -> depthChartService.getTeamDepthChart(league, team));
+        String coding = chartBodies.negotiate(acceptEncoding, variants);
+        boolean identity = ChartBodies.IDENTITY.equals(coding);
+
+        // a strong tag per coding, so caches never pair gzip bytes with a tag taken from the identity body
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header("X-Correlation-Id", correlationId)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(new VersionTag(depthChartService.getEpoch(), variants.version())
+                        .withCoding(identity ? null : coding));
+        if (!identity) {
+            response.header(HttpHeaders.CONTENT_ENCODING, coding);
+        }
+        return response.body(variants.body(coding));
+    }
+
+    @Operation(
+            summary = "Get depth chart changes since a version",
+            description = "Returns added, removed and reordered players per position between since_version and "
+                    + "the current version. Versions are <epoch>.<version> tags, as in the ETag of the full depth "
+                    + "chart. If since_version is no longer in the change log or is from another epoch (the "
+                    + "store was restarted), fullSnapshot is true and the whole chart is returned instead."
+    )
+    @GetMapping("/{league}/teams/{team}/depth-chart/diff")
+    public ResponseEntity<DepthChartDiff> getDepthChartDiff(
+            @Parameter(description = "League code (e.g. NFL)") @PathVariable String league,
+            @Parameter(description = "Team code within the league (e.g. TB)") @PathVariable String team,
+            @Parameter(description = "Version tag the client already has, e.g. 3f9k2x.12") @RequestParam("since_version") String sinceVersion) {
+
+        String correlationId = CorrelationIds.next();
+        log.info("[{}] Received request for getDepthChartDiff: league={}, team={}, sinceVersion={}",
+                correlationId, league, team, sinceVersion);
+
+        DepthChartDiff diff = depthChartService.getDepthChartDiff(league, team, VersionTag.parse(sinceVersion));
+
+        return ResponseEntity.ok()
+                .header("X-Correlation-Id", correlationId)
+                .eTag(new VersionTag(diff.epoch(), diff.toVersion()).toString())
+                .body(diff);
+    }
+
+    @Operation(
+            summary = "Query depth charts across a league",
+            description = "Returns one row per player at depth min_depth..max_depth (0 = starter) for every team "
+                    + "in the league, optionally limited to some positions. E.g. position=QB&max_depth=0 returns "
+                    + "every starting QB. Rows are ordered by position, then team, then depth, and are streamed "
+                    + "as they are read."
+    )
+    @GetMapping("/{league}/depth-chart")
+    public ResponseEntity<StreamingResponseBody> queryLeagueDepthCharts(
+            @Parameter(description = "League code (e.g. NFL)") @PathVariable String league,
+            @Parameter(description = "Position codes to include (repeatable); all positions when omitted") @RequestParam(value = "position", required = false) List<String> positions,
+            @Parameter(description = "First depth index to include") @RequestParam(value = "min_depth", defaultValue = "0") int minDepth,
+            @Parameter(description = "Last depth index to include; no limit when omitted") @RequestParam(value = "max_depth", required = false) Integer maxDepth) {
+
+        String correlationId = CorrelationIds.next();
+        log.info("[{}] Received request for queryLeagueDepthCharts: league={}, positions={}, minDepth={}, maxDepth={}",
+                correlationId, league, positions, minDepth, maxDepth);
+
+        // validation happens here, before the response is committed, so bad input still gets a 400
+        Stream<LeagueDepthEntry> entries = depthChartService.queryLeague(league, positions, minDepth, maxDepth);
+
+        StreamingResponseBody body = out -> {
+            try (entries) {
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+                generator.writeStartArray();
+                Iterator<LeagueDepthEntry> it = entries.iterator();
+                while (it.hasNext()) {
+                    // the generator's buffer is flushed to the response as it fills, nothing else is held
+                    generator.writeObject(it.next());
+                }
+                generator.writeEndArray();
+                generator.flush();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .header("X-Correlation-Id", correlationId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Simulate unavailable players",
+            description = "What-if for injuries: the body maps team codes to players ruled out. Returns each of "
+                    + "those teams' effective starter and backups at every position, with the live starter for "
+                    + "comparison. Nothing is written; each team is read once, at the version reported."
+    )
+    @PostMapping("/{league}/depth-chart/what-if")
+    public ResponseEntity<LineupSimulation> simulateUnavailable(
+            @Parameter(description = "League code (e.g. NFL)") @PathVariable String league,
+            @RequestBody Map<String, List<Player>> unavailable) {
+
+        String correlationId = CorrelationIds.next();
+        log.info("[{}] Received request for simulateUnavailable: league={}, teams={}",
+                correlationId, league, unavailable.keySet());
+
+        LineupSimulation simulation = depthChartService.simulateUnavailable(league, unavailable);
+
+        return ResponseEntity.ok()
+                .header("X-Correlation-Id", correlationId)
+                .body(simulation);
+    }
+
+    @Operation(
+            summary = "Search players by name or number",
+            description = "Matches every word of q against name words and the jersey number, as a prefix or with "
+                    + "one typo from four letters on, across all leagues unless league is given. Returns where "
+                    + "each player is listed, best matches first."
+    )
+    @GetMapping("/players/search")
+    public ResponseEntity<List<PlayerSearchHit>> searchPlayers(
+            @Parameter(description = "Name fragments and/or number (e.g. godw chr)") @RequestParam("q") String query,
+            @Parameter(description = "League code to search in; all leagues when omitted") @RequestParam(value = "league", required = false) String league,
+            @Parameter(description = "Maximum number of hits (1-100)") @RequestParam(value = "limit", defaultValue = "20") int limit) {
+
+        String correlationId = CorrelationIds.next();
+        if (log.isDebugEnabled()) {
+            log.debug("[{}] Received request for searchPlayers: q={}, league={}, limit={}",
+                    correlationId, query, league, limit);
+        }
+
+        List<PlayerSearchHit> hits = depthChartService.searchPlayers(query, league, limit);
 
         return ResponseEntity.ok()
                 .header("X-Correlation-Id", correlationId)
-                .body(fullChart);
+                .body(hits);
+    }
+
+    /**
+     * 400 for an unknown league, team or position, from the cached body the exception handler would write.
+     */
+    private ResponseEntity<byte[]> rejected(Validated<?> lookup) {
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorBodies.illegalArgument(lookup.result(), lookup.rejectedValue()));
+    }
+
+    /**
+     * Version a conditional write expects, from an If-Match header holding a version tag ({@code "e.12"},
+     * also weak or with a coding suffix, {@code "e.12-gzip"}); {@code *} or no header means unconditional. A tag from another store epoch cannot match
+     * any current version, so it fails like a stale one, with 412 and the current tag.
+     */
+    private Long expectedVersion(String ifMatch, String league, String team) {
+        VersionTag expected = ifMatchTag(ifMatch);
+        if (expected == null) {
+            return null;
+        }
+        String epoch = depthChartService.getEpoch();
+        if (!expected.isFrom(epoch)) {
+            TeamKey teamKey = TeamKey.of(league, team);
+            throw new VersionConflictException(teamKey.league(), teamKey.team(), expected,
+                    new VersionTag(epoch, depthChartService.getDepthChartVersion(league, team)));
+        }
+        return expected.version();
+    }
+
+    static VersionTag ifMatchTag(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        try {
+            return VersionTag.parse(ifMatch);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("If-Match must be a depth chart version, got " + ifMatch);
+        }
     }
 }
@@ -0,0 +1,60 @@
+package com.fd.depthchart.diagnostics;
+
+import com.fd.depthchart.model.TeamKey;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One optimistic write commit. Writes take no lock, so contention shows up here instead:
+ * attempts above one are compare-and-set retries after losing a race for the same team.
+ */
+@Name(DepthChartCommitEvent.NAME)
+@Label("Depth Chart Commit")
+@Category("Depth Chart")
+@Description("An optimistic write commit and how many attempts it took")
+@StackTrace(false)
+public class DepthChartCommitEvent extends Event {
+
+    public static final String NAME = "com.fd.depthchart.Commit";
+
+    @Label("League")
+    String league;
+
+    @Label("Team")
+    String team;
+
+    @Label("Attempts")
+    int attempts;
+
+    @Label("Version Conflict")
+    @Description("The write carried an expected version that no longer matched")
+    boolean conflict;
+
+    private static final DepthChartCommitEvent INERT = new DepthChartCommitEvent();
+
+    /**
+     * A shared inert instance when no recording is running, see {@link DepthChartOperationEvent}.
+     */
+    public static DepthChartCommitEvent start() {
+        if (!FlightRecorderState.isActive()) {
+            return INERT;
+        }
+        DepthChartCommitEvent event = new DepthChartCommitEvent();
+        event.begin();
+        return event;
+    }
+
+    public void end(TeamKey teamKey, int attempts, boolean conflict) {
+        if (this != INERT && shouldCommit()) {
+            this.league = teamKey.league();
+            this.team = teamKey.team();
+            this.attempts = attempts;
+            this.conflict = conflict;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.fd.depthchart.diagnostics;
+
+import com.fd.depthchart.config.DiagnosticsProperties;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/depthchart}: POST starts a bounded JFR recording of the depth chart events, GET reports
+ * the slowest operations and the busiest keys over the recent window, DELETE stops the recording early.
+ * Events are consumed in-process through a {@link RecordingStream}, so nothing has to be dumped and parsed.
+ */
+@Component
+@Endpoint(id = "depthchart")
+@Slf4j
+public class DepthChartDiagnosticsEndpoint {
+
+    // the stream's on-disk chunks only need to cover what has not been consumed yet
+    private static final long MAX_STREAM_BYTES = 64L * 1024 * 1024;
+
+    private final DiagnosticsProperties props;
+    private final ScheduledExecutorService stopper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "depth-chart-diagnostics-stopper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private RecordingStream stream;
+    private ScheduledFuture<?> scheduledStop;
+    private OperationWindow window;
+    private Instant startedAt;
+    private Instant endsAt;
+
+    public DepthChartDiagnosticsEndpoint(DiagnosticsProperties props) {
+        this.props = props;
+    }
+
+    @ReadOperation
+    public synchronized DiagnosticsReport report() {
+        if (window == null) {
+            return DiagnosticsReport.idle();
+        }
+        return window.report(stream != null, startedAt, endsAt, Instant.now());
+    }
+
+    /**
+     * Starts a recording, or extends the running one, for {@code durationSeconds} (capped at the configured maximum).
+     */
+    @WriteOperation
+    public synchronized DiagnosticsReport start(@Nullable Long durationSeconds) {
+        Duration duration = durationSeconds == null
+                ? props.getDefaultDuration()
+                : Duration.ofSeconds(Math.max(1, durationSeconds));
+        if (duration.compareTo(props.getMaxDuration()) > 0) {
+            duration = props.getMaxDuration();
+        }
+
+        if (stream == null) {
+            window = new OperationWindow((int) props.getWindow().toSeconds(), props.getTop());
+            stream = openStream(window);
+            startedAt = Instant.now();
+            log.info("Started depth chart diagnostics recording for {}", duration);
+        } else {
+            scheduledStop.cancel(false);
+        }
+        endsAt = Instant.now().plus(duration);
+        scheduledStop = stopper.schedule(this::stop, duration.toMillis(), TimeUnit.MILLISECONDS);
+        return report();
+    }
+
+    /**
+     * Stops the recording; the report of its last window stays available until the next start.
+     */
+    @DeleteOperation
+    public synchronized DiagnosticsReport stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+            scheduledStop.cancel(false);
+            endsAt = Instant.now();
+            log.info("Stopped depth chart diagnostics recording");
+        }
+        return report();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stop();
+        stopper.shutdownNow();
+    }
+
+    private RecordingStream openStream(OperationWindow target) {
+        RecordingStream recording = new RecordingStream();
+        // every call, not just the ones over the event's default threshold, or the key counts would be skewed
+        recording.enable(DepthChartOperationEvent.NAME).withThreshold(Duration.ZERO).withoutStackTrace();
+        recording.enable(DepthChartCommitEvent.NAME).withoutStackTrace();
+        recording.setMaxAge(props.getWindow());
+        recording.setMaxSize(MAX_STREAM_BYTES);
+
+        recording.onEvent(DepthChartOperationEvent.NAME, event -> target.recordOperation(
+                event.getEndTime(),
+                event.getString("operation"),
+                key(event),
+                event.getDuration().toNanos(),
+                event.getDuration("validation").toNanos(),
+                event.getInt("listSize")));
+        recording.onEvent(DepthChartCommitEvent.NAME, event -> target.recordCommit(
+                event.getEndTime(),
+                key(event),
+                event.getInt("attempts"),
+                event.getBoolean("conflict")));
+
+        recording.startAsync();
+        return recording;
+    }
+
+    private static String key(RecordedEvent event) {
+        String key = event.getString("league") + "/" + event.getString("team");
+        if (event.hasField("position")) {
+            String position = event.getString("position");
+            if (position != null) {
+                key += "/" + position;
+            }
+        }
+        return key;
+    }
+}
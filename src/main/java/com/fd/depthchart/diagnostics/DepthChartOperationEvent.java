@@ -0,0 +1,109 @@
+package com.fd.depthchart.diagnostics;
+
+import com.fd.depthchart.model.DepthChartKey;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * One depth chart service call, from validation to the result (HTTP handling and JSON are not included).
+ * The default 1 ms threshold keeps an always-on recording to the slow calls; the diagnostics endpoint
+ * records every call for its window. When no recording is running a shared inert instance is returned,
+ * so the call allocates nothing.
+ */
+@Name(DepthChartOperationEvent.NAME)
+@Label("Depth Chart Operation")
+@Category("Depth Chart")
+@Description("A depth chart service call, including validation and store access")
+@StackTrace(false)
+@Threshold("1 ms")
+public class DepthChartOperationEvent extends Event {
+
+    public static final String NAME = "com.fd.depthchart.Operation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("League")
+    String league;
+
+    @Label("Team")
+    String team;
+
+    @Label("Position")
+    String position;
+
+    @Label("Validation")
+    @Timespan(Timespan.NANOSECONDS)
+    long validation;
+
+    @Label("List Size")
+    @Description("Players returned or, for a full chart, positions returned")
+    int listSize;
+
+    private static final DepthChartOperationEvent INERT = new DepthChartOperationEvent();
+
+    private transient long startNanos;
+
+    public static DepthChartOperationEvent start(String operation, DepthChartKey key) {
+        return start(operation, key.league(), key.team(), key.position());
+    }
+
+    public static DepthChartOperationEvent start(String operation, String league, String team, String position) {
+        if (!FlightRecorderState.isActive()) {
+            return INERT;
+        }
+        DepthChartOperationEvent event = new DepthChartOperationEvent();
+        if (event.isEnabled()) {
+            event.operation = operation;
+            event.league = league;
+            event.team = team;
+            event.position = position;
+            event.startNanos = System.nanoTime();
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Marks the end of validation; the rest of the call is store access.
+     */
+    public void validated() {
+        if (this != INERT && isEnabled()) {
+            validation = System.nanoTime() - startNanos;
+        }
+    }
+
+    /**
+     * Notes the size of {@code result} and hands it back.
+     */
+    public <T> T result(T result) {
+        if (this != INERT && isEnabled()) {
+            if (result instanceof Collection<?> players) {
+                listSize = players.size();
+            } else if (result instanceof Map<?, ?> positions) {
+                listSize = positions.size();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Commits the event if it is over the threshold. Called from a finally block, so calls that fail
+     * validation or throw later are recorded too (without a list size).
+     */
+    public void finish() {
+        // a recording may have started since INERT was handed out; it must never be committed
+        if (this != INERT && shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.fd.depthchart.diagnostics;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * What the depthchart actuator endpoint returns: the recording's state and, for operations that ended
+ * within the last {@code windowSeconds}, per-operation timings, the slowest calls and the busiest keys.
+ *
+ * @param commitRetries compare-and-set retries, i.e. writes that lost a race for the same team
+ */
+public record DiagnosticsReport(
+        boolean recording,
+        Instant startedAt,
+        Instant endsAt,
+        long windowSeconds,
+        List<OperationSummary> operations,
+        List<OperationSample> slowest,
+        List<KeyActivity> hottestKeys,
+        long commitRetries,
+        long versionConflicts
+) {
+
+    static DiagnosticsReport idle() {
+        return new DiagnosticsReport(false, null, null, 0, List.of(), List.of(), List.of(), 0, 0);
+    }
+
+    public record OperationSummary(String operation, long count, double meanMillis, double maxMillis,
+                                   double meanValidationMillis) {
+    }
+
+    public record OperationSample(String operation, String key, double millis, double validationMillis,
+                                  int listSize, Instant at) {
+    }
+
+    /**
+     * @param key league/team, or league/team/position for position-level operations
+     */
+    public record KeyActivity(String key, long operations, long commitRetries) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.fd.depthchart.diagnostics;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Tracks whether any JFR recording is running, so the events can skip allocation entirely otherwise.
+ * Relying on escape analysis alone did not remove the event object on the read path.
+ * Registering the listener does not initialize Flight Recorder.
+ */
+final class FlightRecorderState {
+
+    private static volatile boolean active;
+
+    static {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recorderInitialized(FlightRecorder recorder) {
+                refresh();
+            }
+
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                refresh();
+            }
+        });
+    }
+
+    private FlightRecorderState() {
+    }
+
+    static boolean isActive() {
+        return active;
+    }
+
+    private static void refresh() {
+        active = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .anyMatch(recording -> recording.getState() == RecordingState.RUNNING);
+    }
+}
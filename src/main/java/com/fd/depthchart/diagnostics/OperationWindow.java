@@ -0,0 +1,160 @@
+package com.fd.depthchart.diagnostics;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Operation and commit events of the last few seconds, in one bucket per second so memory stays bounded
+ * by the window and the number of keys, not by the request rate. Fed by the JFR stream thread and read
+ * by actuator requests.
+ */
+final class OperationWindow {
+
+    private final Bucket[] buckets;
+    private final int top;
+
+    OperationWindow(int seconds, int top) {
+        this.buckets = new Bucket[Math.max(1, seconds)];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.top = top;
+    }
+
+    synchronized void recordOperation(Instant at, String operation, String key,
+                                      long durationNanos, long validationNanos, int listSize) {
+        Bucket bucket = bucket(at.getEpochSecond());
+        if (bucket == null) {
+            return;
+        }
+
+        long[] stats = bucket.operations.computeIfAbsent(operation, k -> new long[4]);
+        stats[0]++;
+        stats[1] += durationNanos;
+        stats[2] = Math.max(stats[2], durationNanos);
+        stats[3] += validationNanos;
+        bucket.keys.computeIfAbsent(key, k -> new long[2])[0]++;
+
+        // min-heap of this second's slowest calls
+        bucket.slowest.add(new Sample(operation, key, durationNanos, validationNanos, listSize, at));
+        if (bucket.slowest.size() > top) {
+            bucket.slowest.poll();
+        }
+    }
+
+    synchronized void recordCommit(Instant at, String key, int attempts, boolean conflict) {
+        Bucket bucket = bucket(at.getEpochSecond());
+        if (bucket == null) {
+            return;
+        }
+
+        long retries = attempts - 1;
+        bucket.retries += retries;
+        if (conflict) {
+            bucket.conflicts++;
+        }
+        if (retries > 0) {
+            bucket.keys.computeIfAbsent(key, k -> new long[2])[1] += retries;
+        }
+    }
+
+    synchronized DiagnosticsReport report(boolean recording, Instant startedAt, Instant endsAt, Instant now) {
+        long oldest = now.getEpochSecond() - buckets.length;
+        Map<String, long[]> operations = new HashMap<>();
+        Map<String, long[]> keys = new HashMap<>();
+        List<Sample> samples = new ArrayList<>();
+        long retries = 0;
+        long conflicts = 0;
+
+        for (Bucket bucket : buckets) {
+            if (bucket.second <= oldest) {
+                continue;
+            }
+            bucket.operations.forEach((operation, stats) -> {
+                long[] total = operations.computeIfAbsent(operation, k -> new long[4]);
+                total[0] += stats[0];
+                total[1] += stats[1];
+                total[2] = Math.max(total[2], stats[2]);
+                total[3] += stats[3];
+            });
+            bucket.keys.forEach((key, counts) -> {
+                long[] total = keys.computeIfAbsent(key, k -> new long[2]);
+                total[0] += counts[0];
+                total[1] += counts[1];
+            });
+            samples.addAll(bucket.slowest);
+            retries += bucket.retries;
+            conflicts += bucket.conflicts;
+        }
+
+        List<DiagnosticsReport.OperationSummary> summaries = new ArrayList<>();
+        operations.forEach((operation, stats) -> summaries.add(new DiagnosticsReport.OperationSummary(
+                operation, stats[0], millis(stats[1]) / stats[0], millis(stats[2]), millis(stats[3]) / stats[0])));
+        summaries.sort(Comparator.comparing(DiagnosticsReport.OperationSummary::operation));
+
+        List<DiagnosticsReport.OperationSample> slowest = samples.stream()
+                .sorted(Comparator.comparingLong(Sample::durationNanos).reversed())
+                .limit(top)
+                .map(sample -> new DiagnosticsReport.OperationSample(sample.operation(), sample.key(),
+                        millis(sample.durationNanos()), millis(sample.validationNanos()), sample.listSize(), sample.at()))
+                .toList();
+
+        List<DiagnosticsReport.KeyActivity> hottest = keys.entrySet().stream()
+                .map(entry -> new DiagnosticsReport.KeyActivity(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+                .sorted(Comparator.comparingLong(DiagnosticsReport.KeyActivity::operations).reversed()
+                        .thenComparing(DiagnosticsReport.KeyActivity::key))
+                .limit(top)
+                .toList();
+
+        return new DiagnosticsReport(recording, startedAt, endsAt, buckets.length,
+                summaries, slowest, hottest, retries, conflicts);
+    }
+
+    /**
+     * The bucket for {@code second}, recycled if it still holds an older second; null for events
+     * that arrive after their bucket has moved on.
+     */
+    private Bucket bucket(long second) {
+        Bucket bucket = buckets[(int) Math.floorMod(second, (long) buckets.length)];
+        if (bucket.second > second) {
+            return null;
+        }
+        if (bucket.second < second) {
+            bucket.reset(second);
+        }
+        return bucket;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record Sample(String operation, String key, long durationNanos, long validationNanos,
+                          int listSize, Instant at) {
+    }
+
+    private static final class Bucket {
+        long second = Long.MIN_VALUE;
+        // operation -> count, total nanos, max nanos, total validation nanos
+        final Map<String, long[]> operations = new HashMap<>();
+        // key -> operations, commit retries
+        final Map<String, long[]> keys = new HashMap<>();
+        final PriorityQueue<Sample> slowest = new PriorityQueue<>(Comparator.comparingLong(Sample::durationNanos));
+        long retries;
+        long conflicts;
+
+        void reset(long second) {
+            this.second = second;
+            operations.clear();
+            keys.clear();
+            slowest.clear();
+            retries = 0;
+            conflicts = 0;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.fd.depthchart.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fd.depthchart.model.ValidationResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Pre-serialized 400 bodies in the {@link com.fd.depthchart.model.ErrorResponse} shape.
+ * Everything up to the offending value is serialized once per {@link ValidationResult} and the timestamp
+ * once per second; only the value itself, which the client chose, is escaped per request. Nothing is keyed
+ * by client input, so a scraper cycling through made-up team codes cannot churn the cache.
+ */
+public class ErrorBodies {
+
+    public static final String ILLEGAL_ARGUMENT = "Illegal argument";
+
+    private static final byte[] TIMESTAMP = "\",\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<ValidationResult, byte[]> prefixes = new EnumMap<>(ValidationResult.class);
+    private volatile Timestamp timestamp = new Timestamp(Long.MIN_VALUE, new byte[0]);
+
+    public ErrorBodies(ObjectMapper objectMapper) {
+        for (ValidationResult reason : ValidationResult.values()) {
+            if (!reason.isValid()) {
+                prefixes.put(reason, serializePrefix(objectMapper, reason));
+            }
+        }
+    }
+
+    /**
+     * Writes {@code {"error":"Illegal argument","message":...,"timestamp":...}} for the rejection.
+     */
+    public void writeIllegalArgument(InvalidDepthChartRequestException ex, OutputStream out) throws IOException {
+        writeIllegalArgument(ex.getReason(), ex.getValue(), out);
+    }
+
+    /**
+     * @param value the offending value, null for a missing one
+     */
+    public void writeIllegalArgument(ValidationResult reason, String value, OutputStream out) throws IOException {
+        byte[] prefix = prefixes.get(reason);
+        if (prefix == null) {
+            throw new IllegalArgumentException("Not a rejection: " + reason);
+        }
+        out.write(prefix);
+        if (value != null) {
+            out.write(JsonStringEncoder.getInstance().quoteAsUTF8(value));
+        }
+        out.write(TIMESTAMP);
+        out.write(timestamp());
+        out.write(SUFFIX);
+    }
+
+    /**
+     * The same body as bytes, for handlers that return a rejection rather than throw it.
+     */
+    public byte[] illegalArgument(ValidationResult reason, String value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try {
+            writeIllegalArgument(reason, value, out);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot write error body", ex);
+        }
+        return out.toByteArray();
+    }
+
+    // the message string is left open for the value
+    private static byte[] serializePrefix(ObjectMapper objectMapper, ValidationResult reason) {
+        try {
+            String message = objectMapper.writeValueAsString(InvalidDepthChartRequestException.describe(reason));
+            return ("{\"error\":" + objectMapper.writeValueAsString(ILLEGAL_ARGUMENT)
+                    + ",\"message\":" + message.substring(0, message.length() - 1)).getBytes(StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot serialize error message", ex);
+        }
+    }
+
+    private byte[] timestamp() {
+        long second = System.currentTimeMillis() / 1_000;
+        Timestamp current = timestamp;
+        if (current.epochSecond() != second) {
+            // ISO-8601 like the ObjectMapper writes Instant, at second resolution
+            current = new Timestamp(second, Instant.ofEpochSecond(second).toString().getBytes(StandardCharsets.US_ASCII));
+            timestamp = current;
+        }
+        return current.bytes();
+    }
+
+    private record Timestamp(long epochSecond, byte[] bytes) {
+    }
+}
@@ -1,20 +1,41 @@
 package com.fd.depthchart.exception;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fd.depthchart.model.ErrorResponse;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.io.IOException;
 import java.time.Instant;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final ErrorBodies errorBodies;
+
+    public GlobalExceptionHandler(ObjectMapper objectMapper) {
+        this.errorBodies = new ErrorBodies(objectMapper);
+    }
+
+    /**
+     * Unknown league, team or position: the common rejection, answered from a cached body.
+     */
+    @ExceptionHandler(InvalidDepthChartRequestException.class)
+    public void handleInvalidDepthChartRequestException(InvalidDepthChartRequestException ex,
+                                                        HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        errorBodies.writeIllegalArgument(ex, response.getOutputStream());
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
         ErrorResponse errorResponse = new ErrorResponse(
-                "Illegal argument",
+                ErrorBodies.ILLEGAL_ARGUMENT,
                 ex.getMessage(),
                 Instant.now()
         );
@@ -23,4 +44,19 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.BAD_REQUEST)
                 .body(errorResponse);
     }
+
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleVersionConflictException(VersionConflictException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Precondition failed",
+                ex.getMessage(),
+                Instant.now()
+        );
+
+        // current version, so the client knows what it is now behind
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(ex.getCurrent().toString())
+                .body(errorResponse);
+    }
 }
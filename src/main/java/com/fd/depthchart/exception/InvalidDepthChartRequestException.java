@@ -0,0 +1,76 @@
+package com.fd.depthchart.exception;
+
+import com.fd.depthchart.model.ValidationResult;
+
+/**
+ * A request named a league, team or position the catalog does not know.
+ * These are client mistakes, often repeated at high rate by scrapers, so no stack trace is captured;
+ * the reason and message are all the handler needs. Still an {@link IllegalArgumentException},
+ * so existing callers that catch bad input keep working.
+ */
+public class InvalidDepthChartRequestException extends IllegalArgumentException {
+
+    private final ValidationResult reason;
+    private final String value;
+
+    /**
+     * @param value the offending value, null for a missing one
+     */
+    public InvalidDepthChartRequestException(ValidationResult reason, String value) {
+        super(value == null ? describe(reason) : describe(reason) + value);
+        this.reason = reason;
+        this.value = value;
+    }
+
+    /**
+     * Builds the exception for a failed check; the message names the offending value, normalized the way the catalog stores it.
+     */
+    public static InvalidDepthChartRequestException of(ValidationResult reason, String league, String team, String position) {
+        return new InvalidDepthChartRequestException(reason, rejectedValue(reason, league, team, position));
+    }
+
+    /**
+     * The value a failed check rejected, normalized the way the catalog stores it; null for a missing one.
+     */
+    public static String rejectedValue(ValidationResult reason, String league, String team, String position) {
+        return switch (reason) {
+            case LEAGUE_REQUIRED, TEAM_REQUIRED, POSITION_REQUIRED -> null;
+            case UNSUPPORTED_LEAGUE -> normalize(league);
+            case INVALID_TEAM -> normalize(team);
+            case INVALID_POSITION -> normalize(position);
+            case VALID -> throw new IllegalStateException("Not a rejection: " + reason);
+        };
+    }
+
+    /**
+     * The fixed part of the message for a reason; the offending value, if any, follows it.
+     */
+    public static String describe(ValidationResult reason) {
+        return switch (reason) {
+            case LEAGUE_REQUIRED -> "league is required";
+            case TEAM_REQUIRED -> "team is required";
+            case POSITION_REQUIRED -> "position is required";
+            case UNSUPPORTED_LEAGUE -> "Unsupported league: ";
+            case INVALID_TEAM -> "Invalid team: ";
+            case INVALID_POSITION -> "Invalid position: ";
+            case VALID -> throw new IllegalStateException("Not a rejection: " + reason);
+        };
+    }
+
+    public ValidationResult getReason() {
+        return reason;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toUpperCase();
+    }
+}
@@ -0,0 +1,28 @@
+package com.fd.depthchart.exception;
+
+import com.fd.depthchart.model.VersionTag;
+
+/**
+ * A conditional write (If-Match) found the team at a different version than the caller expected,
+ * or the caller's version belongs to another store epoch.
+ */
+public class VersionConflictException extends RuntimeException {
+
+    private final VersionTag expected;
+    private final VersionTag current;
+
+    public VersionConflictException(String league, String team, VersionTag expected, VersionTag current) {
+        super("Depth chart for " + league + "/" + team + " is at version " + current
+                + ", expected " + expected);
+        this.expected = expected;
+        this.current = current;
+    }
+
+    public VersionTag getExpected() {
+        return expected;
+    }
+
+    public VersionTag getCurrent() {
+        return current;
+    }
+}
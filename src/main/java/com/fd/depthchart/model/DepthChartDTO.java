@@ -7,11 +7,14 @@ import java.util.Map;
 
 /**
  * DTO for loading a depth chart from the static JSON for in-memory data.
+ * Also one line of the NDJSON export/import.
  * */
 @Data
 public class DepthChartDTO {
     private String league;
     private String team;
     private String season;
+    // set for spilled and exported teams, absent in the classpath data files
+    private Long version;
     private Map<String, List<Player>> positions;
 }
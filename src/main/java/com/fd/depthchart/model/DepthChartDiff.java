@@ -0,0 +1,27 @@
+package com.fd.depthchart.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes to a team's depth chart between {@code fromVersion} and {@code toVersion}, both in {@code epoch}.
+ * When the requested version is no longer in the change log or came from another epoch, {@code fullSnapshot}
+ * is true, {@code positions} is empty and {@code depthChart} carries the whole current chart instead.
+ * The next since_version is {@code <epoch>.<toVersion>}, which is also the response's ETag.
+ */
+public record DepthChartDiff(String league,
+                             String team,
+                             String epoch,
+                             long fromVersion,
+                             long toVersion,
+                             boolean fullSnapshot,
+                             Map<String, PositionDiff> positions,
+                             Map<String, List<Player>> depthChart) {
+
+    /**
+     * Per-position changes. Removed entries carry only previousDepth, added entries only depth.
+     */
+    public record PositionDiff(List<DepthEntry> added, List<DepthEntry> removed, List<DepthEntry> reordered) {}
+
+    public record DepthEntry(Player player, Integer previousDepth, Integer depth) {}
+}
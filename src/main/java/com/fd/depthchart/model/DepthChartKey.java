@@ -1,18 +1,24 @@
 package com.fd.depthchart.model;
 
+import com.fd.depthchart.exception.InvalidDepthChartRequestException;
+
 public record DepthChartKey(String league, String team, String position) {
 
     public static DepthChartKey of(String league, String team, String position) {
         return new DepthChartKey(
-                normalizeRequired("league", league),
-                normalizeRequired("team", team),
-                normalizeRequired("position", position)
+                normalizeRequired(ValidationResult.LEAGUE_REQUIRED, league),
+                normalizeRequired(ValidationResult.TEAM_REQUIRED, team),
+                normalizeRequired(ValidationResult.POSITION_REQUIRED, position)
         );
     }
 
-    private static String normalizeRequired(String field, String value) {
+    public TeamKey teamKey() {
+        return new TeamKey(league, team);
+    }
+
+    private static String normalizeRequired(ValidationResult missing, String value) {
         if (value == null || value.trim().isEmpty()) {
-            throw new IllegalArgumentException(field + " is required");
+            throw InvalidDepthChartRequestException.of(missing, null, null, null);
         }
         return value.trim().toUpperCase();
     }
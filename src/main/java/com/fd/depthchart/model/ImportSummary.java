@@ -0,0 +1,8 @@
+package com.fd.depthchart.model;
+
+import java.util.List;
+
+/**
+ * Outcome of an NDJSON import. {@code errors} holds the first few rejected lines with the reason.
+ */
+public record ImportSummary(int teamsImported, int playersImported, int linesRejected, List<String> errors) {}
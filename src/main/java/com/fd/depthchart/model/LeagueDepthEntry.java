@@ -0,0 +1,6 @@
+package com.fd.depthchart.model;
+
+/**
+ * One row of a league-wide depth chart query: a player at a depth for a team's position.
+ */
+public record LeagueDepthEntry(String team, String position, int depth, Player player) {}
@@ -0,0 +1,29 @@
+package com.fd.depthchart.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Effective lineups of the teams in a what-if scenario, keyed by team and then position (catalog order).
+ * Each team was read once, at {@link TeamLineup#version()}; nothing in the live store was changed.
+ */
+public record LineupSimulation(String league, Map<String, TeamLineup> teams) {
+
+    /**
+     * @param unavailable players of the scenario that were listed anywhere on this team
+     */
+    public record TeamLineup(long version, List<Player> unavailable, Map<String, PositionLineup> positions) {
+    }
+
+    /**
+     * @param starter effective starter, null when nobody is left at the position
+     * @param previousStarter starter in the live chart
+     */
+    public record PositionLineup(Player starter, Player previousStarter, List<Player> backups) {
+
+        public boolean changed() {
+            return !Objects.equals(starter, previousStarter);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.fd.depthchart.model;
+
+/**
+ * A player found by name or number search: where they are listed and at which depth (0 = starter).
+ */
+public record PlayerSearchHit(String league, String team, String position, int depth, Player player) {}
@@ -0,0 +1,6 @@
+package com.fd.depthchart.model;
+
+/**
+ * Two players at the same position that trade depth slots.
+ */
+public record PlayerSwap(Player first, Player second) {}
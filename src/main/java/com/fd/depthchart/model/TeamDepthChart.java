@@ -0,0 +1,42 @@
+package com.fd.depthchart.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, versioned depth chart of one team (position -> players, in depth order).
+ * Writers publish a new instance per change, so readers never need a lock.
+ */
+public record TeamDepthChart(long version, Map<String, List<Player>> positions) {
+
+    private static final TeamDepthChart EMPTY = new TeamDepthChart(0L, Map.of());
+
+    public static TeamDepthChart empty() {
+        return EMPTY;
+    }
+
+    public static TeamDepthChart of(long version, Map<String, List<Player>> positions) {
+        Map<String, List<Player>> copy = new LinkedHashMap<>();
+        positions.forEach((position, players) -> copy.put(position, List.copyOf(players)));
+        return new TeamDepthChart(version, Collections.unmodifiableMap(copy));
+    }
+
+    public List<Player> playersAt(String position) {
+        return positions.getOrDefault(position, List.of());
+    }
+
+    /**
+     * Next version with one position replaced; an empty list drops the position.
+     */
+    public TeamDepthChart withPosition(String position, List<Player> players) {
+        Map<String, List<Player>> copy = new LinkedHashMap<>(positions);
+        if (players.isEmpty()) {
+            copy.remove(position);
+        } else {
+            copy.put(position, List.copyOf(players));
+        }
+        return new TeamDepthChart(version + 1, Collections.unmodifiableMap(copy));
+    }
+}
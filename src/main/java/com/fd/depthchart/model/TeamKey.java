@@ -0,0 +1,20 @@
+package com.fd.depthchart.model;
+
+import com.fd.depthchart.exception.InvalidDepthChartRequestException;
+
+public record TeamKey(String league, String team) {
+
+    public static TeamKey of(String league, String team) {
+        return new TeamKey(
+                normalizeRequired(ValidationResult.LEAGUE_REQUIRED, league),
+                normalizeRequired(ValidationResult.TEAM_REQUIRED, team)
+        );
+    }
+
+    private static String normalizeRequired(ValidationResult missing, String value) {
+        if (value == null || value.trim().isEmpty()) {
+            throw InvalidDepthChartRequestException.of(missing, null, null, null);
+        }
+        return value.trim().toUpperCase();
+    }
+}
@@ -0,0 +1,35 @@
+package com.fd.depthchart.model;
+
+import com.fd.depthchart.exception.InvalidDepthChartRequestException;
+
+/**
+ * A lookup result, or why the request was rejected. Lets the read path hand a rejection back to the controller,
+ * which answers it with a cached error body, instead of throwing through the service.
+ *
+ * @param rejectedValue the offending value as the catalog normalizes it, null for a missing one or a valid result
+ */
+public record Validated<T>(ValidationResult result, String rejectedValue, T value) {
+
+    public static <T> Validated<T> valid(T value) {
+        return new Validated<>(ValidationResult.VALID, null, value);
+    }
+
+    public static <T> Validated<T> rejected(ValidationResult result, String league, String team, String position) {
+        return new Validated<>(result,
+                InvalidDepthChartRequestException.rejectedValue(result, league, team, position), null);
+    }
+
+    public boolean isValid() {
+        return result.isValid();
+    }
+
+    /**
+     * The value, or the rejection as an {@link InvalidDepthChartRequestException} for callers that want one.
+     */
+    public T orElseThrow() {
+        if (!result.isValid()) {
+            throw new InvalidDepthChartRequestException(result, rejectedValue);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,19 @@
+package com.fd.depthchart.model;
+
+/**
+ * Outcome of a league / team / position check. Returned rather than thrown so a rejected
+ * request costs the same as an accepted one until it reaches the edge of the service.
+ */
+public enum ValidationResult {
+    VALID,
+    LEAGUE_REQUIRED,
+    TEAM_REQUIRED,
+    POSITION_REQUIRED,
+    UNSUPPORTED_LEAGUE,
+    INVALID_TEAM,
+    INVALID_POSITION;
+
+    public boolean isValid() {
+        return this == VALID;
+    }
+}
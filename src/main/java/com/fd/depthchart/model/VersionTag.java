@@ -0,0 +1,63 @@
+package com.fd.depthchart.model;
+
+/**
+ * A team version qualified by the epoch of the store that issued it, as exchanged in ETags, If-Match and
+ * since_version: {@code <epoch>.<version>}. Versions start over whenever the store does (a new process
+ * with a heap store, a rebuilt snapshot), so a bare number cannot tell version 5 of this store from
+ * version 5 of the one before the restart; the epoch can.
+ *
+ * @param epoch null for a bare number sent by an old client, which never matches any epoch
+ */
+public record VersionTag(String epoch, long version) {
+
+    /**
+     * Parses {@code <epoch>.<version>}, also quoted and with a {@code W/} prefix as in ETags, and with the
+     * content-coding suffix of a compressed response's ETag ({@code <epoch>.<version>-gzip}): every coding
+     * of a version is the same chart. A bare number is accepted as a tag of no epoch.
+     */
+    public static VersionTag parse(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Version is required");
+        }
+        String tag = token.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        int dot = tag.lastIndexOf('.');
+        int coding = tag.indexOf('-', dot + 1);
+        if (coding > 0) {
+            tag = tag.substring(0, coding);
+        }
+        try {
+            if (dot < 0) {
+                return new VersionTag(null, Long.parseLong(tag));
+            }
+            if (dot == 0) {
+                throw new IllegalArgumentException("Not a depth chart version: " + token);
+            }
+            return new VersionTag(tag.substring(0, dot), Long.parseLong(tag.substring(dot + 1)));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Not a depth chart version: " + token);
+        }
+    }
+
+    public boolean isFrom(String storeEpoch) {
+        return epoch != null && epoch.equals(storeEpoch);
+    }
+
+    /**
+     * The ETag value of this version sent with a content coding, null for identity. Each coding is a
+     * different representation with its own bytes, so it gets a tag of its own.
+     */
+    public String withCoding(String coding) {
+        return coding == null ? toString() : this + "-" + coding;
+    }
+
+    @Override
+    public String toString() {
+        return epoch + "." + version;
+    }
+}
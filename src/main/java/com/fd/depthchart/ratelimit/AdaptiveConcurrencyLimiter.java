@@ -0,0 +1,102 @@
+package com.fd.depthchart.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Latency-driven in-flight limit (AIMD).
+ * The limit grows by one while requests complete close to the best observed latency,
+ * and is cut multiplicatively once latency shows queueing. Writes may only occupy
+ * {@code writeShare} of the limit so that reads still get through when the service is saturated.
+ * Every completed request feeds a sample, so the state is updated with compare-and-set rather than a monitor.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    // Decay applied to the best observed latency so a single lucky sample does not pin it forever
+    private static final double MIN_LATENCY_DRIFT = 1.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double writeShare;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // doubles as raw long bits, updated with compare-and-set
+    private final AtomicLong limit;
+    private final AtomicLong minLatencyNanos = new AtomicLong(Double.doubleToRawLongBits(Double.MAX_VALUE));
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, double writeShare) {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("limits must satisfy 0 < minLimit <= maxLimit");
+        }
+        if (writeShare <= 0 || writeShare > 1) {
+            throw new IllegalArgumentException("writeShare must be in (0, 1]");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.writeShare = writeShare;
+        this.limit = new AtomicLong(Double.doubleToRawLongBits(Math.max(minLimit, Math.min(maxLimit, initialLimit))));
+    }
+
+    /**
+     * Reserves an in-flight slot. Returns false (shed) instead of waiting when the limit is reached.
+     */
+    public boolean tryAcquire(boolean write) {
+        double current = limit();
+        int allowed = write ? Math.max(1, (int) (current * writeShare)) : (int) current;
+        while (true) {
+            int taken = inFlight.get();
+            if (taken >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(taken, taken + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot taken by {@link #tryAcquire(boolean)} and feeds the measured latency back.
+     */
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        onSample(latencyNanos, inFlightBefore);
+    }
+
+    public int getLimit() {
+        return (int) limit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void onSample(long latencyNanos, int inFlightAtCompletion) {
+        if (latencyNanos <= 0) {
+            return;
+        }
+        double best = update(minLatencyNanos, current -> Math.min(current * MIN_LATENCY_DRIFT, latencyNanos));
+
+        if (latencyNanos > best * tolerance) {
+            update(limit, current -> Math.max(minLimit, current * BACKOFF_RATIO));
+        } else if (inFlightAtCompletion >= limit() / 2) {
+            // only grow while the limit is actually being used
+            update(limit, current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    private double limit() {
+        return Double.longBitsToDouble(limit.get());
+    }
+
+    private static double update(AtomicLong bits, DoubleUnaryOperator function) {
+        return Double.longBitsToDouble(bits.updateAndGet(
+                current -> Double.doubleToRawLongBits(function.applyAsDouble(Double.longBitsToDouble(current)))));
+    }
+}
@@ -0,0 +1,288 @@
+package com.fd.depthchart.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fd.depthchart.config.RateLimitProperties;
+import com.fd.depthchart.config.WarmupGate;
+import com.fd.depthchart.model.ErrorResponse;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sits in front of the depth chart API.
+ * 1. Token bucket per (client, endpoint) - a flooding client gets 429 without affecting others.
+ *    The endpoint is the method plus the handler's path pattern, so every call to a route shares one key.
+ *    The client is the authenticated principal, else the remote address (behind a proxy, set
+ *    {@code server.forward-headers-strategy} so that is the real caller). Request headers are never trusted
+ *    for this, or a client could spread its load over as many buckets as it likes.
+ * 2. Adaptive concurrency limit - when latency shows queueing, excess requests get 503 immediately.
+ *    Reads keep a reserved share of the limit, so writes are shed first. Heavy endpoints (league-wide, search,
+ *    bulk) have a limiter of their own, so their latency does not shrink the limit of single-team calls.
+ *    A streamed response holds its slot until the async response completes and is timed up to then.
+ */
+@Component
+@ConditionalOnProperty(name = "depthchart.rate-limit.enabled", havingValue = "true")
+@Slf4j
+public class RateLimitingFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/";
+
+    // paths no handler maps (404s, unsupported methods) share one key per method
+    private static final String UNMATCHED = "(unmatched)";
+
+    // at the bucket cap idle buckets are swept at most this often, not on every request
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties props;
+    private final ObjectMapper objectMapper;
+    private final WarmupGate warmupGate;
+    private final HandlerMapping handlerMapping;
+    private final AdaptiveConcurrencyLimiter lightLimiter;
+    private final AdaptiveConcurrencyLimiter heavyLimiter;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime() - SWEEP_INTERVAL_NANOS);
+
+    /**
+     * @param handlerMapping resolves the path pattern of a request; lazy, since filters are created before the
+     *                       MVC infrastructure
+     */
+    public RateLimitingFilter(RateLimitProperties props,
+                              ObjectMapper objectMapper,
+                              WarmupGate warmupGate,
+                              @Lazy @Qualifier("requestMappingHandlerMapping") HandlerMapping handlerMapping) {
+        this.props = props;
+        this.objectMapper = objectMapper;
+        this.warmupGate = warmupGate;
+        this.handlerMapping = handlerMapping;
+        this.lightLimiter = newLimiter(props.getConcurrency());
+        this.heavyLimiter = newLimiter(props.getConcurrency());
+    }
+
+    private static AdaptiveConcurrencyLimiter newLimiter(RateLimitProperties.Concurrency concurrency) {
+        return new AdaptiveConcurrencyLimiter(
+                concurrency.getInitialLimit(),
+                concurrency.getMinLimit(),
+                concurrency.getMaxLimit(),
+                concurrency.getTolerance(),
+                concurrency.getWriteShare()
+        );
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PREFIX) || isLocalWarmup(request);
+    }
+
+    /**
+     * The startup warmup would otherwise spend most of its calls on 429s instead of warming the request path.
+     * It must come from loopback and carry the token of the warmup that is running right now.
+     */
+    private boolean isLocalWarmup(HttpServletRequest request) {
+        String remote = request.getRemoteAddr();
+        boolean loopback = "127.0.0.1".equals(remote) || "0:0:0:0:0:0:0:1".equals(remote) || "::1".equals(remote);
+        return loopback && warmupGate.admits(request.getHeader(WarmupGate.HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean write = isWrite(request);
+        String pattern = patternOf(request);
+        String endpoint = request.getMethod() + " " + pattern;
+        String client = clientOf(request);
+
+        TokenBucket bucket = bucketFor(client, endpoint, write);
+        if (bucket == null) {
+            log.warn("Rate limit table full ({} buckets), rejecting new client={}", buckets.size(), client);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Too many clients, retry later");
+            return;
+        }
+        if (!bucket.tryAcquire()) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilNextToken()));
+            log.warn("Rate limit exceeded: client={}, endpoint={}", client, endpoint);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded for " + endpoint);
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = props.getHeavyEndpoints().contains(pattern) ? heavyLimiter : lightLimiter;
+        if (!limiter.tryAcquire(write)) {
+            log.warn("Load shed: endpoint={}, limit={}, inFlight={}", endpoint, limiter.getLimit(), limiter.getInFlight());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Service is saturated, retry later");
+            return;
+        }
+
+        Release release = new Release(limiter, System.nanoTime());
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // streaming bodies are written after the handler returns; the slot is held until they finish
+                request.getAsyncContext().addListener(release);
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                release.run();
+            }
+        }
+    }
+
+    /**
+     * GETs and the backups lookup (a POST only because it carries a body) are reads.
+     */
+    private boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return false;
+        }
+        return !request.getRequestURI().endsWith("/backups");
+    }
+
+    /**
+     * The path pattern of the handler the request will be dispatched to, e.g.
+     * {@code /api/v1/{league}/teams/{team}/depth-chart}, so every call to a route shares one key whatever its
+     * shape. Looked up the same way the dispatcher will, which leaves the pattern on the request.
+     */
+    private String patternOf(HttpServletRequest request) {
+        boolean parsed = false;
+        try {
+            if (handlerMapping.usesPathPatterns() && !ServletRequestPathUtils.hasParsedRequestPath(request)) {
+                ServletRequestPathUtils.parseAndCache(request);
+                parsed = true;
+            }
+            handlerMapping.getHandler(request);
+        } catch (Exception e) {
+            // e.g. a method the route does not support; the dispatcher reports it, here it is just unmatched
+            log.debug("No handler for {} {}: {}", request.getMethod(), request.getRequestURI(), e.toString());
+        } finally {
+            if (parsed) {
+                // the dispatcher parses the path itself and restores what it found
+                ServletRequestPathUtils.clearParsedRequestPath(request);
+            }
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNMATCHED;
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * The bucket for the pair, or null when the table is at its cap and no idle bucket could be dropped;
+     * known clients keep their buckets, only new ones are turned away.
+     */
+    private TokenBucket bucketFor(String client, String endpoint, boolean write) {
+        String key = client + "|" + endpoint;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= props.getMaxTrackedBuckets()) {
+            sweepIdleBuckets();
+            if (buckets.size() >= props.getMaxTrackedBuckets()) {
+                return null;
+            }
+        }
+
+        RateLimitProperties.Bucket config = write ? props.getWrite() : props.getRead();
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(config.getCapacity(), config.getRefillPerSecond()));
+    }
+
+    private void sweepIdleBuckets() {
+        long now = System.nanoTime();
+        long last = lastSweepNanos.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweepNanos.compareAndSet(last, now)) {
+            return;
+        }
+        // full buckets are idle, dropping them does not change anyone's allowance
+        buckets.values().removeIf(TokenBucket::isFull);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse(
+                status.getReasonPhrase(),
+                message,
+                Instant.now()
+        );
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    /**
+     * Gives a slot back exactly once, with the latency up to then: when the filter returns, or for a streamed
+     * response when the async response completes, times out or fails.
+     */
+    private static final class Release implements Runnable, AsyncListener {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Release(AdaptiveConcurrencyLimiter limiter, long startNanos) {
+            this.limiter = limiter;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void run() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(System.nanoTime() - startNanos);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // a re-dispatch that starts async again drops listeners, so register for the new cycle
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.fd.depthchart.repository;
+
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.TeamKey;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Storage for published team depth charts. The service owns the rules (validation, optimistic commits,
+ * indexes) and only hands immutable {@link TeamDepthChart} values to the repository, so the data layout
+ * can change without touching them. Chosen with {@code depthchart.storage.backend}.
+ *
+ * Implementations must be thread-safe and apply {@link #compute} and {@link #computeIfAbsent} atomically
+ * per team, like {@link java.util.concurrent.ConcurrentHashMap}: the service's compare-and-set publish runs
+ * inside the remapping function, and what it logs for a published version runs in the {@code onStored}
+ * callback, so a chart that could not be stored leaves nothing behind.
+ */
+public interface DepthChartRepository {
+
+    /**
+     * Stored chart of the team, or null when the repository does not hold it.
+     */
+    TeamDepthChart get(TeamKey team);
+
+    /**
+     * Stored depth list of one position (empty if the team does not list it), or null when the repository
+     * does not hold the team. Backends that encode charts decode only that position.
+     */
+    default List<Player> getPosition(TeamKey team, String position) {
+        TeamDepthChart chart = get(team);
+        return chart == null ? null : chart.playersAt(position);
+    }
+
+    /**
+     * Version of the stored chart, or -1 when the repository does not hold the team. Backends that encode
+     * charts read it without decoding the chart.
+     */
+    default long version(TeamKey team) {
+        TeamDepthChart chart = get(team);
+        return chart == null ? -1 : chart.version();
+    }
+
+    /**
+     * Replaces the team's chart with what {@code remapping} returns for the stored one (null when absent).
+     * Returning the stored instance keeps it as is, returning null removes the team.
+     *
+     * @return the chart now stored, the very instance the function returned
+     */
+    default TeamDepthChart compute(TeamKey team, BiFunction<TeamKey, TeamDepthChart, TeamDepthChart> remapping) {
+        return compute(team, remapping, (k, chart) -> {
+        });
+    }
+
+    /**
+     * {@link #compute(TeamKey, BiFunction)}, then {@code onStored} with the new chart once storing it has
+     * succeeded, before the team is released to other writers. It does not run when the function keeps the
+     * stored chart or removes the team, or when storing fails: the failure is thrown and the previous chart
+     * stays. Side effects that must only follow a stored change belong there rather than in the function.
+     */
+    TeamDepthChart compute(TeamKey team, BiFunction<TeamKey, TeamDepthChart, TeamDepthChart> remapping,
+                           BiConsumer<TeamKey, TeamDepthChart> onStored);
+
+    /**
+     * Stored chart, or the loader's result stored and returned; the loader runs at most once per absent team.
+     * A null result stores nothing and is returned as is.
+     */
+    TeamDepthChart computeIfAbsent(TeamKey team, Function<TeamKey, TeamDepthChart> loader);
+
+    /**
+     * Drops the team if it is still stored at {@code version}.
+     */
+    boolean remove(TeamKey team, long version);
+
+    boolean contains(TeamKey team);
+
+    /**
+     * Weakly consistent view of the stored teams.
+     */
+    Set<TeamKey> keys();
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Identifies the sequence the stored versions belong to. Versions are only comparable within one epoch:
+     * a store that starts over (a heap store after a restart) gets a new epoch, one that keeps its versions
+     * across restarts keeps its epoch too.
+     */
+    String epoch();
+
+    /**
+     * A random epoch for a store that starts over.
+     */
+    static String newEpoch() {
+        return Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, Character.MAX_RADIX);
+    }
+}
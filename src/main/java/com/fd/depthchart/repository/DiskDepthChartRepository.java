@@ -0,0 +1,278 @@
+package com.fd.depthchart.repository;
+
+import com.fd.depthchart.config.StorageProperties;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.TeamKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * One file per team ({@code <directory>/<league>/<team>.chart}, {@link TeamChartCodec} format), written to a
+ * temporary file, forced to disk and moved into place, so a reader or a crash never sees half a chart.
+ * Teams survive restarts: the files found on startup are the store, and the data loader does not seed over them.
+ * Only each team's version is kept on the heap; reads go to the file (in practice the OS page cache).
+ * The epoch is kept in {@code <directory>/epoch}, so versions issued before a restart stay valid after it.
+ */
+@Component
+@ConditionalOnProperty(name = "depthchart.storage.backend", havingValue = "disk")
+@Slf4j
+public class DiskDepthChartRepository implements DepthChartRepository {
+
+    private static final String SUFFIX = ".chart";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final String EPOCH_FILE = "epoch";
+
+    private final Path directory;
+    private String epoch;
+
+    // stored version per team; its compute is also the per-team lock for file writes
+    private final Map<TeamKey, Long> versions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DiskDepthChartRepository(StorageProperties props) {
+        this(requireDirectory(props));
+    }
+
+    public DiskDepthChartRepository(Path directory) {
+        this.directory = directory;
+        open();
+    }
+
+    @Override
+    public TeamDepthChart get(TeamKey team) {
+        if (!versions.containsKey(team)) {
+            return null;
+        }
+        try {
+            return read(team);
+        } catch (NoSuchFileException ex) {
+            // removed since the version check
+            return null;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read " + file(team), ex);
+        }
+    }
+
+    @Override
+    public List<Player> getPosition(TeamKey team, String position) {
+        if (!versions.containsKey(team)) {
+            return null;
+        }
+        try {
+            return TeamChartCodec.decodePosition(ByteBuffer.wrap(Files.readAllBytes(file(team))), position);
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read " + file(team), ex);
+        }
+    }
+
+    @Override
+    public long version(TeamKey team) {
+        Long version = versions.get(team);
+        return version == null ? -1 : version;
+    }
+
+    @Override
+    public TeamDepthChart compute(TeamKey team, BiFunction<TeamKey, TeamDepthChart, TeamDepthChart> remapping,
+                                  BiConsumer<TeamKey, TeamDepthChart> onStored) {
+        TeamDepthChart[] result = new TeamDepthChart[1];
+        versions.compute(team, (k, version) -> {
+            TeamDepthChart stored = version == null ? null : readOrThrow(k);
+            TeamDepthChart next = remapping.apply(k, stored);
+            result[0] = next;
+            if (next == stored) {
+                return version;
+            }
+            if (next == null) {
+                delete(k);
+                return null;
+            }
+            // a failed write throws from here, before onStored and with the old file and version in place
+            write(k, next);
+            onStored.accept(k, next);
+            return next.version();
+        });
+        return result[0];
+    }
+
+    @Override
+    public TeamDepthChart computeIfAbsent(TeamKey team, Function<TeamKey, TeamDepthChart> loader) {
+        TeamDepthChart[] loaded = new TeamDepthChart[1];
+        versions.computeIfAbsent(team, k -> {
+            loaded[0] = loader.apply(k);
+            if (loaded[0] == null) {
+                return null;
+            }
+            write(k, loaded[0]);
+            return loaded[0].version();
+        });
+        return loaded[0] != null ? loaded[0] : get(team);
+    }
+
+    @Override
+    public boolean remove(TeamKey team, long version) {
+        boolean[] removed = new boolean[1];
+        versions.computeIfPresent(team, (k, stored) -> {
+            removed[0] = stored == version;
+            if (!removed[0]) {
+                return stored;
+            }
+            delete(k);
+            return null;
+        });
+        return removed[0];
+    }
+
+    @Override
+    public boolean contains(TeamKey team) {
+        return versions.containsKey(team);
+    }
+
+    @Override
+    public Set<TeamKey> keys() {
+        return versions.keySet();
+    }
+
+    @Override
+    public int size() {
+        return versions.size();
+    }
+
+    @Override
+    public String epoch() {
+        return epoch;
+    }
+
+    // a default under a temp directory would be cleaned away by the OS, and the store with it
+    private static Path requireDirectory(StorageProperties props) {
+        String directory = props.getDirectory();
+        if (directory == null || directory.isBlank()) {
+            throw new IllegalStateException(
+                    "depthchart.storage.directory is required with depthchart.storage.backend=disk");
+        }
+        return Path.of(directory);
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.find(directory, 2, (path, attrs) -> attrs.isRegularFile())) {
+                files.forEach(this::recover);
+            }
+            epoch = openEpoch();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to open depth chart store " + directory, ex);
+        }
+        log.info("Opened depth chart store {}: {} teams, epoch {}", directory, versions.size(), epoch);
+    }
+
+    private String openEpoch() throws IOException {
+        Path file = directory.resolve(EPOCH_FILE);
+        if (Files.isRegularFile(file)) {
+            String stored = Files.readString(file, StandardCharsets.UTF_8).trim();
+            if (!stored.isEmpty()) {
+                return stored;
+            }
+        }
+        String created = DepthChartRepository.newEpoch();
+        Path tmp = file.resolveSibling(EPOCH_FILE + TMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.wrap(created.getBytes(StandardCharsets.UTF_8));
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            channel.force(false);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return created;
+    }
+
+    private void recover(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            if (name.endsWith(TMP_SUFFIX)) {
+                // a write that did not get moved into place
+                Files.delete(file);
+                return;
+            }
+            if (!name.endsWith(SUFFIX) || file.getParent().equals(directory)) {
+                return;
+            }
+            TeamKey team = new TeamKey(
+                    file.getParent().getFileName().toString().toUpperCase(Locale.ROOT),
+                    name.substring(0, name.length() - SUFFIX.length()).toUpperCase(Locale.ROOT));
+            versions.put(team, TeamChartCodec.version(ByteBuffer.wrap(Files.readAllBytes(file))));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to recover " + file, ex);
+        }
+    }
+
+    private TeamDepthChart read(TeamKey team) throws IOException {
+        return TeamChartCodec.decode(ByteBuffer.wrap(Files.readAllBytes(file(team))));
+    }
+
+    private TeamDepthChart readOrThrow(TeamKey team) {
+        try {
+            return read(team);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read " + file(team), ex);
+        }
+    }
+
+    private void write(TeamKey team, TeamDepthChart chart) {
+        Path file = file(team);
+        Path tmp = file.resolveSibling(file.getFileName() + TMP_SUFFIX);
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buf = ByteBuffer.wrap(TeamChartCodec.encode(chart));
+                while (buf.hasRemaining()) {
+                    channel.write(buf);
+                }
+                channel.force(false);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write " + file, ex);
+        }
+    }
+
+    private void delete(TeamKey team) {
+        try {
+            Files.deleteIfExists(file(team));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to delete " + file(team), ex);
+        }
+    }
+
+    private Path file(TeamKey team) {
+        return directory.resolve(team.league().toLowerCase(Locale.ROOT))
+                .resolve(team.team().toLowerCase(Locale.ROOT) + SUFFIX);
+    }
+}
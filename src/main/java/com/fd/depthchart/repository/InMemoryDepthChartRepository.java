@@ -0,0 +1,77 @@
+package com.fd.depthchart.repository;
+
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.TeamKey;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Charts as objects on the heap: the fastest reads, and the default.
+ */
+@Component
+@ConditionalOnProperty(name = "depthchart.storage.backend", havingValue = "heap", matchIfMissing = true)
+public class InMemoryDepthChartRepository implements DepthChartRepository {
+
+    private final String epoch = DepthChartRepository.newEpoch();
+    private final Map<TeamKey, TeamDepthChart> teams = new ConcurrentHashMap<>();
+
+    @Override
+    public TeamDepthChart get(TeamKey team) {
+        return teams.get(team);
+    }
+
+    @Override
+    public TeamDepthChart compute(TeamKey team, BiFunction<TeamKey, TeamDepthChart, TeamDepthChart> remapping,
+                                  BiConsumer<TeamKey, TeamDepthChart> onStored) {
+        return teams.compute(team, (k, stored) -> {
+            TeamDepthChart next = remapping.apply(k, stored);
+            if (next != null && next != stored) {
+                // keeping a reference cannot fail, the map holds next as soon as this returns
+                onStored.accept(k, next);
+            }
+            return next;
+        });
+    }
+
+    @Override
+    public TeamDepthChart computeIfAbsent(TeamKey team, Function<TeamKey, TeamDepthChart> loader) {
+        return teams.computeIfAbsent(team, loader);
+    }
+
+    @Override
+    public boolean remove(TeamKey team, long version) {
+        boolean[] removed = new boolean[1];
+        teams.computeIfPresent(team, (k, chart) -> {
+            removed[0] = chart.version() == version;
+            return removed[0] ? null : chart;
+        });
+        return removed[0];
+    }
+
+    @Override
+    public boolean contains(TeamKey team) {
+        return teams.containsKey(team);
+    }
+
+    @Override
+    public Set<TeamKey> keys() {
+        return teams.keySet();
+    }
+
+    @Override
+    public int size() {
+        return teams.size();
+    }
+
+    @Override
+    public String epoch() {
+        return epoch;
+    }
+}
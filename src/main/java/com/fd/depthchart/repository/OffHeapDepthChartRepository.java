@@ -0,0 +1,143 @@
+package com.fd.depthchart.repository;
+
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.TeamKey;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Each team's chart encoded ({@link TeamChartCodec}) in its own direct buffer, so a big catalog adds
+ * a few small objects per team to the heap instead of every player and list. Reads decode a fresh chart,
+ * or only the requested position for single-position reads, which costs more than the heap backend; hot
+ * teams are served from the service's read replicas anyway.
+ * A buffer is never changed after it is filled: a write stores a new one and the old memory is released
+ * once its buffer object is collected. Size {@code -XX:MaxDirectMemorySize} for the catalog.
+ */
+@Component
+@ConditionalOnProperty(name = "depthchart.storage.backend", havingValue = "off-heap")
+public class OffHeapDepthChartRepository implements DepthChartRepository {
+
+    private final String epoch = DepthChartRepository.newEpoch();
+    private final Map<TeamKey, ByteBuffer> teams = new ConcurrentHashMap<>();
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    @Override
+    public TeamDepthChart get(TeamKey team) {
+        ByteBuffer buf = teams.get(team);
+        return buf == null ? null : TeamChartCodec.decode(buf.duplicate());
+    }
+
+    @Override
+    public List<Player> getPosition(TeamKey team, String position) {
+        ByteBuffer buf = teams.get(team);
+        return buf == null ? null : TeamChartCodec.decodePosition(buf.duplicate(), position);
+    }
+
+    @Override
+    public long version(TeamKey team) {
+        ByteBuffer buf = teams.get(team);
+        return buf == null ? -1 : TeamChartCodec.version(buf);
+    }
+
+    @Override
+    public TeamDepthChart compute(TeamKey team, BiFunction<TeamKey, TeamDepthChart, TeamDepthChart> remapping,
+                                  BiConsumer<TeamKey, TeamDepthChart> onStored) {
+        TeamDepthChart[] result = new TeamDepthChart[1];
+        teams.compute(team, (k, buf) -> {
+            TeamDepthChart stored = buf == null ? null : TeamChartCodec.decode(buf.duplicate());
+            TeamDepthChart next = remapping.apply(k, stored);
+            result[0] = next;
+            if (next == stored) {
+                return buf;
+            }
+            if (next == null) {
+                release(buf);
+                return null;
+            }
+            // allocated before the old buffer is let go, so a failed allocation keeps it
+            ByteBuffer nextBuf = store(next);
+            release(buf);
+            onStored.accept(k, next);
+            return nextBuf;
+        });
+        return result[0];
+    }
+
+    @Override
+    public TeamDepthChart computeIfAbsent(TeamKey team, Function<TeamKey, TeamDepthChart> loader) {
+        TeamDepthChart[] loaded = new TeamDepthChart[1];
+        ByteBuffer buf = teams.computeIfAbsent(team, k -> {
+            loaded[0] = loader.apply(k);
+            return loaded[0] == null ? null : store(loaded[0]);
+        });
+        if (loaded[0] != null) {
+            return loaded[0];
+        }
+        return buf == null ? null : TeamChartCodec.decode(buf.duplicate());
+    }
+
+    @Override
+    public boolean remove(TeamKey team, long version) {
+        boolean[] removed = new boolean[1];
+        teams.computeIfPresent(team, (k, buf) -> {
+            removed[0] = TeamChartCodec.version(buf) == version;
+            if (!removed[0]) {
+                return buf;
+            }
+            release(buf);
+            return null;
+        });
+        return removed[0];
+    }
+
+    @Override
+    public boolean contains(TeamKey team) {
+        return teams.containsKey(team);
+    }
+
+    @Override
+    public Set<TeamKey> keys() {
+        return teams.keySet();
+    }
+
+    @Override
+    public int size() {
+        return teams.size();
+    }
+
+    /**
+     * Direct memory held by the stored charts.
+     */
+    public long storedBytes() {
+        return storedBytes.get();
+    }
+
+    private ByteBuffer store(TeamDepthChart chart) {
+        byte[] bytes = TeamChartCodec.encode(chart);
+        ByteBuffer buf = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        storedBytes.addAndGet(bytes.length);
+        return buf;
+    }
+
+    private void release(ByteBuffer buf) {
+        if (buf != null) {
+            storedBytes.addAndGet(-buf.capacity());
+        }
+    }
+
+    @Override
+    public String epoch() {
+        return epoch;
+    }
+}
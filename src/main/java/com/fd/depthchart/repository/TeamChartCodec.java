@@ -0,0 +1,148 @@
+package com.fd.depthchart.repository;
+
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.TeamDepthChart;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary form of one team's chart, shared by the off-heap and disk backends. Big-endian:
+ *
+ * <pre>
+ * version (long), positionCount (int),
+ * positionCount x (position string, offset (int) of its depth list from the start of the chart),
+ * positionCount x depth list
+ * depth list = playerCount (int), playerCount x (number (int), name string)
+ * string = byteLength (int), UTF-8 bytes
+ * </pre>
+ *
+ * The position table up front lets a single position be decoded without the rest of the team.
+ */
+final class TeamChartCodec {
+
+    private TeamChartCodec() {
+    }
+
+    static byte[] encode(TeamDepthChart chart) {
+        Map<String, List<Player>> positions = chart.positions();
+        int size = Long.BYTES + Integer.BYTES;
+        byte[][] strings = new byte[countStrings(positions)][];
+        int s = 0;
+        for (Map.Entry<String, List<Player>> entry : positions.entrySet()) {
+            strings[s] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            size += Integer.BYTES + strings[s++].length + Integer.BYTES + Integer.BYTES;
+            for (Player player : entry.getValue()) {
+                strings[s] = player.name().getBytes(StandardCharsets.UTF_8);
+                size += Integer.BYTES + Integer.BYTES + strings[s++].length;
+            }
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        buf.putLong(chart.version());
+        buf.putInt(positions.size());
+        int[] offsets = new int[positions.size()];
+        int p = 0;
+        s = 0;
+        for (List<Player> players : positions.values()) {
+            putString(buf, strings[s]);
+            offsets[p++] = buf.position();
+            buf.putInt(0); // filled in below
+            s += 1 + players.size();
+        }
+        p = 0;
+        s = 0;
+        for (List<Player> players : positions.values()) {
+            buf.putInt(offsets[p++], buf.position());
+            buf.putInt(players.size());
+            s++;
+            for (Player player : players) {
+                buf.putInt(player.number());
+                putString(buf, strings[s++]);
+            }
+        }
+        return buf.array();
+    }
+
+    /**
+     * Reads a chart from the buffer's position on; the buffer's position is advanced past it.
+     */
+    static TeamDepthChart decode(ByteBuffer buf) {
+        long version = buf.getLong();
+        String[] names = new String[buf.getInt()];
+        for (int p = 0; p < names.length; p++) {
+            names[p] = getString(buf);
+            buf.getInt(); // the lists follow in table order
+        }
+        Map<String, List<Player>> positions = new LinkedHashMap<>(names.length * 2);
+        for (String name : names) {
+            positions.put(name, getPlayers(buf));
+        }
+        return new TeamDepthChart(version, Collections.unmodifiableMap(positions));
+    }
+
+    /**
+     * Reads one position's depth list from the chart at the buffer's position, empty if the team does not
+     * list the position. Only the position table and that list are read; the buffer's position is left as is.
+     */
+    static List<Player> decodePosition(ByteBuffer buf, String position) {
+        int start = buf.position();
+        byte[] wanted = position.getBytes(StandardCharsets.UTF_8);
+        int at = start + Long.BYTES + Integer.BYTES;
+        int positionCount = buf.getInt(start + Long.BYTES);
+        for (int p = 0; p < positionCount; p++) {
+            int length = buf.getInt(at);
+            at += Integer.BYTES;
+            if (length == wanted.length && matches(buf, at, wanted)) {
+                return getPlayers(buf.duplicate().position(start + buf.getInt(at + length)));
+            }
+            at += length + Integer.BYTES;
+        }
+        return List.of();
+    }
+
+    static long version(ByteBuffer buf) {
+        return buf.getLong(buf.position());
+    }
+
+    private static int countStrings(Map<String, List<Player>> positions) {
+        int count = positions.size();
+        for (List<Player> players : positions.values()) {
+            count += players.size();
+        }
+        return count;
+    }
+
+    private static List<Player> getPlayers(ByteBuffer buf) {
+        Player[] players = new Player[buf.getInt()];
+        for (int i = 0; i < players.length; i++) {
+            int number = buf.getInt();
+            players[i] = new Player(number, getString(buf));
+        }
+        return List.of(players);
+    }
+
+    private static boolean matches(ByteBuffer buf, int at, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (buf.get(at + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void putString(ByteBuffer buf, byte[] bytes) {
+        buf.putInt(bytes.length);
+        buf.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.getInt()];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
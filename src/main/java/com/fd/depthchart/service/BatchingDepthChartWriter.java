@@ -0,0 +1,159 @@
+package com.fd.depthchart.service;
+
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.TeamKey;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Single-writer event loop. Producers append to a lock-free queue and get a future back;
+ * the writer thread drains up to {@code maxBatchSize} writes, groups them by team and hands each
+ * team's writes, in queue order, to {@link TeamBatch}, which folds them into one new version
+ * (never losing a compare-and-set to another writer). Then it completes the futures.
+ */
+@Slf4j
+class BatchingDepthChartWriter {
+
+    /**
+     * Applies one team's drained writes, leaving each one's result or failure on it.
+     */
+    @FunctionalInterface
+    interface TeamBatch {
+        void commit(TeamKey team, List<PendingWrite<?>> writes);
+    }
+
+    private final ConcurrentLinkedQueue<PendingWrite<?>> queue = new ConcurrentLinkedQueue<>();
+    private final int maxBatchSize;
+    private final TeamBatch teamBatch;
+    private final Thread writerThread;
+
+    private volatile boolean running = true;
+
+    BatchingDepthChartWriter(int maxBatchSize, TeamBatch teamBatch) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be > 0");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.teamBatch = teamBatch;
+        this.writerThread = new Thread(this::runLoop, "depth-chart-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    <T> CompletableFuture<T> submit(TeamKey team, Long expectedVersion,
+                                    Function<TeamDepthChart, DepthChartServiceImpl.Outcome<T>> mutation) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("depth chart writer is shut down"));
+        }
+        PendingWrite<T> write = new PendingWrite<>(team, expectedVersion, mutation);
+        queue.offer(write);
+        LockSupport.unpark(writerThread);
+        return write.result;
+    }
+
+    /**
+     * Stops accepting writes, drains what is already queued and waits for the writer thread.
+     */
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runLoop() {
+        List<PendingWrite<?>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            PendingWrite<?> next;
+            while (batch.size() < maxBatchSize && (next = queue.poll()) != null) {
+                batch.add(next);
+            }
+
+            if (batch.isEmpty()) {
+                // submit and shutdown unpark; a permit granted before this point makes park return at once
+                LockSupport.park(this);
+                continue;
+            }
+
+            Map<TeamKey, List<PendingWrite<?>>> byTeam = new LinkedHashMap<>();
+            for (PendingWrite<?> write : batch) {
+                byTeam.computeIfAbsent(write.team, k -> new ArrayList<>()).add(write);
+            }
+            byTeam.forEach((team, writes) -> {
+                try {
+                    teamBatch.commit(team, writes);
+                } catch (Throwable t) {
+                    // e.g. the store failed to write; nothing of this team's batch was published
+                    writes.forEach(write -> write.fail(t));
+                }
+            });
+            for (PendingWrite<?> write : batch) {
+                write.complete();
+            }
+            batch.clear();
+        }
+
+        // a producer can still slip in between the last drain and the loop exit
+        PendingWrite<?> late;
+        while ((late = queue.poll()) != null) {
+            late.result.completeExceptionally(new IllegalStateException("depth chart writer is shut down"));
+        }
+        log.info("Depth chart writer stopped");
+    }
+
+    static final class PendingWrite<T> {
+        private final TeamKey team;
+        private final Long expectedVersion;
+        private final Function<TeamDepthChart, DepthChartServiceImpl.Outcome<T>> mutation;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+        private Throwable error;
+
+        private PendingWrite(TeamKey team, Long expectedVersion,
+                             Function<TeamDepthChart, DepthChartServiceImpl.Outcome<T>> mutation) {
+            this.team = team;
+            this.expectedVersion = expectedVersion;
+            this.mutation = mutation;
+        }
+
+        Long expectedVersion() {
+            return expectedVersion;
+        }
+
+        /**
+         * Runs the write on {@code current} and keeps its result, replacing any earlier attempt's.
+         *
+         * @return the changed chart, or null if the write left {@code current} as is
+         */
+        TeamDepthChart apply(TeamDepthChart current) {
+            DepthChartServiceImpl.Outcome<T> outcome = mutation.apply(current);
+            value = outcome.result();
+            error = null;
+            return outcome.next();
+        }
+
+        void fail(Throwable error) {
+            this.error = error;
+        }
+
+        private void complete() {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.fd.depthchart.service;
+
+/**
+ * Approximate access counts in fixed memory: each key bumps one counter per row and its estimate is the
+ * smallest of them, so collisions can only over-count. Counters are plain ints updated without
+ * synchronization; a lost increment under a race makes an estimate slightly low, which sampling does
+ * anyway, and keeps the sketch off the atomic path.
+ */
+final class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final int[][] rows = new int[SEEDS.length][];
+    private final int mask;
+
+    CountMinSketch(int width) {
+        int size = Integer.highestOneBit(Math.max(16, width - 1) << 1);
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new int[size];
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Counts one access and returns the new estimate.
+     */
+    int increment(Object key) {
+        int hash = key.hashCode();
+        int estimate = Integer.MAX_VALUE;
+        for (int i = 0; i < rows.length; i++) {
+            int slot = index(hash, i);
+            int count = rows[i][slot];
+            if (count < Integer.MAX_VALUE) {
+                rows[i][slot] = ++count;
+            }
+            estimate = Math.min(estimate, count);
+        }
+        return estimate;
+    }
+
+    int estimate(Object key) {
+        int hash = key.hashCode();
+        int estimate = Integer.MAX_VALUE;
+        for (int i = 0; i < rows.length; i++) {
+            estimate = Math.min(estimate, rows[i][index(hash, i)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Ages every count, so estimates follow the recent rate rather than the all-time total.
+     */
+    void halve() {
+        for (int[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>>= 1;
+            }
+        }
+    }
+
+    private int index(int hash, int row) {
+        long h = (hash + SEEDS[row]) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,74 @@
+package com.fd.depthchart.service;
+
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.TeamKey;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded in-memory log of depth chart changes, kept per team.
+ * Each entry records the version it produced and the position list as it was before the change,
+ * which is enough to rebuild the state of any retained version for a diff.
+ */
+public class DepthChartChangeLog {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final int capacityPerTeam;
+    private final Map<TeamKey, Deque<Change>> changes = new HashMap<>();
+
+    public DepthChartChangeLog(int capacityPerTeam) {
+        if (capacityPerTeam <= 0) {
+            throw new IllegalArgumentException("change log capacity must be > 0");
+        }
+        this.capacityPerTeam = capacityPerTeam;
+    }
+
+    public synchronized void record(TeamKey team, long version, String position, List<Player> before) {
+        Deque<Change> log = changes.computeIfAbsent(team, k -> new ArrayDeque<>());
+        log.addLast(new Change(version, position, before));
+        if (log.size() > capacityPerTeam) {
+            log.removeFirst();
+        }
+    }
+
+    /**
+     * Changes after {@code sinceVersion} up to and including {@code currentVersion}, oldest first.
+     * Returns null if some of those changes were already evicted, or if the current version is not logged yet.
+     */
+    public synchronized List<Change> changesSince(TeamKey team, long sinceVersion, long currentVersion) {
+        if (sinceVersion == currentVersion) {
+            return List.of();
+        }
+        if (sinceVersion > currentVersion) {
+            return null;
+        }
+
+        Deque<Change> log = changes.get(team);
+        if (log == null || log.isEmpty() || log.peekFirst().version() > sinceVersion + 1) {
+            return null;
+        }
+
+        List<Change> result = new ArrayList<>();
+        for (Change change : log) {
+            if (change.version() > sinceVersion && change.version() <= currentVersion) {
+                result.add(change);
+            }
+        }
+        if (result.isEmpty() || result.get(result.size() - 1).version() != currentVersion) {
+            return null;
+        }
+        return result;
+    }
+
+    public synchronized void clear(TeamKey team) {
+        changes.remove(team);
+    }
+
+    public record Change(long version, String position, List<Player> before) {}
+}
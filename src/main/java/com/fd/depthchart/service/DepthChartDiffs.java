@@ -0,0 +1,119 @@
+package com.fd.depthchart.service;
+
+import com.fd.depthchart.model.DepthChartDiff;
+import com.fd.depthchart.model.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds minimal per-position diffs from the change log.
+ */
+final class DepthChartDiffs {
+
+    private DepthChartDiffs() {
+    }
+
+    /**
+     * @param changes changes after the client's version, oldest first
+     * @param current current chart, position -> players
+     */
+    static Map<String, DepthChartDiff.PositionDiff> diff(List<DepthChartChangeLog.Change> changes,
+                                                         Map<String, List<Player>> current) {
+        // the "before" of the first change to a position is its state at the client's version
+        Map<String, List<Player>> previous = new LinkedHashMap<>();
+        for (DepthChartChangeLog.Change change : changes) {
+            previous.putIfAbsent(change.position(), change.before());
+        }
+
+        Map<String, DepthChartDiff.PositionDiff> result = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Player>> entry : previous.entrySet()) {
+            List<Player> now = current.getOrDefault(entry.getKey(), List.of());
+            DepthChartDiff.PositionDiff positionDiff = diffPosition(entry.getValue(), now);
+            if (!positionDiff.added().isEmpty()
+                    || !positionDiff.removed().isEmpty()
+                    || !positionDiff.reordered().isEmpty()) {
+                result.put(entry.getKey(), positionDiff);
+            }
+        }
+        return result;
+    }
+
+    static DepthChartDiff.PositionDiff diffPosition(List<Player> before, List<Player> after) {
+        Map<Player, Integer> beforeIndex = new HashMap<>();
+        for (int i = 0; i < before.size(); i++) {
+            beforeIndex.put(before.get(i), i);
+        }
+        Set<Player> afterSet = new HashSet<>(after);
+
+        List<DepthChartDiff.DepthEntry> added = new ArrayList<>();
+        List<DepthChartDiff.DepthEntry> removed = new ArrayList<>();
+        List<DepthChartDiff.DepthEntry> reordered = new ArrayList<>();
+
+        for (int i = 0; i < before.size(); i++) {
+            if (!afterSet.contains(before.get(i))) {
+                removed.add(new DepthChartDiff.DepthEntry(before.get(i), i, null));
+            }
+        }
+
+        // players present on both sides, in their new order, with their old index
+        List<Integer> keptAfterIndex = new ArrayList<>();
+        List<Integer> keptBeforeIndex = new ArrayList<>();
+        for (int i = 0; i < after.size(); i++) {
+            Integer old = beforeIndex.get(after.get(i));
+            if (old == null) {
+                added.add(new DepthChartDiff.DepthEntry(after.get(i), null, i));
+            } else {
+                keptAfterIndex.add(i);
+                keptBeforeIndex.add(old);
+            }
+        }
+
+        // players on the longest run that kept its relative order did not move; everyone else did
+        boolean[] stayed = longestIncreasingSubsequence(keptBeforeIndex);
+        for (int k = 0; k < keptAfterIndex.size(); k++) {
+            if (!stayed[k]) {
+                int newIndex = keptAfterIndex.get(k);
+                reordered.add(new DepthChartDiff.DepthEntry(after.get(newIndex), keptBeforeIndex.get(k), newIndex));
+            }
+        }
+
+        return new DepthChartDiff.PositionDiff(added, removed, reordered);
+    }
+
+    private static boolean[] longestIncreasingSubsequence(List<Integer> values) {
+        int n = values.size();
+        int[] tails = new int[n];
+        int[] previous = new int[n];
+        int length = 0;
+
+        for (int i = 0; i < n; i++) {
+            int lo = 0;
+            int hi = length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values.get(tails[mid]) < values.get(i)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            previous[i] = lo > 0 ? tails[lo - 1] : -1;
+            tails[lo] = i;
+            if (lo == length) {
+                length++;
+            }
+        }
+
+        boolean[] inSequence = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            inSequence[i] = true;
+        }
+        return inSequence;
+    }
+}
@@ -1,10 +1,21 @@
 package com.fd.depthchart.service;
 
+import com.fd.depthchart.model.DepthChartDTO;
+import com.fd.depthchart.model.DepthChartDiff;
 import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.LeagueDepthEntry;
+import com.fd.depthchart.model.LineupSimulation;
 import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.PlayerSearchHit;
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.Validated;
+import com.fd.depthchart.model.VersionTag;
+import com.fd.depthchart.snapshot.MappedDepthChartSnapshot;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public interface DepthChartService {
 
@@ -12,7 +23,112 @@ public interface DepthChartService {
 
     List<Player> removePlayerFromDepthChart(DepthChartKey key, Player player);
 
+    /**
+     * Conditional variants: when {@code expectedVersion} is not null the write only commits if the team
+     * is still at that version, otherwise it fails with {@link com.fd.depthchart.exception.VersionConflictException}.
+     */
+    void addPlayerToDepthChart(DepthChartKey key, Player player, Integer positionDepth, Long expectedVersion);
+
+    List<Player> removePlayerFromDepthChart(DepthChartKey key, Player player, Long expectedVersion);
+
+    /**
+     * Moves a player already listed at the position to {@code toDepth} (past the end means last),
+     * shifting the players in between by one. Returns the position's new order.
+     */
+    List<Player> movePlayer(DepthChartKey key, Player player, int toDepth, Long expectedVersion);
+
+    /**
+     * Exchanges the depth slots of two players listed at the same position. Returns the position's new order.
+     */
+    List<Player> swapPlayers(DepthChartKey key, Player first, Player second, Long expectedVersion);
+
+    /**
+     * Reorders a position; {@code order} must list exactly the players currently at it. Returns the new order.
+     */
+    List<Player> replaceDepthOrder(DepthChartKey key, List<Player> order, Long expectedVersion);
+
+    /**
+     * Non-blocking variant; validation errors are thrown immediately, the write completes the future.
+     */
+    CompletableFuture<Void> addPlayerToDepthChartAsync(DepthChartKey key, Player player, Integer positionDepth);
+
+    CompletableFuture<List<Player>> removePlayerFromDepthChartAsync(DepthChartKey key, Player player);
+
     List<Player> getBackups(DepthChartKey key, Player player);
 
+    /**
+     * Like {@link #getBackups}, but an unknown league, team or position comes back as a rejection rather than
+     * being thrown, so the hot read path can answer it without an exception.
+     */
+    Validated<List<Player>> lookupBackups(DepthChartKey key, Player player);
+
     Map<String, List<Player>> getFullDepthChart(String league, String team);
+
+    /**
+     * Like {@link #getFullDepthChart}, together with the version the chart was read at, from one read.
+     */
+    TeamDepthChart getTeamDepthChart(String league, String team);
+
+    long getDepthChartVersion(String league, String team);
+
+    /**
+     * Like {@link #getDepthChartVersion}, with an unknown league or team returned as a rejection.
+     */
+    Validated<Long> lookupDepthChartVersion(String league, String team);
+
+    /**
+     * Epoch of the store's versions; a version is only meaningful together with it (see {@link VersionTag}).
+     */
+    String getEpoch();
+
+    DepthChartDiff getDepthChartDiff(String league, String team, VersionTag since);
+
+    /**
+     * Players at depth minDepth..maxDepth (inclusive, null for no upper bound) for every team in the league,
+     * limited to the given positions or all league positions when empty. Arguments are validated up front;
+     * the stream itself is lazy and reads each team when it gets there, so the rows of one team are
+     * consistent with each other but different teams may be read at different versions.
+     */
+    Stream<LeagueDepthEntry> queryLeague(String league, List<String> positions, int minDepth, Integer maxDepth);
+
+    /**
+     * Players whose name or number matches the query, across all leagues or only {@code league} when given.
+     * Every query term has to match a name token or the number: exactly, as a prefix, or from four letters
+     * on with one typo. Best matches first, at most {@code limit} (1..100).
+     */
+    List<PlayerSearchHit> searchPlayers(String query, String league, int limit);
+
+    /**
+     * What-if for players ruled out (team code -> players): each team's effective starters and backups at
+     * every position, computed in parallel on the current charts without changing them. A hole goes to the
+     * first available player at the position who has not moved yet; a starter pulled over from another position
+     * opens a hole there, filled the same way, so the cascade runs as many levels as the chart leads it.
+     */
+    LineupSimulation simulateUnavailable(String league, Map<String, List<Player>> unavailable);
+
+    /**
+     * Every team in the store with its current version, ordered by league and team.
+     * Teams are read as the stream reaches them; spilled teams are not pulled back onto the heap.
+     */
+    Stream<DepthChartDTO> exportTeams();
+
+    /**
+     * Replaces a team's whole chart in a single write, producing one new version: the DTO's version when it
+     * has one, which must then be newer than the team's current version, else the next one.
+     * League, team, version, every position and every player are validated up front; if anything is invalid
+     * an IllegalArgumentException is thrown and the team is left unchanged.
+     *
+     * @return number of players imported
+     */
+    int importTeam(DepthChartDTO team);
+
+    /**
+     * Serves keys that are not on the heap from the snapshot; the first write to a key copies it onto the heap.
+     */
+    void attachSnapshot(MappedDepthChartSnapshot snapshot);
+
+    /**
+     * Point-in-time copy of every depth chart in the store.
+     */
+    Map<DepthChartKey, List<Player>> copyOfDepthCharts();
 }
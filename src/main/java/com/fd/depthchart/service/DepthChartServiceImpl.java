@@ -1,23 +1,159 @@
 package com.fd.depthchart.service;
 
+import com.fd.depthchart.diagnostics.DepthChartCommitEvent;
+import com.fd.depthchart.diagnostics.DepthChartOperationEvent;
+import com.fd.depthchart.exception.InvalidDepthChartRequestException;
+import com.fd.depthchart.exception.VersionConflictException;
+import com.fd.depthchart.model.DepthChartDTO;
+import com.fd.depthchart.model.DepthChartDiff;
 import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.LeagueDepthEntry;
+import com.fd.depthchart.model.LineupSimulation;
 import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.PlayerSearchHit;
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.TeamKey;
+import com.fd.depthchart.model.Validated;
+import com.fd.depthchart.model.ValidationResult;
+import com.fd.depthchart.model.VersionTag;
+import com.fd.depthchart.repository.DepthChartRepository;
+import com.fd.depthchart.repository.InMemoryDepthChartRepository;
+import com.fd.depthchart.snapshot.MappedDepthChartSnapshot;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+/**
+ * Each team's chart is an immutable {@link TeamDepthChart}; writers publish a new version
+ * and readers never take a lock. Writes commit optimistically with a compare-and-set on the team,
+ * so writers to different teams never wait on each other; in {@link DepthChartWriteMode#BATCHED}
+ * mode they are applied by a single writer thread instead. Published charts are kept by a
+ * {@link DepthChartRepository}, which only stores them; the rules and indexes stay here.
+ */
 @Service
 public class DepthChartServiceImpl implements DepthChartService {
 
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    // a what-if over fewer teams is cheaper to simulate inline than to hand off
+    private static final int PARALLEL_SIMULATION_MIN_TEAMS = 8;
+    // a read racing repeated spills of its team gives up reloading after this many files
+    private static final int MAX_RELOAD_ATTEMPTS = 8;
+    private static final int SIMULATION_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private static final int SIMULATION_QUEUE = 256;
+
     private final LeagueMetadataService leagueMetadataService;
 
-    private final Map<DepthChartKey, List<Player>> depthChart = new LinkedHashMap<>();
+    private final DepthChartRepository teams;
+
+    // Read-only base layer for teams that have not been written since the snapshot was attached
+    private volatile MappedDepthChartSnapshot snapshot;
+
+    private final DepthChartChangeLog changeLog;
+
+    private final LeaguePositionIndex positionIndex = new LeaguePositionIndex();
+
+    private final PlayerSearchIndex playerSearch = new PlayerSearchIndex();
+
+    // teams that predate this run's writes (persisted backend, snapshot) are indexed on the first query
+    // that needs them instead of at startup; writes keep both indexes current either way
+    private final Object indexFillLock = new Object();
+    private volatile boolean positionIndexFilled;
+    private volatile boolean searchIndexFilled;
+
+    private final Object evictionLock = new Object();
+    private final BatchingDepthChartWriter batchingWriter;
+
+    private final TeamCache teamCache;
+
+    private final HotKeyTracker hotKeys;
+
+    // not the common pool, which request threads and parallel streams elsewhere in the process share
+    private final ThreadPoolExecutor simulationPool;
 
     public DepthChartServiceImpl(LeagueMetadataService leagueMetadataService) {
+        this(leagueMetadataService, DepthChartChangeLog.DEFAULT_CAPACITY);
+    }
+
+    public DepthChartServiceImpl(LeagueMetadataService leagueMetadataService, int changeLogCapacity) {
+        this(leagueMetadataService, changeLogCapacity, DepthChartWriteMode.OPTIMISTIC, 1);
+    }
+
+    public DepthChartServiceImpl(LeagueMetadataService leagueMetadataService,
+                                 int changeLogCapacity,
+                                 DepthChartWriteMode writeMode,
+                                 int maxBatchSize) {
+        this(leagueMetadataService, changeLogCapacity, writeMode, maxBatchSize, TeamCache.disabled());
+    }
+
+    public DepthChartServiceImpl(LeagueMetadataService leagueMetadataService,
+                                 int changeLogCapacity,
+                                 DepthChartWriteMode writeMode,
+                                 int maxBatchSize,
+                                 TeamCache teamCache) {
+        this(leagueMetadataService, changeLogCapacity, writeMode, maxBatchSize, teamCache, HotKeyTracker.disabled());
+    }
+
+    public DepthChartServiceImpl(LeagueMetadataService leagueMetadataService,
+                                 int changeLogCapacity,
+                                 DepthChartWriteMode writeMode,
+                                 int maxBatchSize,
+                                 TeamCache teamCache,
+                                 HotKeyTracker hotKeys) {
+        this(leagueMetadataService, changeLogCapacity, writeMode, maxBatchSize, teamCache, hotKeys,
+                new InMemoryDepthChartRepository());
+    }
+
+    @Autowired
+    public DepthChartServiceImpl(LeagueMetadataService leagueMetadataService,
+                                 @Value("${depthchart.change-log.capacity-per-team:256}") int changeLogCapacity,
+                                 @Value("${depthchart.write.mode:OPTIMISTIC}") DepthChartWriteMode writeMode,
+                                 @Value("${depthchart.write.max-batch-size:256}") int maxBatchSize,
+                                 TeamCache teamCache,
+                                 HotKeyTracker hotKeys,
+                                 DepthChartRepository repository) {
         this.leagueMetadataService = leagueMetadataService;
+        this.teams = repository;
+        this.changeLog = new DepthChartChangeLog(changeLogCapacity);
+        this.batchingWriter = writeMode == DepthChartWriteMode.BATCHED
+                ? new BatchingDepthChartWriter(maxBatchSize, this::commitBatch)
+                : null;
+        this.teamCache = teamCache;
+        this.teamCache.start(this::evictColdTeams, teams);
+        this.hotKeys = hotKeys;
+        this.hotKeys.start(this::replicaSource);
+        this.simulationPool = newSimulationPool();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (batchingWriter != null) {
+            batchingWriter.shutdown();
+        }
+        simulationPool.shutdownNow();
     }
 
     /**
@@ -25,131 +161,995 @@ public class DepthChartServiceImpl implements DepthChartService {
      * If the positionDepth is missing the player is added to the end of the depth chart.
      */
     @Override
-    public synchronized void addPlayerToDepthChart(DepthChartKey key,
-                                                   Player player,
-                                                   Integer positionDepth) {
-        validatePositionDepth(positionDepth);
+    public void addPlayerToDepthChart(DepthChartKey key,
+                                      Player player,
+                                      Integer positionDepth) {
+        addPlayerToDepthChart(key, player, positionDepth, null);
+    }
 
-        // Domain validation delegated to metadata service
-        leagueMetadataService.validateLeagueTeamPosition(
-                key.league(), key.team(), key.position()
-        );
+    @Override
+    public void addPlayerToDepthChart(DepthChartKey key,
+                                      Player player,
+                                      Integer positionDepth,
+                                      Long expectedVersion) {
+        DepthChartOperationEvent event = DepthChartOperationEvent.start("addPlayer", key);
+        try {
+            validateAdd(key, player, positionDepth);
+            event.validated();
+            write(key.teamKey(), expectedVersion, addMutation(key, player, positionDepth));
+        } finally {
+            event.finish();
+        }
+    }
 
-        validatePlayer(player);
+    @Override
+    public CompletableFuture<Void> addPlayerToDepthChartAsync(DepthChartKey key,
+                                                              Player player,
+                                                              Integer positionDepth) {
+        validateAdd(key, player, positionDepth);
+        return writeAsync(key.teamKey(), addMutation(key, player, positionDepth));
+    }
 
-        // Get or create position depth list
-        List<Player> depth = depthChart.computeIfAbsent(key, k -> new ArrayList<>());
+    /**
+     *  Removes a player from the depth chart for a given position and returns that player
+     *  An empty list should be returned if the player is not listed in the depth chart at that position
+     */
+    @Override
+    public List<Player> removePlayerFromDepthChart(DepthChartKey key, Player player) {
+        return removePlayerFromDepthChart(key, player, null);
+    }
 
-        // Append case
-        if (positionDepth == null || positionDepth >= depth.size()) {
-            if (!depth.contains(player)) {
-                depth.add(player);
-            }
-            return;
+    @Override
+    public List<Player> removePlayerFromDepthChart(DepthChartKey key, Player player, Long expectedVersion) {
+        DepthChartOperationEvent event = DepthChartOperationEvent.start("removePlayer", key);
+        try {
+            validateLookup(key, player);
+            event.validated();
+            return event.result(write(key.teamKey(), expectedVersion, removeMutation(key, player)));
+        } finally {
+            event.finish();
         }
+    }
 
-        // If player already exists, remove to avoid duplicates
-        int existingIndex = depth.indexOf(player);
-        if (existingIndex != -1) {
-            if (existingIndex == positionDepth) {
-                return; // already at correct spot
+    /**
+     * Move, swap and reorder each read the position once and publish a single new version,
+     * so clients never see the intermediate state a remove followed by an add would expose.
+     */
+    @Override
+    public List<Player> movePlayer(DepthChartKey key, Player player, int toDepth, Long expectedVersion) {
+        DepthChartOperationEvent event = DepthChartOperationEvent.start("movePlayer", key);
+        try {
+            validateLookup(key, player);
+            if (toDepth < 0) {
+                throw new IllegalArgumentException("to_depth must be >= 0");
             }
-            depth.remove(existingIndex);
-            if (existingIndex < positionDepth) {
-                positionDepth--;
+            event.validated();
+            return event.result(write(key.teamKey(), expectedVersion, moveMutation(key, player, toDepth)));
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public List<Player> swapPlayers(DepthChartKey key, Player first, Player second, Long expectedVersion) {
+        DepthChartOperationEvent event = DepthChartOperationEvent.start("swapPlayers", key);
+        try {
+            validateLookup(key, first);
+            requireNonNull(second, "second");
+            event.validated();
+            return event.result(write(key.teamKey(), expectedVersion, swapMutation(key, first, second)));
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public List<Player> replaceDepthOrder(DepthChartKey key, List<Player> order, Long expectedVersion) {
+        DepthChartOperationEvent event = DepthChartOperationEvent.start("replaceDepthOrder", key);
+        try {
+            requireNonNull(order, "order");
+            requireKnown(key);
+            order.forEach(this::validatePlayer);
+            if (new HashSet<>(order).size() != order.size()) {
+                throw new IllegalArgumentException("order must not list a player twice");
             }
+            event.validated();
+            return event.result(write(key.teamKey(), expectedVersion, reorderMutation(key, List.copyOf(order))));
+        } finally {
+            event.finish();
         }
+    }
 
-        // Insert at specific depth (shift others down)
-        depth.add(positionDepth, player);
+    @Override
+    public CompletableFuture<List<Player>> removePlayerFromDepthChartAsync(DepthChartKey key, Player player) {
+        validateLookup(key, player);
+        return writeAsync(key.teamKey(), removeMutation(key, player));
     }
 
     /**
-     *  Removes a player from the depth chart for a given position and returns that player
-     *  An empty list should be returned if the player is not listed in the depth chart at that position
+     * Returns all backup players for the specified player at a position.
+     * The result is a view of the published (immutable) list, so nothing is copied per call.
      */
     @Override
-    public synchronized List<Player> removePlayerFromDepthChart(DepthChartKey key, Player player) {
-        PlayerIndex pi = lookupPlayer(key, player);
-        if (pi == null) {
-            return List.of();
-        }
+    public List<Player> getBackups(DepthChartKey key, Player player) {
+        return lookupBackups(key, player).orElseThrow();
+    }
 
-        Player removed = pi.depth().remove(pi.index());
-        if (pi.depth().isEmpty()) {
-            depthChart.remove(key);
-        }
+    @Override
+    public Validated<List<Player>> lookupBackups(DepthChartKey key, Player player) {
+        DepthChartOperationEvent event = DepthChartOperationEvent.start("getBackups", key);
+        try {
+            requireNonNull(key, "key");
+            requireNonNull(player, "player");
+            ValidationResult result = leagueMetadataService.checkLeagueTeamPosition(key.league(), key.team(), key.position());
+            if (!result.isValid()) {
+                return Validated.rejected(result, key.league(), key.team(), key.position());
+            }
+            event.validated();
+
+            List<Player> depth = readPosition(key);
+            int index = depth.indexOf(player);
+            if (index == -1 || index + 1 >= depth.size()) {
+                return Validated.valid(event.result(List.of()));
+            }
 
-        return List.of(removed);
+            return Validated.valid(event.result(depth.subList(index + 1, depth.size())));
+        } finally {
+            event.finish();
+        }
     }
 
     /**
-     * Returns all backup players for the specified player at a position.
+     * Returns the full depth chart for a league/team across all positions.
      */
     @Override
-    public synchronized List<Player> getBackups(DepthChartKey key, Player player) {
-        PlayerIndex pi = lookupPlayer(key, player);
-        if (pi == null) {
-            return List.of();
+    public Map<String, List<Player>> getFullDepthChart(String league, String team) {
+        return getTeamDepthChart(league, team).positions();
+    }
+
+    @Override
+    public TeamDepthChart getTeamDepthChart(String league, String team) {
+        String lg = normalizeRequired("league", league);
+        String tm = normalizeRequired("team", team);
+
+        DepthChartOperationEvent event = DepthChartOperationEvent.start("getFullDepthChart", lg, tm, null);
+        try {
+            requireKnownTeam(lg, tm);
+            event.validated();
+
+            return event.result(readTeam(new TeamKey(lg, tm)));
+        } finally {
+            event.finish();
         }
+    }
+
+    @Override
+    public long getDepthChartVersion(String league, String team) {
+        return lookupDepthChartVersion(league, team).orElseThrow();
+    }
 
-        if (pi.index() + 1 >= pi.depth().size()) {
-            return List.of();
+    @Override
+    public Validated<Long> lookupDepthChartVersion(String league, String team) {
+        TeamKey teamKey = TeamKey.of(league, team);
+        ValidationResult result = leagueMetadataService.checkLeagueTeam(teamKey.league(), teamKey.team());
+        if (!result.isValid()) {
+            return Validated.rejected(result, teamKey.league(), teamKey.team(), null);
         }
 
-        return List.copyOf(pi.depth().subList(pi.index() + 1, pi.depth().size()));
+        return Validated.valid(readVersion(teamKey));
+    }
+
+    @Override
+    public String getEpoch() {
+        return teams.epoch();
     }
 
     /**
-     * Returns the full depth chart for a league/team across all positions.
+     * Returns what changed since the client's version, or the full chart if that version
+     * is no longer covered by the change log or was issued by another store epoch.
      */
     @Override
-    public synchronized Map<String, List<Player>> getFullDepthChart(String league, String team) {
+    public DepthChartDiff getDepthChartDiff(String league, String team, VersionTag since) {
+        TeamKey teamKey = TeamKey.of(league, team);
+        DepthChartOperationEvent event =
+                DepthChartOperationEvent.start("getDepthChartDiff", teamKey.league(), teamKey.team(), null);
+        try {
+            requireKnownTeam(teamKey.league(), teamKey.team());
+            event.validated();
+
+            // changes are logged in the same compute that publishes a version; if this read overtook the log,
+            // changesSince says so and the client gets the whole chart
+            TeamDepthChart current = readTeam(teamKey);
+            String epoch = teams.epoch();
+
+            // a version from before a restart may have been reissued for a different chart since
+            List<DepthChartChangeLog.Change> changes = since.isFrom(epoch)
+                    ? changeLog.changesSince(teamKey, since.version(), current.version())
+                    : null;
+            if (changes == null) {
+                return event.result(new DepthChartDiff(teamKey.league(), teamKey.team(), epoch, since.version(),
+                        current.version(), true, Map.of(), current.positions()));
+            }
+
+            return event.result(new DepthChartDiff(teamKey.league(), teamKey.team(), epoch, since.version(),
+                    current.version(), false, DepthChartDiffs.diff(changes, current.positions()), Map.of()));
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public Stream<LeagueDepthEntry> queryLeague(String league, List<String> positions, int minDepth, Integer maxDepth) {
         String lg = normalizeRequired("league", league);
-        String tm = normalizeRequired("team", team);
+        requireKnownLeague(lg);
+
+        if (minDepth < 0) {
+            throw new IllegalArgumentException("min_depth must be >= 0");
+        }
+        if (maxDepth != null && maxDepth < minDepth) {
+            throw new IllegalArgumentException("max_depth must be >= min_depth");
+        }
+
+        List<String> selected = new ArrayList<>();
+        if (positions == null || positions.isEmpty()) {
+            selected.addAll(leagueMetadataService.getPositions(lg));
+        } else {
+            for (String position : positions) {
+                String pos = normalizeRequired("position", position);
+                requireKnownPosition(lg, pos);
+                if (!selected.contains(pos)) {
+                    selected.add(pos);
+                }
+            }
+        }
+
+        int upper = maxDepth == null ? Integer.MAX_VALUE : maxDepth;
+        fillPositionIndex();
+        return selected.stream().flatMap(position -> positionIndex.teams(lg, position).stream()
+                .flatMap(team -> slice(new TeamKey(lg, team), position, minDepth, upper)));
+    }
+
+    @Override
+    public List<PlayerSearchHit> searchPlayers(String query, String league, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q is required");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        String lg = league == null || league.isBlank() ? null : normalizeRequired("league", league);
 
-        leagueMetadataService.validateLeagueTeam(lg, tm);
+        DepthChartOperationEvent event = DepthChartOperationEvent.start("searchPlayers", lg, null, null);
+        try {
+            if (lg != null) {
+                requireKnownLeague(lg);
+            }
+            event.validated();
 
-        Map<String, List<Player>> result = new LinkedHashMap<>();
+            fillSearchIndex();
+            return event.result(playerSearch.search(query, lg, limit));
+        } finally {
+            event.finish();
+        }
+    }
 
-        for (Map.Entry<DepthChartKey, List<Player>> entry : depthChart.entrySet()) {
-            DepthChartKey key = entry.getKey();
-            if (key.league().equals(lg) && key.team().equals(tm)) {
-                result.put(key.position(), new ArrayList<>(entry.getValue()));
+    @Override
+    public LineupSimulation simulateUnavailable(String league, Map<String, List<Player>> unavailable) {
+        String lg = normalizeRequired("league", league);
+        DepthChartOperationEvent event = DepthChartOperationEvent.start("simulateUnavailable", lg, null, null);
+        try {
+            requireKnownLeague(lg);
+            if (unavailable == null || unavailable.isEmpty()) {
+                throw new IllegalArgumentException("at least one team with unavailable players is required");
             }
+
+            Map<String, Set<Player>> scenario = new TreeMap<>();
+            unavailable.forEach((team, players) -> {
+                String tm = normalizeRequired("team", team);
+                requireKnownTeam(lg, tm);
+                requireNonNull(players, "players");
+                players.forEach(this::validatePlayer);
+                scenario.computeIfAbsent(tm, k -> new HashSet<>()).addAll(players);
+            });
+            event.validated();
+
+            Set<String> positionOrder = leagueMetadataService.getPositions(lg);
+            Map<String, LineupSimulation.TeamLineup> lineups = new TreeMap<>();
+            if (scenario.size() < PARALLEL_SIMULATION_MIN_TEAMS) {
+                scenario.forEach((tm, out) ->
+                        lineups.put(tm, InjuryCascade.simulate(readTeam(new TeamKey(lg, tm)), positionOrder, out)));
+            } else {
+                // teams are independent and their charts immutable, so each is read once and simulated on its own
+                Map<String, CompletableFuture<LineupSimulation.TeamLineup>> pending = new TreeMap<>();
+                scenario.forEach((tm, out) -> pending.put(tm, CompletableFuture.supplyAsync(
+                        () -> InjuryCascade.simulate(readTeam(new TeamKey(lg, tm)), positionOrder, out),
+                        simulationPool)));
+                pending.forEach((tm, lineup) -> lineups.put(tm, join(lineup)));
+            }
+            return event.result(new LineupSimulation(lg, Collections.unmodifiableMap(lineups)));
+        } finally {
+            event.finish();
         }
-        return result;
     }
 
+    @Override
+    public Stream<DepthChartDTO> exportTeams() {
+        // only the keys are collected up front, charts are read one at a time
+        Set<TeamKey> keys = new TreeSet<>(Comparator.comparing(TeamKey::league).thenComparing(TeamKey::team));
+        keys.addAll(teams.keys());
+        keys.addAll(teamCache.spilledTeams());
+        MappedDepthChartSnapshot base = snapshot;
+        if (base != null) {
+            base.forEachTeam(keys::add);
+        }
+
+        return keys.stream()
+                .map(teamKey -> toDto(teamKey, peekTeam(teamKey)))
+                .filter(dto -> !dto.getPositions().isEmpty());
+    }
+
+    @Override
+    public int importTeam(DepthChartDTO dto) {
+        requireNonNull(dto, "team");
+        TeamKey teamKey = TeamKey.of(dto.getLeague(), dto.getTeam());
+        requireKnownTeam(teamKey.league(), teamKey.team());
+
+        // validate the whole entry once, then apply it as a single write
+        Map<String, List<Player>> positions = new LinkedHashMap<>();
+        int playerCount = 0;
+        if (dto.getPositions() != null) {
+            for (Map.Entry<String, List<Player>> entry : dto.getPositions().entrySet()) {
+                String position = normalizeRequired("position", entry.getKey());
+                requireKnownPosition(teamKey.league(), position);
+                if (positions.containsKey(position)) {
+                    throw new IllegalArgumentException("Duplicate position: " + position);
+                }
+
+                List<Player> depth = entry.getValue() == null ? List.of() : entry.getValue();
+                Set<Player> seen = new HashSet<>();
+                for (Player player : depth) {
+                    validatePlayer(player);
+                    if (!seen.add(player)) {
+                        throw new IllegalArgumentException("Duplicate player " + player.number() + " at " + position);
+                    }
+                }
+                if (!depth.isEmpty()) {
+                    positions.put(position, depth);
+                    playerCount += depth.size();
+                }
+            }
+        }
+
+        Long version = dto.getVersion();
+        if (version != null && version <= 0) {
+            throw new IllegalArgumentException("Version must be > 0, got " + version);
+        }
+        write(teamKey, null, replaceMutation(teamKey, positions, version));
+        return playerCount;
+    }
+
+    @Override
+    public void attachSnapshot(MappedDepthChartSnapshot snapshot) {
+        synchronized (indexFillLock) {
+            this.snapshot = snapshot;
+            positionIndexFilled = false;
+            searchIndexFilled = false;
+        }
+    }
 
     /**
-     * Look up depth list for given key and find player's index.
-     * Returns null if position not present or player not found.
+     * Files every team already in the repository or the snapshot in the league position index, once.
+     * Snapshot teams go in at version 0, so a team written since keeps its newer entries.
      */
-    private PlayerIndex lookupPlayer(DepthChartKey key, Player player) {
-        requireNonNull(key, "key");
-        requireNonNull(player, "player");
+    private void fillPositionIndex() {
+        if (positionIndexFilled) {
+            return;
+        }
+        synchronized (indexFillLock) {
+            if (positionIndexFilled) {
+                return;
+            }
+            for (TeamKey teamKey : teams.keys()) {
+                TeamDepthChart chart = teams.get(teamKey);
+                if (chart != null) {
+                    positionIndex.update(teamKey, chart.version(), positionsWithPlayers(chart));
+                }
+            }
+            MappedDepthChartSnapshot base = snapshot;
+            if (base != null) {
+                Map<TeamKey, Set<String>> snapshotPositions = new HashMap<>();
+                base.forEachKey(key -> snapshotPositions.computeIfAbsent(key.teamKey(), k -> new HashSet<>())
+                        .add(key.position()));
+                snapshotPositions.forEach((teamKey, positions) -> positionIndex.update(teamKey, 0L, positions));
+            }
+            positionIndexFilled = true;
+        }
+    }
 
-        leagueMetadataService.validateLeagueTeamPosition(
-                key.league(), key.team(), key.position());
+    /**
+     * Like {@link #fillPositionIndex} for the player search index. Teams already written this run are skipped
+     * before the snapshot copy is decoded.
+     */
+    private void fillSearchIndex() {
+        if (searchIndexFilled) {
+            return;
+        }
+        synchronized (indexFillLock) {
+            if (searchIndexFilled) {
+                return;
+            }
+            for (TeamKey teamKey : teams.keys()) {
+                TeamDepthChart chart = teams.get(teamKey);
+                if (chart != null) {
+                    playerSearch.index(teamKey, chart.version(), chart.positions());
+                }
+            }
+            MappedDepthChartSnapshot base = snapshot;
+            if (base != null) {
+                base.forEachTeam(teamKey -> {
+                    if (!teams.contains(teamKey) && !teamCache.isSpilled(teamKey)) {
+                        playerSearch.index(teamKey, 0L, base.getTeam(teamKey.league(), teamKey.team()));
+                    }
+                });
+            }
+            searchIndexFilled = true;
+        }
+    }
 
-        List<Player> depth = depthChart.get(key);
-        if (depth == null || depth.isEmpty()) {
-            return null;
+    @Override
+    public Map<DepthChartKey, List<Player>> copyOfDepthCharts() {
+        Map<DepthChartKey, List<Player>> result = new LinkedHashMap<>();
+        MappedDepthChartSnapshot base = snapshot;
+        if (base != null) {
+            base.forEach((key, players) -> {
+                if (!teams.contains(key.teamKey()) && !teamCache.isSpilled(key.teamKey())) {
+                    result.put(key, players);
+                }
+            });
+        }
+        for (TeamKey teamKey : teamCache.spilledTeams()) {
+            TeamDepthChart spilled = teams.contains(teamKey) ? null : teamCache.readSpilled(teamKey);
+            // null once reloaded onto the heap, where the loop below picks it up
+            if (spilled != null) {
+                spilled.positions().forEach((position, players) ->
+                        result.put(new DepthChartKey(teamKey.league(), teamKey.team(), position), players));
+            }
+        }
+        for (TeamKey teamKey : teams.keys()) {
+            TeamDepthChart chart = teams.get(teamKey);
+            if (chart != null) {
+                chart.positions().forEach((position, players) ->
+                        result.put(new DepthChartKey(teamKey.league(), teamKey.team(), position), players));
+            }
         }
+        return result;
+    }
+
+    // Mutations: each derives the next chart from the current one; write() commits it or queues it for the writer
+
+    private Function<TeamDepthChart, Outcome<Void>> addMutation(DepthChartKey key, Player player, Integer positionDepth) {
+        return current -> {
+            List<Player> depth = new ArrayList<>(current.playersAt(key.position()));
+
+            // Append case
+            if (positionDepth == null || positionDepth >= depth.size()) {
+                if (depth.contains(player)) {
+                    return Outcome.unchanged(null);
+                }
+                depth.add(player);
+                return Outcome.changed(current.withPosition(key.position(), depth), null);
+            }
 
+            // If player already exists, remove to avoid duplicates
+            int targetDepth = positionDepth;
+            int existingIndex = depth.indexOf(player);
+            if (existingIndex != -1) {
+                if (existingIndex == targetDepth) {
+                    return Outcome.unchanged(null); // already at correct spot
+                }
+                depth.remove(existingIndex);
+                if (existingIndex < targetDepth) {
+                    targetDepth--;
+                }
+            }
+
+            // Insert at specific depth (shift others down)
+            depth.add(targetDepth, player);
+            return Outcome.changed(current.withPosition(key.position(), depth), null);
+        };
+    }
+
+    private Function<TeamDepthChart, Outcome<List<Player>>> removeMutation(DepthChartKey key, Player player) {
+        return current -> {
+            List<Player> depth = new ArrayList<>(current.playersAt(key.position()));
+
+            int index = depth.indexOf(player);
+            if (index == -1) {
+                return Outcome.unchanged(List.of());
+            }
+
+            Player removed = depth.remove(index);
+            return Outcome.changed(current.withPosition(key.position(), depth), List.of(removed));
+        };
+    }
+
+    private Function<TeamDepthChart, Outcome<List<Player>>> moveMutation(DepthChartKey key, Player player, int toDepth) {
+        return current -> {
+            List<Player> depth = new ArrayList<>(current.playersAt(key.position()));
+
+            int index = requireListed(key, depth, player);
+            int targetDepth = Math.min(toDepth, depth.size() - 1);
+            if (index == targetDepth) {
+                return Outcome.unchanged(current.playersAt(key.position()));
+            }
+
+            depth.remove(index);
+            depth.add(targetDepth, player);
+            TeamDepthChart next = current.withPosition(key.position(), depth);
+            return Outcome.changed(next, next.playersAt(key.position()));
+        };
+    }
+
+    private Function<TeamDepthChart, Outcome<List<Player>>> swapMutation(DepthChartKey key, Player first, Player second) {
+        return current -> {
+            List<Player> depth = new ArrayList<>(current.playersAt(key.position()));
+
+            int firstIndex = requireListed(key, depth, first);
+            int secondIndex = requireListed(key, depth, second);
+            if (firstIndex == secondIndex) {
+                return Outcome.unchanged(current.playersAt(key.position()));
+            }
+
+            Collections.swap(depth, firstIndex, secondIndex);
+            TeamDepthChart next = current.withPosition(key.position(), depth);
+            return Outcome.changed(next, next.playersAt(key.position()));
+        };
+    }
+
+    private Function<TeamDepthChart, Outcome<List<Player>>> reorderMutation(DepthChartKey key, List<Player> order) {
+        return current -> {
+            List<Player> depth = current.playersAt(key.position());
+
+            if (depth.size() != order.size() || !new HashSet<>(depth).containsAll(order)) {
+                throw new IllegalArgumentException("order must list exactly the players at "
+                        + key.league() + "/" + key.team() + " " + key.position());
+            }
+            if (depth.equals(order)) {
+                return Outcome.unchanged(depth);
+            }
+
+            TeamDepthChart next = current.withPosition(key.position(), order);
+            return Outcome.changed(next, next.playersAt(key.position()));
+        };
+    }
+
+    private static int requireListed(DepthChartKey key, List<Player> depth, Player player) {
         int index = depth.indexOf(player);
         if (index == -1) {
-            return null;
+            throw new IllegalArgumentException("Player " + player.number() + " " + player.name() + " is not listed at "
+                    + key.league() + "/" + key.team() + " " + key.position());
+        }
+        return index;
+    }
+
+    /**
+     * Publishes {@code positions} at {@code version}, or at the next version when null. A version is never
+     * reused for another chart and never goes backwards, so tags clients already hold stay truthful.
+     */
+    private Function<TeamDepthChart, Outcome<Void>> replaceMutation(TeamKey teamKey, Map<String, List<Player>> positions, Long version) {
+        return current -> {
+            TeamDepthChart next = TeamDepthChart.of(version != null ? version : current.version() + 1, positions);
+            if (next.positions().equals(current.positions()) && (version == null || version == current.version())) {
+                return Outcome.unchanged(null); // re-importing the same chart does not create a version
+            }
+            if (next.version() <= current.version()) {
+                throw new IllegalArgumentException("Team " + teamKey.league() + "/" + teamKey.team()
+                        + " is at version " + current.version() + ", import carries version " + version);
+            }
+            return Outcome.changed(next, null);
+        };
+    }
+
+    /**
+     * Optimistic commit: derive the next chart from the current one and publish it only if no other
+     * writer published in between, otherwise re-read and try again. The expected version is checked
+     * on every attempt, so a conditional write that loses a race fails instead of overwriting.
+     */
+    private <T> T commit(TeamKey teamKey, Long expectedVersion, Function<TeamDepthChart, Outcome<T>> mutation) {
+        DepthChartCommitEvent event = DepthChartCommitEvent.start();
+        int attempts = 0;
+        while (true) {
+            attempts++;
+            TeamDepthChart loaded = loadTeam(teamKey);
+            TeamDepthChart current = loaded != null ? loaded : snapshotTeam(teamKey);
+            if (expectedVersion != null && expectedVersion != current.version()) {
+                event.end(teamKey, attempts, true);
+                throw new VersionConflictException(teamKey.league(), teamKey.team(),
+                        new VersionTag(teams.epoch(), expectedVersion), new VersionTag(teams.epoch(), current.version()));
+            }
+
+            Outcome<T> outcome = mutation.apply(current);
+            if (outcome.next() == null || tryPublish(teamKey, current, outcome.next())) {
+                event.end(teamKey, attempts, false);
+                return outcome.result();
+            }
+        }
+    }
+
+    /**
+     * Batched counterpart of {@link #commit}: the writer thread's drained writes for one team, in queue order,
+     * published as a single version. Each write sees the chart the writes before it left, still at the version
+     * being replaced, so an import's version is checked against that one. A conditional write fails if it
+     * expects another version or an earlier write in the batch already changed the team. If publishing loses
+     * (the team was spilled meanwhile) the whole batch is derived again from the re-read chart.
+     */
+    private void commitBatch(TeamKey teamKey, List<BatchingDepthChartWriter.PendingWrite<?>> writes) {
+        DepthChartCommitEvent event = DepthChartCommitEvent.start();
+        int attempts = 0;
+        while (true) {
+            attempts++;
+            TeamDepthChart loaded = loadTeam(teamKey);
+            TeamDepthChart current = loaded != null ? loaded : snapshotTeam(teamKey);
+            TeamDepthChart merged = current;
+            long version = current.version();
+            List<BatchingDepthChartWriter.PendingWrite<?>> conflicts = new ArrayList<>();
+            for (BatchingDepthChartWriter.PendingWrite<?> write : writes) {
+                Long expectedVersion = write.expectedVersion();
+                if (expectedVersion != null && (expectedVersion != current.version() || merged != current)) {
+                    conflicts.add(write);
+                    continue;
+                }
+                try {
+                    TeamDepthChart next = write.apply(merged);
+                    if (next != null) {
+                        version = Math.max(version, next.version());
+                        merged = new TeamDepthChart(current.version(), next.positions());
+                    }
+                } catch (RuntimeException ex) {
+                    write.fail(ex);
+                }
+            }
+
+            TeamDepthChart next = merged == current ? null : new TeamDepthChart(version, merged.positions());
+            if (next == null || tryPublish(teamKey, current, next)) {
+                VersionTag actual = new VersionTag(teams.epoch(), next == null ? current.version() : next.version());
+                for (BatchingDepthChartWriter.PendingWrite<?> write : conflicts) {
+                    write.fail(new VersionConflictException(teamKey.league(), teamKey.team(),
+                            new VersionTag(teams.epoch(), write.expectedVersion()), actual));
+                }
+                event.end(teamKey, attempts, !conflicts.isEmpty());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Publishes {@code next} if {@code current} is still the team's latest version. The change is logged
+     * inside the same per-team compute, once the attempt has won and the repository has stored {@code next},
+     * so a losing attempt or a failed write leaves nothing behind. A reader that sees {@code next} before its
+     * entries are logged (the disk backend replaces the file first) gets a full snapshot, not a short diff.
+     */
+    private boolean tryPublish(TeamKey teamKey, TeamDepthChart current, TeamDepthChart next) {
+        Set<String> changed = new LinkedHashSet<>();
+        Set<String> positions = new LinkedHashSet<>(current.positions().keySet());
+        positions.addAll(next.positions().keySet());
+        for (String position : positions) {
+            if (!current.playersAt(position).equals(next.playersAt(position))) {
+                changed.add(position);
+            }
+        }
+
+        TeamDepthChart published = teams.compute(teamKey, (k, resident) -> {
+            // a team that is neither resident nor spilled is still at its snapshot (or empty) state
+            boolean stale = resident == null
+                    ? teamCache.isSpilled(k)
+                    : resident.version() != current.version();
+            return stale ? resident : next;
+        }, (k, stored) -> {
+            for (String position : changed) {
+                changeLog.record(k, next.version(), position, current.playersAt(position));
+            }
+        });
+        if (published != next) {
+            return false;
+        }
+
+        // outside the compute; both indexes drop this version if a newer one of the team got there first
+        playerSearch.index(teamKey, next.version(), next.positions());
+        hotKeys.onPublish(teamKey, next);
+        positionIndex.update(teamKey, next.version(), positionsWithPlayers(next));
+        teamCache.onResidentCount(teams.size());
+        return true;
+    }
+
+    private static Set<String> positionsWithPlayers(TeamDepthChart chart) {
+        Set<String> positions = new HashSet<>();
+        chart.positions().forEach((position, players) -> {
+            if (!players.isEmpty()) {
+                positions.add(position);
+            }
+        });
+        return positions;
+    }
+
+    /**
+     * Spills teams the cache considers cold and drops them from the heap.
+     */
+    public void evictColdTeams() {
+        synchronized (evictionLock) {
+            for (TeamKey teamKey : teamCache.selectVictims(teams.keys())) {
+                TeamDepthChart chart = teams.get(teamKey);
+                if (chart == null || chart.positions().isEmpty()) {
+                    continue;
+                }
+                // a persisted team may not have been indexed yet; both indexes ignore a version they already hold
+                positionIndex.update(teamKey, chart.version(), positionsWithPlayers(chart));
+                playerSearch.index(teamKey, chart.version(), chart.positions());
+                teamCache.spill(teamKey, chart);
+                teams.remove(teamKey, chart.version());
+                hotKeys.demote(teamKey);
+            }
+        }
+    }
+
+    /**
+     * Read path: {@link #readWrittenTeam}, else the snapshot's copy of the team, else an empty chart.
+     */
+    private TeamDepthChart readTeam(TeamKey teamKey) {
+        TeamDepthChart chart = readWrittenTeam(teamKey);
+        return chart != null ? chart : snapshotTeam(teamKey);
+    }
+
+    /**
+     * Like {@link #readTeam} for a single position; a team still at its snapshot state only has that
+     * position decoded from the mapped file.
+     */
+    private List<Player> readPosition(DepthChartKey key) {
+        TeamKey teamKey = key.teamKey();
+        TeamDepthChart hot = readHotTeam(teamKey);
+        if (hot != null) {
+            return hot.playersAt(key.position());
+        }
+        // a backend that encodes charts decodes only this position
+        List<Player> stored = teams.getPosition(teamKey, key.position());
+        if (stored != null) {
+            teamCache.recordHit(teamKey);
+            return stored;
+        }
+        TeamDepthChart chart = loadTeam(teamKey);
+        if (chart != null) {
+            return chart.playersAt(key.position());
+        }
+        MappedDepthChartSnapshot base = snapshot;
+        List<Player> players = base == null ? null : base.get(key);
+        return players == null ? List.of() : players;
+    }
+
+    /**
+     * Version of the team as {@link #readTeam} would see it, without decoding a stored chart or a
+     * snapshot-only team, which is at version 0 like an empty one.
+     */
+    private long readVersion(TeamKey teamKey) {
+        TeamDepthChart hot = readHotTeam(teamKey);
+        if (hot != null) {
+            return hot.version();
+        }
+        long stored = teams.version(teamKey);
+        if (stored >= 0) {
+            teamCache.recordHit(teamKey);
+            return stored;
+        }
+        TeamDepthChart chart = loadTeam(teamKey);
+        return chart != null ? chart.version() : 0L;
+    }
+
+    /**
+     * A hot team's replica, else {@link #loadTeam}. Hot teams only touch the cache's shared
+     * access bookkeeping on sampled reads.
+     */
+    private TeamDepthChart readWrittenTeam(TeamKey teamKey) {
+        TeamDepthChart hot = readHotTeam(teamKey);
+        return hot != null ? hot : loadTeam(teamKey);
+    }
+
+    private TeamDepthChart readHotTeam(TeamKey teamKey) {
+        TeamDepthChart hot = hotKeys.read(teamKey);
+        if (hot != null) {
+            if (hotKeys.recordAccess(teamKey)) {
+                teamCache.recordHit(teamKey);
+            }
+            return hot;
+        }
+        hotKeys.recordAccess(teamKey);
+        return null;
+    }
+
+    /**
+     * Published heap chart, else the spilled copy (reloaded onto the heap), else null for a team
+     * that was never written and is served from the snapshot, if at all.
+     */
+    private TeamDepthChart loadTeam(TeamKey teamKey) {
+        TeamDepthChart chart = teams.get(teamKey);
+        if (chart != null) {
+            teamCache.recordHit(teamKey);
+            return chart;
+        }
+        teamCache.recordMiss(teamKey);
+
+        TeamDepthChart lastRead = null;
+        for (int attempt = 0; attempt < MAX_RELOAD_ATTEMPTS && teamCache.isSpilled(teamKey); attempt++) {
+            // the file is read outside the store's per-team lock; the copy goes in only if it is still
+            // the spilled version, otherwise another reader got there first (and it may have been spilled again)
+            TeamDepthChart reloaded = teamCache.readSpilled(teamKey);
+            if (reloaded == null) {
+                break;
+            }
+            chart = teams.computeIfAbsent(teamKey,
+                    k -> teamCache.isSpilledAt(k, reloaded.version()) ? reloaded : null);
+            if (chart != null) {
+                teamCache.markResident(teamKey, reloaded.version());
+                teamCache.onResidentCount(teams.size());
+                return chart;
+            }
+            lastRead = reloaded;
+        }
+
+        chart = teams.get(teamKey);
+        // still losing to spills after the last attempt: serve the copy read, a write's compare-and-set
+        // rejects it if it is stale
+        return chart != null ? chart : lastRead;
+    }
+
+    /**
+     * Like {@link #readTeam} but without cache bookkeeping and without reloading spilled teams onto the heap.
+     */
+    private TeamDepthChart peekTeam(TeamKey teamKey) {
+        TeamDepthChart chart = teams.get(teamKey);
+        if (chart != null) {
+            return chart;
+        }
+        if (teamCache.isSpilled(teamKey)) {
+            TeamDepthChart spilled = teamCache.readSpilled(teamKey);
+            // null once a reader put it back on the heap
+            return spilled != null ? spilled : peekTeam(teamKey);
         }
+        return snapshotTeam(teamKey);
+    }
 
-        return new PlayerIndex(depth, index);
+    /**
+     * Chart for a newly promoted hot team: resident or snapshot-backed, but not spilled ones,
+     * which the next regular read reloads first.
+     */
+    private TeamDepthChart replicaSource(TeamKey teamKey) {
+        TeamDepthChart chart = teams.get(teamKey);
+        if (chart != null) {
+            return chart;
+        }
+        return teamCache.isSpilled(teamKey) ? null : snapshotTeam(teamKey);
     }
 
-    private record PlayerIndex(List<Player> depth, int index) {}
+    private TeamDepthChart snapshotTeam(TeamKey teamKey) {
+        MappedDepthChartSnapshot base = snapshot;
+        if (base != null) {
+            Map<String, List<Player>> positions = base.getTeam(teamKey.league(), teamKey.team());
+            if (!positions.isEmpty()) {
+                return TeamDepthChart.of(0L, positions);
+            }
+        }
+        return TeamDepthChart.empty();
+    }
+
+    private static DepthChartDTO toDto(TeamKey teamKey, TeamDepthChart chart) {
+        DepthChartDTO dto = new DepthChartDTO();
+        dto.setLeague(teamKey.league());
+        dto.setTeam(teamKey.team());
+        dto.setVersion(chart.version());
+        dto.setPositions(chart.positions());
+        return dto;
+    }
+
+    private Stream<LeagueDepthEntry> slice(TeamKey teamKey, String position, int minDepth, int maxDepth) {
+        List<Player> depth = readPosition(new DepthChartKey(teamKey.league(), teamKey.team(), position));
+        int end = (int) Math.min(depth.size(), (long) maxDepth + 1);
+        if (minDepth >= end) {
+            return Stream.empty();
+        }
+        return IntStream.range(minDepth, end)
+                .mapToObj(i -> new LeagueDepthEntry(teamKey.team(), position, i, depth.get(i)));
+    }
+
+    private <T> T write(TeamKey teamKey, Long expectedVersion, Function<TeamDepthChart, Outcome<T>> mutation) {
+        if (batchingWriter == null) {
+            return commit(teamKey, expectedVersion, mutation);
+        }
+
+        return join(batchingWriter.submit(teamKey, expectedVersion, mutation));
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Bounded on both threads and queue; once the queue is full the calling request thread simulates the team
+     * itself, so a burst of large what-ifs slows down its own callers rather than queueing without limit.
+     * Idle threads time out, so the pool costs nothing while nobody simulates.
+     */
+    private static ThreadPoolExecutor newSimulationPool() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(SIMULATION_THREADS, SIMULATION_THREADS,
+                30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(SIMULATION_QUEUE), r -> {
+                    Thread thread = new Thread(r, "depth-chart-simulation-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private <T> CompletableFuture<T> writeAsync(TeamKey teamKey, Function<TeamDepthChart, Outcome<T>> mutation) {
+        if (batchingWriter != null) {
+            return batchingWriter.submit(teamKey, null, mutation);
+        }
+
+        try {
+            return CompletableFuture.completedFuture(commit(teamKey, null, mutation));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
 
     // Validations
 
+    private void validateAdd(DepthChartKey key, Player player, Integer positionDepth) {
+        validatePositionDepth(positionDepth);
+
+        // Domain validation delegated to metadata service
+        requireKnown(key);
+
+        validatePlayer(player);
+    }
+
+    private void validateLookup(DepthChartKey key, Player player) {
+        requireNonNull(key, "key");
+        requireNonNull(player, "player");
+
+        requireKnown(key);
+    }
+
+    // Writes and bulk calls have no result to carry a rejection in, so a failed check leaves them as the typed,
+    // stackless exception; the read lookups return it instead.
+
+    private void requireKnownLeague(String league) {
+        requireValid(leagueMetadataService.checkLeague(league), league, null, null);
+    }
+
+    private void requireKnownTeam(String league, String team) {
+        requireValid(leagueMetadataService.checkLeagueTeam(league, team), league, team, null);
+    }
+
+    private void requireKnownPosition(String league, String position) {
+        requireValid(leagueMetadataService.checkLeaguePosition(league, position), league, null, position);
+    }
+
+    private void requireKnown(DepthChartKey key) {
+        requireValid(leagueMetadataService.checkLeagueTeamPosition(key.league(), key.team(), key.position()),
+                key.league(), key.team(), key.position());
+    }
+
+    private static void requireValid(ValidationResult result, String league, String team, String position) {
+        if (!result.isValid()) {
+            throw InvalidDepthChartRequestException.of(result, league, team, position);
+        }
+    }
+
     private void validatePlayer(Player player) {
         requireNonNull(player, "player");
 
@@ -184,4 +1184,18 @@ public class DepthChartServiceImpl implements DepthChartService {
         }
         return value.trim().toUpperCase();
     }
+
+    /**
+     * Result of a mutation: the chart to publish (null when nothing changed) and the value to return.
+     */
+    record Outcome<T>(TeamDepthChart next, T result) {
+
+        static <T> Outcome<T> changed(TeamDepthChart next, T result) {
+            return new Outcome<>(next, result);
+        }
+
+        static <T> Outcome<T> unchanged(T result) {
+            return new Outcome<>(null, result);
+        }
+    }
 }
@@ -0,0 +1,244 @@
+package com.fd.depthchart.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fd.depthchart.config.AdminProperties;
+import com.fd.depthchart.model.DepthChartDTO;
+import com.fd.depthchart.model.ImportSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * NDJSON export and import of the whole store, one team per line in the {@link DepthChartDTO} format
+ * (the same shape as the classpath data files). Both directions work a line at a time,
+ * so memory stays bounded by the largest team rather than the size of the store. Import input is
+ * untrusted: line length and body size are capped by {@link AdminProperties}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DepthChartTransferService {
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final DepthChartService depthChartService;
+    private final ObjectMapper objectMapper;
+    private final AdminProperties props;
+
+    /**
+     * Writes every team to {@code out}. The stream is flushed but not closed.
+     *
+     * @return number of teams written
+     */
+    public int exportTo(OutputStream out) throws IOException {
+        int count = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        // one value per line, no separator in front of the next root value
+        generator.setRootValueSeparator(null);
+        try (Stream<DepthChartDTO> teams = depthChartService.exportTeams()) {
+            Iterator<DepthChartDTO> it = teams.iterator();
+            while (it.hasNext()) {
+                generator.writeObject(it.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        generator.flush();
+        return count;
+    }
+
+    /**
+     * Imports teams line by line. Each line replaces that team's chart as a single write;
+     * invalid or overlong lines are skipped and reported, they do not stop the import.
+     * Reading stops at the body size limit, which is reported as one more rejected line.
+     */
+    public ImportSummary importFrom(InputStream in) throws IOException {
+        int teams = 0;
+        int players = 0;
+        int rejected = 0;
+        List<String> errors = new ArrayList<>();
+
+        BoundedInputStream body = new BoundedInputStream(in, props.getMaxImportBytes());
+        LineReader reader = new LineReader(new InputStreamReader(body, StandardCharsets.UTF_8), props.getMaxLineLength());
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!reader.wasTerminated() && body.isExceeded()) {
+                // cut off by the size limit rather than ended, reported below
+                lineNumber--;
+                break;
+            }
+            if (reader.wasTruncated()) {
+                rejected++;
+                addError(errors, lineNumber, "longer than " + props.getMaxLineLength() + " characters");
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+
+            try {
+                DepthChartDTO dto = objectMapper.readValue(line, DepthChartDTO.class);
+                players += depthChartService.importTeam(dto);
+                teams++;
+            } catch (JsonProcessingException ex) {
+                rejected++;
+                addError(errors, lineNumber, "malformed JSON: " + ex.getOriginalMessage());
+            } catch (IllegalArgumentException ex) {
+                rejected++;
+                addError(errors, lineNumber, ex.getMessage());
+            }
+        }
+
+        if (body.isExceeded()) {
+            rejected++;
+            addError(errors, lineNumber + 1, "body exceeds " + props.getMaxImportBytes() + " bytes, stopped reading");
+        }
+
+        log.info("Imported {} teams, {} players; rejected {} lines", teams, players, rejected);
+        return new ImportSummary(teams, players, rejected, errors);
+    }
+
+    private static void addError(List<String> errors, int lineNumber, String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add("line " + lineNumber + ": " + message);
+        }
+    }
+
+    /**
+     * Reads {@code \n} or {@code \r\n} terminated lines, keeping at most {@code maxLength} characters of each;
+     * the rest of a longer line is read past and dropped, so one line cannot grow the heap without bound.
+     */
+    private static final class LineReader {
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean truncated;
+        private boolean terminated;
+
+        private LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * Next line without its terminator, or null at the end of the input.
+         */
+        private String readLine() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            terminated = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return read ? finish() : null;
+                    }
+                }
+                read = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                append(start, position);
+                if (position < limit) {
+                    position++; // the '\n'
+                    terminated = true;
+                    return finish();
+                }
+            }
+        }
+
+        private boolean wasTruncated() {
+            return truncated;
+        }
+
+        /**
+         * False for a last line that ended with the input rather than a line break.
+         */
+        private boolean wasTerminated() {
+            return terminated;
+        }
+
+        private void append(int from, int to) {
+            int room = maxLength - line.length();
+            int count = to - from;
+            if (count > room) {
+                truncated = true;
+                count = room;
+            }
+            line.append(buffer, from, count);
+        }
+
+        private String finish() {
+            int end = line.length();
+            if (end > 0 && line.charAt(end - 1) == '\r') {
+                end--;
+            }
+            return line.substring(0, end);
+        }
+    }
+
+    /**
+     * Passes on the first {@code maxBytes} bytes, then ends the stream and remembers whether there was more.
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+        private boolean exceeded;
+
+        private BoundedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.remaining = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (exceeded) {
+                return -1;
+            }
+            // one byte past the limit tells a body of exactly maxBytes from a longer one
+            int n = super.read(b, off, (int) Math.min(len, remaining + 1));
+            if (n > remaining) {
+                exceeded = true;
+                n = (int) remaining;
+                remaining = 0;
+                return n == 0 ? -1 : n;
+            }
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        private boolean isExceeded() {
+            return exceeded;
+        }
+    }
+}
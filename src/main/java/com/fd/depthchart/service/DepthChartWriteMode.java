@@ -0,0 +1,17 @@
+package com.fd.depthchart.service;
+
+/**
+ * How mutations are serialized.
+ */
+public enum DepthChartWriteMode {
+
+    /**
+     * Callers apply their own write and commit it with a compare-and-set on the team, retrying on a lost race.
+     */
+    OPTIMISTIC,
+
+    /**
+     * Callers enqueue the write; a single writer thread applies queued writes in batches.
+     */
+    BATCHED
+}
@@ -0,0 +1,183 @@
+package com.fd.depthchart.service;
+
+import com.fd.depthchart.config.HotKeyProperties;
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.TeamKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Finds teams that take a disproportionate share of reads and serves them from a {@link HotReplica}.
+ * A sample of reads feeds a count-min sketch that is halved every decay interval, so its estimates
+ * track the recent read rate; a team crossing the promote rate gets a replica, and loses it again once
+ * the rate falls below the demote rate. Promotions, demotions and promoted teams are published as
+ * {@code depthchart.hotkeys.*} metrics.
+ */
+@Component
+@Slf4j
+public class HotKeyTracker {
+
+    private static final int SKETCH_WIDTH = 4_096;
+
+    private final HotKeyProperties props;
+    private final CountMinSketch sketch = new CountMinSketch(SKETCH_WIDTH);
+    private final Map<TeamKey, HotReplica> replicas = new ConcurrentHashMap<>();
+    private final int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1) << 1);
+
+    private final MeterRegistry meterRegistry;
+    private final Counter promotions;
+    private final Counter demotions;
+
+    // saves the replica lookup on every read while nothing is hot, the common case
+    private volatile boolean anyHot;
+    private volatile Function<TeamKey, TeamDepthChart> source;
+    private ScheduledExecutorService decayer;
+
+    public HotKeyTracker(HotKeyProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+        this.promotions = meterRegistry.counter("depthchart.hotkeys.promotions");
+        this.demotions = meterRegistry.counter("depthchart.hotkeys.demotions");
+    }
+
+    public static HotKeyTracker disabled() {
+        HotKeyProperties props = new HotKeyProperties();
+        props.setEnabled(false);
+        return new HotKeyTracker(props, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Starts the periodic decay. {@code source} returns a team's current chart for a new replica, or null
+     * if the team is not readily available (spilled).
+     */
+    public synchronized void start(Function<TeamKey, TeamDepthChart> source) {
+        Gauge.builder("depthchart.hotkeys.active", replicas, Map::size).register(meterRegistry);
+        this.source = source;
+        if (!props.isEnabled() || decayer != null || props.getDecayInterval().isZero()) {
+            return;
+        }
+
+        decayer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "depth-chart-hotkey-decay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = props.getDecayInterval().toMillis();
+        decayer.scheduleWithFixedDelay(this::decay, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (decayer != null) {
+            decayer.shutdownNow();
+            decayer = null;
+        }
+    }
+
+    /**
+     * The replica's chart for a promoted team, else null.
+     */
+    public TeamDepthChart read(TeamKey team) {
+        if (!anyHot) {
+            return null;
+        }
+        HotReplica replica = replicas.get(team);
+        return replica == null ? null : replica.get();
+    }
+
+    /**
+     * Counts a read if it is sampled, promoting the team once its estimated rate crosses the threshold.
+     * Returns whether the read was sampled.
+     */
+    public boolean recordAccess(TeamKey team) {
+        if (!props.isEnabled() || ThreadLocalRandom.current().nextInt(props.getSampleOneIn()) != 0) {
+            return false;
+        }
+        if (sketch.increment(team) >= threshold(props.getPromoteReadsPerSecond()) && !replicas.containsKey(team)) {
+            promote(team);
+        }
+        return true;
+    }
+
+    /**
+     * Called after a new version of a team is published to the store.
+     */
+    public void onPublish(TeamKey team, TeamDepthChart chart) {
+        if (anyHot) {
+            HotReplica replica = replicas.get(team);
+            if (replica != null) {
+                replica.publish(chart);
+            }
+        }
+    }
+
+    public void demote(TeamKey team) {
+        if (replicas.remove(team) != null) {
+            anyHot = !replicas.isEmpty();
+            demotions.increment();
+            log.info("Demoted hot team {}", team);
+        }
+    }
+
+    /**
+     * Halves every count and demotes teams that have cooled down. Runs every decay interval.
+     */
+    public void decay() {
+        sketch.halve();
+        long demoteBelow = threshold(props.getDemoteReadsPerSecond());
+        for (TeamKey team : replicas.keySet()) {
+            if (sketch.estimate(team) < demoteBelow) {
+                demote(team);
+            }
+        }
+    }
+
+    public Set<TeamKey> hotTeams() {
+        return Set.copyOf(replicas.keySet());
+    }
+
+    private synchronized void promote(TeamKey team) {
+        Function<TeamKey, TeamDepthChart> current = source;
+        if (replicas.containsKey(team) || replicas.size() >= props.getMaxHotKeys() || current == null) {
+            return;
+        }
+        TeamDepthChart chart = current.apply(team);
+        if (chart == null) {
+            return;
+        }
+
+        HotReplica replica = new HotReplica(stripes, chart);
+        replicas.put(team, replica);
+        anyHot = true;
+        // a write published between the read above and the put did not see the replica yet
+        TeamDepthChart latest = current.apply(team);
+        if (latest != null) {
+            replica.publish(latest);
+        }
+
+        promotions.increment();
+        log.info("Promoted hot team {} to {} read replicas", team, stripes);
+    }
+
+    /**
+     * Sketch count that corresponds to a read rate: sampled reads per decay interval.
+     */
+    private long threshold(long readsPerSecond) {
+        long intervalMillis = props.getDecayInterval().isZero() ? 1_000 : props.getDecayInterval().toMillis();
+        return Math.max(1, readsPerSecond * intervalMillis / 1_000 / props.getSampleOneIn());
+    }
+}
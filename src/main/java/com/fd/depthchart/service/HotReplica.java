@@ -0,0 +1,73 @@
+package com.fd.depthchart.service;
+
+import com.fd.depthchart.model.TeamDepthChart;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A hot team's chart copied into one slot per CPU stripe. Each slot sits on its own cache line, so readers
+ * on different cores keep their own copy of the line and a write invalidates each once, instead of every
+ * reader and writer contending for the single line that holds the shared store entry.
+ */
+final class HotReplica {
+
+    private static final VarHandle CHART;
+
+    static {
+        try {
+            CHART = MethodHandles.lookup().findVarHandle(SlotValue.class, "chart", TeamDepthChart.class);
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+
+    HotReplica(int stripes, TeamDepthChart chart) {
+        this.slots = new Slot[stripes];
+        for (int i = 0; i < stripes; i++) {
+            slots[i] = new Slot(chart);
+        }
+        this.mask = stripes - 1;
+    }
+
+    TeamDepthChart get() {
+        return slots[(int) Thread.currentThread().getId() & mask].chart;
+    }
+
+    /**
+     * Installs {@code chart} in every slot unless a slot already holds a newer version,
+     * so two writers publishing out of order cannot leave the replica behind the store.
+     */
+    void publish(TeamDepthChart chart) {
+        for (Slot slot : slots) {
+            TeamDepthChart current = slot.chart;
+            while (current.version() < chart.version() && !CHART.compareAndSet(slot, current, chart)) {
+                current = slot.chart;
+            }
+        }
+    }
+
+    // Padding through inheritance: the JVM lays out superclass fields first, so the chart
+    // reference ends up between the two pads whatever order it picks within each class.
+
+    @SuppressWarnings("unused")
+    private static class SlotLeftPad {
+        long p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    private static class SlotValue extends SlotLeftPad {
+        volatile TeamDepthChart chart;
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Slot extends SlotValue {
+        long p11, p12, p13, p14, p15, p16, p17;
+
+        Slot(TeamDepthChart chart) {
+            this.chart = chart;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.fd.depthchart.service;
+
+import com.fd.depthchart.model.LineupSimulation.PositionLineup;
+import com.fd.depthchart.model.LineupSimulation.TeamLineup;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.TeamDepthChart;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * "Next man up" for one team: takes the unavailable players out and works out who starts where.
+ *
+ * Every position that lost its starter takes, in catalog order, the first listed player who is available and
+ * has not been moved yet. That may be the starter of another position (a guard listed as the next tackle), who
+ * then leaves a hole of their own, filled the same way after the holes already waiting. A player moves at most
+ * once, so each position is left empty at most once and the cascade ends after at most one pass per position;
+ * a player listed at several positions fills at most one hole and the next position looks further down its list.
+ * A player moved this way also leaves the backup lists of their other positions; roles the live chart already
+ * had (a starter who is also listed as a backup elsewhere) are kept.
+ *
+ * The result is an overlay on the team's immutable chart: positions nobody touched share the live lists.
+ */
+final class InjuryCascade {
+
+    private InjuryCascade() {
+    }
+
+    /**
+     * @param positionOrder league positions in catalog order; positions the team does not list are skipped
+     */
+    static TeamLineup simulate(TeamDepthChart chart, Collection<String> positionOrder, Set<Player> unavailable) {
+        Map<String, List<Player>> positions = chart.positions();
+
+        // effective starter per listed position, in catalog order; null while the position is a hole
+        Map<String, Player> starters = new LinkedHashMap<>();
+        Deque<String> holes = new ArrayDeque<>();
+        for (String position : positionOrder) {
+            List<Player> players = positions.get(position);
+            if (players == null) {
+                continue;
+            }
+            Player starter = players.get(0);
+            if (unavailable.contains(starter)) {
+                starters.put(position, null);
+                holes.add(position);
+            } else {
+                starters.put(position, starter);
+            }
+        }
+
+        Set<Player> moved = new HashSet<>();
+        while (!holes.isEmpty()) {
+            String position = holes.poll();
+            Player next = null;
+            for (Player player : positions.get(position)) {
+                if (!unavailable.contains(player) && !moved.contains(player)) {
+                    next = player;
+                    break;
+                }
+            }
+            if (next == null) {
+                continue;
+            }
+            moved.add(next);
+            // a starter pulled over leaves their own position empty
+            for (Map.Entry<String, Player> entry : starters.entrySet()) {
+                if (next.equals(entry.getValue())) {
+                    entry.setValue(null);
+                    holes.add(entry.getKey());
+                }
+            }
+            starters.put(position, next);
+        }
+
+        Map<String, PositionLineup> lineups = new LinkedHashMap<>();
+        List<Player> listed = new ArrayList<>();
+        for (String position : positionOrder) {
+            List<Player> players = positions.get(position);
+            if (players == null) {
+                continue;
+            }
+            Player starter = starters.get(position);
+            lineups.put(position, new PositionLineup(starter, players.get(0),
+                    backups(players, starter, unavailable, moved)));
+            for (Player player : players) {
+                if (unavailable.contains(player) && !listed.contains(player)) {
+                    listed.add(player);
+                }
+            }
+        }
+        return new TeamLineup(chart.version(), List.copyOf(listed), Collections.unmodifiableMap(lineups));
+    }
+
+    private static List<Player> backups(List<Player> players, Player starter, Set<Player> unavailable,
+                                        Set<Player> promoted) {
+        if (players.get(0).equals(starter) && !touches(players, unavailable, promoted)) {
+            // untouched position: the live list is immutable, share it
+            return players.subList(1, players.size());
+        }
+        List<Player> backups = new ArrayList<>(players.size());
+        for (Player player : players) {
+            if (!player.equals(starter) && !unavailable.contains(player) && !promoted.contains(player)) {
+                backups.add(player);
+            }
+        }
+        return Collections.unmodifiableList(backups);
+    }
+
+    private static boolean touches(List<Player> players, Set<Player> unavailable, Set<Player> promoted) {
+        for (int i = 1; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (unavailable.contains(player) || promoted.contains(player)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
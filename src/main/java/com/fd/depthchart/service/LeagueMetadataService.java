@@ -1,10 +1,24 @@
 package com.fd.depthchart.service;
 
+import com.fd.depthchart.model.ValidationResult;
+
+import java.util.Set;
+
 public interface LeagueMetadataService {
-    void validateLeague(String league);
 
-    void validateLeagueTeam(String league, String team);
+    /**
+     * Checks without throwing; callers decide how a rejection reaches the client.
+     */
+    ValidationResult checkLeague(String league);
+
+    ValidationResult checkLeagueTeam(String league, String team);
+
+    ValidationResult checkLeagueTeamPosition(String league, String team, String position);
 
-    void validateLeagueTeamPosition(String league, String team, String position);
+    ValidationResult checkLeaguePosition(String league, String position);
 
+    /**
+     * Positions configured for the league, in catalog order.
+     */
+    Set<String> getPositions(String league);
 }
@@ -0,0 +1,70 @@
+package com.fd.depthchart.service;
+
+import com.fd.depthchart.model.TeamKey;
+
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Teams that have players at a position, per league, so league-wide queries visit only those teams
+ * instead of every chart in the store. Team sets are sorted, which gives queries a stable order.
+ *
+ * Writers update a team after publishing it, outside the store's per-team lock. Like {@link PlayerSearchIndex},
+ * each call carries every position of the team that has players at its version and is diffed against what is
+ * indexed for the team, so an update that arrives after a newer version has been indexed is dropped instead of
+ * emptying a position the newer version refilled. Readers iterate weakly consistent views without locking.
+ */
+final class LeaguePositionIndex {
+
+    private final Map<String, NavigableSet<String>> teamsByLeaguePosition = new ConcurrentHashMap<>();
+    private final Map<TeamKey, IndexedTeam> indexed = new ConcurrentHashMap<>();
+
+    /**
+     * Files the team under exactly {@code positionsWithPlayers} as of {@code version}, unless the same or a newer
+     * version of the team is already indexed.
+     *
+     * @param positionsWithPlayers not changed afterwards
+     */
+    void update(TeamKey team, long version, Set<String> positionsWithPlayers) {
+        IndexedTeam state = indexed.computeIfAbsent(team, k -> new IndexedTeam());
+        synchronized (state) {
+            if (version <= state.version) {
+                return;
+            }
+            for (String position : state.positions) {
+                if (!positionsWithPlayers.contains(position)) {
+                    NavigableSet<String> teams = teamsByLeaguePosition.get(indexKey(team.league(), position));
+                    if (teams != null) {
+                        teams.remove(team.team());
+                    }
+                }
+            }
+            for (String position : positionsWithPlayers) {
+                if (!state.positions.contains(position)) {
+                    teamsByLeaguePosition
+                            .computeIfAbsent(indexKey(team.league(), position), k -> new ConcurrentSkipListSet<>())
+                            .add(team.team());
+                }
+            }
+            state.version = version;
+            state.positions = positionsWithPlayers;
+        }
+    }
+
+    Set<String> teams(String league, String position) {
+        NavigableSet<String> teams = teamsByLeaguePosition.get(indexKey(league, position));
+        return teams == null ? Set.of() : teams;
+    }
+
+    private static String indexKey(String league, String position) {
+        return league + "|" + position;
+    }
+
+    private static final class IndexedTeam {
+        private long version = -1;
+        private Set<String> positions = Set.of();
+    }
+}
@@ -0,0 +1,308 @@
+package com.fd.depthchart.service;
+
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.PlayerSearchHit;
+import com.fd.depthchart.model.TeamKey;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Name and number search over every listed player. Names are folded into tokens
+ * ("Godwin Jr., Chris 17/3" -> godwin, jr, chris, 17, 3) and the jersey number is a token too.
+ * Tokens live in a sorted map, so a prefix is a range scan. Each token is also filed under its
+ * one-letter deletions, which finds tokens one edit away (wrong, missing, extra or swapped letter)
+ * with a few lookups instead of a scan over the vocabulary.
+ *
+ * Writers index a team after publishing it, outside the store's per-team lock. Each call carries the whole
+ * team at its version and is diffed against what is indexed for the team, so a call that arrives after a
+ * newer version has been indexed is dropped rather than applied out of order. Teams index independently;
+ * postings shared across teams are only locked per token. Queries read the maps without locking.
+ */
+final class PlayerSearchIndex {
+
+    // shorter query terms only match by prefix, a typo in three letters is a different name
+    static final int MIN_FUZZY_LENGTH = 4;
+
+    private static final int MAX_PREFIX_TOKENS = 512;
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int FUZZY = 1;
+    private static final int TOKEN_LOCKS = 64;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Map.Entry<PlayerSearchHit, Integer>> RANKING =
+            Map.Entry.<PlayerSearchHit, Integer>comparingByValue().reversed()
+                    .thenComparing(entry -> entry.getKey().league())
+                    .thenComparing(entry -> entry.getKey().team())
+                    .thenComparing(entry -> entry.getKey().position())
+                    .thenComparingInt(entry -> entry.getKey().depth());
+
+    private final ConcurrentNavigableMap<String, Set<PlayerSearchHit>> postings = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> deletions = new ConcurrentHashMap<>();
+    private final Map<TeamKey, IndexedTeam> indexed = new ConcurrentHashMap<>();
+    private final Object[] tokenLocks = new Object[TOKEN_LOCKS];
+
+    PlayerSearchIndex() {
+        for (int i = 0; i < tokenLocks.length; i++) {
+            tokenLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Brings the team's entries to {@code positions} as of {@code version}, unless the same or a newer
+     * version of the team is already indexed.
+     *
+     * @param positions every position of the team, not changed afterwards; positions left out are emptied
+     */
+    void index(TeamKey team, long version, Map<String, List<Player>> positions) {
+        IndexedTeam state = indexed.computeIfAbsent(team, k -> new IndexedTeam());
+        synchronized (state) {
+            if (version <= state.version) {
+                return;
+            }
+            Set<String> all = new LinkedHashSet<>(state.positions.keySet());
+            all.addAll(positions.keySet());
+            for (String position : all) {
+                update(team, position, state.positions.getOrDefault(position, List.of()),
+                        positions.getOrDefault(position, List.of()));
+            }
+            state.version = version;
+            state.positions = positions;
+        }
+    }
+
+    /**
+     * Swaps the entries of one position from its old list to its new one; depths are positional,
+     * so players that only moved are re-filed at their new depth.
+     */
+    private void update(TeamKey team, String position, List<Player> before, List<Player> after) {
+        if (before == after) {
+            return;
+        }
+        for (int depth = 0; depth < before.size(); depth++) {
+            if (depth >= after.size() || !before.get(depth).equals(after.get(depth))) {
+                remove(new PlayerSearchHit(team.league(), team.team(), position, depth, before.get(depth)));
+            }
+        }
+        for (int depth = 0; depth < after.size(); depth++) {
+            if (depth >= before.size() || !after.get(depth).equals(before.get(depth))) {
+                add(new PlayerSearchHit(team.league(), team.team(), position, depth, after.get(depth)));
+            }
+        }
+    }
+
+    /**
+     * Hits matching every term of the query, best first. A term matches a token exactly, as a prefix,
+     * or (from {@link #MIN_FUZZY_LENGTH} letters) one edit away; exact beats prefix beats fuzzy.
+     *
+     * @param league only hits in this league, or null for all
+     */
+    List<PlayerSearchHit> search(String query, String league, int limit) {
+        Map<PlayerSearchHit, Integer> scores = null;
+        for (String term : tokens(query)) {
+            // after the first term only hits still in the running are collected
+            Map<PlayerSearchHit, Integer> matches = match(term, league, scores);
+            if (scores != null) {
+                Map<PlayerSearchHit, Integer> previous = scores;
+                matches.replaceAll((hit, score) -> score + previous.get(hit));
+            }
+            scores = matches;
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        if (scores == null) {
+            return List.of();
+        }
+
+        return top(scores, limit);
+    }
+
+    /**
+     * Best {@code limit} hits without sorting all of them: a common first name can match thousands.
+     */
+    private static List<PlayerSearchHit> top(Map<PlayerSearchHit, Integer> scores, int limit) {
+        // worst of the current best at the head
+        PriorityQueue<Map.Entry<PlayerSearchHit, Integer>> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (Map.Entry<PlayerSearchHit, Integer> entry : scores.entrySet()) {
+            if (best.size() < limit) {
+                best.add(entry);
+            } else if (RANKING.compare(entry, best.peek()) < 0) {
+                best.poll();
+                best.add(entry);
+            }
+        }
+        PlayerSearchHit[] ranked = new PlayerSearchHit[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = best.poll().getKey();
+        }
+        return List.of(ranked);
+    }
+
+    static List<String> tokens(String text) {
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return List.copyOf(tokens);
+    }
+
+    private Map<PlayerSearchHit, Integer> match(String term, String league, Map<PlayerSearchHit, Integer> within) {
+        Map<PlayerSearchHit, Integer> matches = new HashMap<>();
+        int scanned = 0;
+        for (Map.Entry<String, Set<PlayerSearchHit>> entry : postings.tailMap(term, true).entrySet()) {
+            if (!entry.getKey().startsWith(term) || scanned++ == MAX_PREFIX_TOKENS) {
+                break;
+            }
+            collect(entry.getValue(), entry.getKey().length() == term.length() ? EXACT : PREFIX, league, within, matches);
+        }
+
+        if (term.length() >= MIN_FUZZY_LENGTH) {
+            for (String token : fuzzyCandidates(term)) {
+                collect(postings.get(token), FUZZY, league, within, matches);
+            }
+        }
+        return matches;
+    }
+
+    private Set<String> fuzzyCandidates(String term) {
+        Set<String> candidates = new LinkedHashSet<>(deletions.getOrDefault(term, Set.of()));
+        for (String deleted : deletionsOf(term)) {
+            candidates.addAll(deletions.getOrDefault(deleted, Set.of()));
+            if (postings.containsKey(deleted)) {
+                candidates.add(deleted);
+            }
+        }
+        // a shared deletion can also mean two edits, e.g. "xbc" and "bcy"
+        candidates.removeIf(token -> token.equals(term) || !withinOneEdit(term, token));
+        return candidates;
+    }
+
+    private static void collect(Set<PlayerSearchHit> hits, int score, String league,
+                                Map<PlayerSearchHit, Integer> within, Map<PlayerSearchHit, Integer> matches) {
+        if (hits == null) {
+            return;
+        }
+        for (PlayerSearchHit hit : hits) {
+            if ((league == null || league.equals(hit.league())) && (within == null || within.containsKey(hit))) {
+                matches.merge(hit, score, Math::max);
+            }
+        }
+    }
+
+    // a token's postings are created and dropped under its lock; deletion sets are shared between tokens,
+    // so they change only inside compute
+    private void add(PlayerSearchHit hit) {
+        for (String token : tokens(hit.player())) {
+            synchronized (lockFor(token)) {
+                Set<PlayerSearchHit> hits = postings.get(token);
+                if (hits == null) {
+                    hits = ConcurrentHashMap.newKeySet();
+                    postings.put(token, hits);
+                    if (token.length() >= MIN_FUZZY_LENGTH - 1) {
+                        for (String deleted : deletionsOf(token)) {
+                            deletions.compute(deleted, (k, tokens) -> {
+                                Set<String> next = tokens != null ? tokens : ConcurrentHashMap.newKeySet();
+                                next.add(token);
+                                return next;
+                            });
+                        }
+                    }
+                }
+                hits.add(hit);
+            }
+        }
+    }
+
+    private void remove(PlayerSearchHit hit) {
+        for (String token : tokens(hit.player())) {
+            synchronized (lockFor(token)) {
+                Set<PlayerSearchHit> hits = postings.get(token);
+                if (hits == null || !hits.remove(hit) || !hits.isEmpty()) {
+                    continue;
+                }
+                postings.remove(token);
+                for (String deleted : deletionsOf(token)) {
+                    deletions.computeIfPresent(deleted, (k, tokens) -> {
+                        tokens.remove(token);
+                        return tokens.isEmpty() ? null : tokens;
+                    });
+                }
+            }
+        }
+    }
+
+    private Object lockFor(String token) {
+        return tokenLocks[(token.hashCode() & Integer.MAX_VALUE) % tokenLocks.length];
+    }
+
+    private static List<String> tokens(Player player) {
+        List<String> tokens = new ArrayList<>(tokens(player.name()));
+        String number = Integer.toString(player.number());
+        if (!tokens.contains(number)) {
+            tokens.add(number);
+        }
+        return tokens;
+    }
+
+    private static Set<String> deletionsOf(String token) {
+        Set<String> deleted = new LinkedHashSet<>();
+        for (int i = 0; i < token.length(); i++) {
+            deleted.add(token.substring(0, i) + token.substring(i + 1));
+        }
+        return deleted;
+    }
+
+    private static final class IndexedTeam {
+        private long version = -1;
+        private Map<String, List<Player>> positions = Map.of();
+    }
+
+    /**
+     * Optimal string alignment distance of at most one: one substitution, insertion, deletion or adjacent swap.
+     */
+    static boolean withinOneEdit(String a, String b) {
+        if (a.length() < b.length()) {
+            return withinOneEdit(b, a);
+        }
+        if (a.length() - b.length() > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < b.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (a.length() != b.length()) {
+            // skip the extra letter in a
+            return a.regionMatches(i + 1, b, i, b.length() - i);
+        }
+        if (i == a.length()) {
+            return true;
+        }
+        if (a.regionMatches(i + 1, b, i + 1, a.length() - i - 1)) {
+            return true;
+        }
+        return i + 1 < a.length()
+                && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                && a.regionMatches(i + 2, b, i + 2, a.length() - i - 2);
+    }
+}
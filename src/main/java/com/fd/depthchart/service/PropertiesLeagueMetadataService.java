@@ -1,18 +1,18 @@
 package com.fd.depthchart.service;
 
 import com.fd.depthchart.config.LeagueCatalogProperties;
+import com.fd.depthchart.exception.InvalidDepthChartRequestException;
+import com.fd.depthchart.model.ValidationResult;
 import org.springframework.stereotype.Service;
 
+import java.util.Set;
+
 /**
  * Validates league / team / position metadata using configuration-based catalog.
  */
 @Service
 public class PropertiesLeagueMetadataService implements LeagueMetadataService{
 
-    private static final String FIELD_LEAGUE = "league";
-    private static final String FIELD_TEAM = "team";
-    private static final String FIELD_POSITION = "position";
-
     private final LeagueCatalogProperties props;
 
     public PropertiesLeagueMetadataService(LeagueCatalogProperties props) {
@@ -20,54 +20,75 @@ public class PropertiesLeagueMetadataService implements LeagueMetadataService{
     }
 
     @Override
-    public void validateLeague(String league) {
-        getLeagueDataOrThrow(league);
+    public ValidationResult checkLeague(String league) {
+        if (isBlank(league)) {
+            return ValidationResult.LEAGUE_REQUIRED;
+        }
+        return leagueData(league) == null ? ValidationResult.UNSUPPORTED_LEAGUE : ValidationResult.VALID;
     }
 
     @Override
-    public void validateLeagueTeam(String league, String team) {
-        var leagueData = getLeagueDataOrThrow(league);
-        String normalizedTeam = normalize(team, FIELD_TEAM);
-
-        if (!leagueData.getTeams().contains(normalizedTeam)) {
-            throw new IllegalArgumentException("Invalid team: " + normalizedTeam);
+    public ValidationResult checkLeagueTeam(String league, String team) {
+        var leagueData = isBlank(league) ? null : leagueData(league);
+        if (leagueData == null) {
+            return checkLeague(league);
         }
+        return checkTeam(leagueData, team);
     }
 
     @Override
-    public void validateLeagueTeamPosition(String league, String team, String position) {
-        var leagueData = getLeagueDataOrThrow(league);
+    public ValidationResult checkLeagueTeamPosition(String league, String team, String position) {
+        var leagueData = isBlank(league) ? null : leagueData(league);
+        if (leagueData == null) {
+            return checkLeague(league);
+        }
+        ValidationResult result = checkTeam(leagueData, team);
+        return result.isValid() ? checkPosition(leagueData, position) : result;
+    }
 
-        String normalizedTeam = normalize(team, FIELD_TEAM);
-        if (!leagueData.getTeams().contains(normalizedTeam)) {
-            throw new IllegalArgumentException("Invalid team: " + normalizedTeam);
+    @Override
+    public ValidationResult checkLeaguePosition(String league, String position) {
+        var leagueData = isBlank(league) ? null : leagueData(league);
+        if (leagueData == null) {
+            return checkLeague(league);
         }
+        return checkPosition(leagueData, position);
+    }
 
-        String normalizedPosition = normalize(position, FIELD_POSITION);
-        if (!leagueData.getPositions().contains(normalizedPosition)) {
-            throw new IllegalArgumentException("Invalid position: " + normalizedPosition);
+    @Override
+    public Set<String> getPositions(String league) {
+        ValidationResult result = checkLeague(league);
+        if (!result.isValid()) {
+            throw InvalidDepthChartRequestException.of(result, league, null, null);
         }
+        return leagueData(league).getPositions();
     }
 
-    private LeagueCatalogProperties.League getLeagueDataOrThrow(String league) {
-        String normalizedLeague = normalize(league, FIELD_LEAGUE);
+    private ValidationResult checkTeam(LeagueCatalogProperties.League leagueData, String team) {
+        if (isBlank(team)) {
+            return ValidationResult.TEAM_REQUIRED;
+        }
+        return leagueData.getTeams().contains(normalize(team)) ? ValidationResult.VALID : ValidationResult.INVALID_TEAM;
+    }
 
-        var leagueData = props.getLeagues().get(normalizedLeague);
-        if (leagueData == null) {
-            throw new IllegalArgumentException("Unsupported league: " + normalizedLeague);
+    private ValidationResult checkPosition(LeagueCatalogProperties.League leagueData, String position) {
+        if (isBlank(position)) {
+            return ValidationResult.POSITION_REQUIRED;
         }
-        return leagueData;
+        return leagueData.getPositions().contains(normalize(position))
+                ? ValidationResult.VALID
+                : ValidationResult.INVALID_POSITION;
     }
 
-    private LeagueCatalogProperties.League getLeagueDataOrNull(String league) {
-        String normalizedLeague = normalize(league, FIELD_LEAGUE);
-        return props.getLeagues().get(normalizedLeague);
+    private LeagueCatalogProperties.League leagueData(String league) {
+        return props.getLeagues().get(normalize(league));
     }
 
-    private String normalize(String value, String field) {
-        if (value == null || value.trim().isEmpty()) {
-            throw new IllegalArgumentException(field + " is required");
-        }
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String normalize(String value) {
         return value.trim().toUpperCase();
     }
 
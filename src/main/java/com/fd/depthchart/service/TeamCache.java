@@ -0,0 +1,273 @@
+package com.fd.depthchart.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fd.depthchart.config.DepthChartDataLoader;
+import com.fd.depthchart.config.TeamCacheProperties;
+import com.fd.depthchart.model.DepthChartDTO;
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.TeamKey;
+import com.fd.depthchart.repository.DepthChartRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Access tracking and spill storage for the optional team memory budget.
+ * The store asks which resident teams are cold (TTL or LRU past max-teams), spills them here
+ * and drops them from the heap; the next access reloads the spilled file through
+ * {@link DepthChartDataLoader#readDepthChart}. When disabled every call is a cheap no-op.
+ */
+@Component
+@Slf4j
+public class TeamCache {
+
+    private final TeamCacheProperties props;
+    private final ObjectMapper objectMapper;
+
+    private final Map<TeamKey, Long> lastAccessNanos = new ConcurrentHashMap<>();
+    // spilled team -> version in its file; file moves and deletes run inside this map's per-key lock
+    private final Map<TeamKey, Long> spilled = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter reloads;
+
+    private final AtomicBoolean sweepPending = new AtomicBoolean();
+    private volatile ScheduledExecutorService sweeper;
+    private volatile Runnable evictor;
+
+    public TeamCache(TeamCacheProperties props, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.hits = meterRegistry.counter("depthchart.cache.hits");
+        this.misses = meterRegistry.counter("depthchart.cache.misses");
+        this.evictions = meterRegistry.counter("depthchart.cache.evictions");
+        this.reloads = meterRegistry.counter("depthchart.cache.reloads");
+    }
+
+    public static TeamCache disabled() {
+        return new TeamCache(new TeamCacheProperties(), new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    public boolean isEnabled() {
+        return props.isEnabled();
+    }
+
+    /**
+     * Starts the periodic sweep. {@code evictor} is expected to call {@link #selectVictims} and {@link #spill}.
+     */
+    public synchronized void start(Runnable evictor, DepthChartRepository resident) {
+        Gauge.builder("depthchart.cache.resident.teams", resident, DepthChartRepository::size).register(meterRegistry);
+        if (!props.isEnabled() || sweeper != null || props.getSweepInterval().isZero()) {
+            return;
+        }
+
+        this.evictor = evictor;
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "depth-chart-cache-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = props.getSweepInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+            sweeper = null;
+        }
+    }
+
+    public void recordHit(TeamKey team) {
+        if (props.isEnabled()) {
+            hits.increment();
+            lastAccessNanos.put(team, System.nanoTime());
+        }
+    }
+
+    public void recordMiss(TeamKey team) {
+        if (props.isEnabled()) {
+            misses.increment();
+            lastAccessNanos.put(team, System.nanoTime());
+        }
+    }
+
+    /**
+     * Asks for an early sweep once the heap holds more teams than allowed.
+     */
+    public void onResidentCount(int residentTeams) {
+        if (!props.isEnabled() || residentTeams <= props.getMaxTeams()) {
+            return;
+        }
+        ScheduledExecutorService current = sweeper;
+        if (current != null && sweepPending.compareAndSet(false, true)) {
+            current.execute(this::sweep);
+        }
+    }
+
+    public boolean isSpilled(TeamKey team) {
+        return !spilled.isEmpty() && spilled.containsKey(team);
+    }
+
+    public Set<TeamKey> spilledTeams() {
+        return Set.copyOf(spilled.keySet());
+    }
+
+    /**
+     * Resident teams to evict: idle past the TTL, then least recently used beyond max-teams.
+     */
+    public List<TeamKey> selectVictims(Set<TeamKey> resident) {
+        if (!props.isEnabled()) {
+            return List.of();
+        }
+
+        long now = System.nanoTime();
+        long ttlNanos = props.getTtl().toNanos();
+        List<TeamKey> victims = new ArrayList<>();
+        List<TeamKey> survivors = new ArrayList<>();
+        for (TeamKey team : resident) {
+            long last = lastAccessNanos.getOrDefault(team, now);
+            if (now - last > ttlNanos) {
+                victims.add(team);
+            } else {
+                survivors.add(team);
+            }
+        }
+
+        int excess = survivors.size() - props.getMaxTeams();
+        if (excess > 0) {
+            survivors.sort(Comparator.comparingLong(team -> lastAccessNanos.getOrDefault(team, now)));
+            victims.addAll(survivors.subList(0, excess));
+        }
+        return victims;
+    }
+
+    /**
+     * Writes the team in the classpath data format. The caller drops it from the heap afterwards.
+     */
+    public void spill(TeamKey team, TeamDepthChart chart) {
+        DepthChartDTO dto = new DepthChartDTO();
+        dto.setLeague(team.league());
+        dto.setTeam(team.team());
+        dto.setVersion(chart.version());
+        dto.setPositions(chart.positions());
+
+        Path file = spillFile(team);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            objectMapper.writeValue(tmp.toFile(), dto);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to spill " + team, ex);
+        }
+
+        spilled.compute(team, (k, previous) -> {
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to spill " + team, ex);
+            }
+            return chart.version();
+        });
+        lastAccessNanos.remove(team);
+        evictions.increment();
+    }
+
+    /**
+     * Reads a spilled team back, or returns null if it was reloaded by someone else in the meantime.
+     * The team stays marked as spilled until {@link #markResident} is called. Only non-empty charts are
+     * spilled, always with their version, so a file without either is corrupt rather than an empty team.
+     */
+    public TeamDepthChart readSpilled(TeamKey team) {
+        try (InputStream in = Files.newInputStream(spillFile(team))) {
+            DepthChartDTO dto = DepthChartDataLoader.readDepthChart(objectMapper, in);
+            if (dto == null || dto.getVersion() == null) {
+                throw new IllegalStateException("Corrupt spill file " + spillFile(team) + ": no positions or version");
+            }
+            return TeamDepthChart.of(dto.getVersion(), dto.getPositions());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Corrupt spill file " + spillFile(team), ex);
+        } catch (NoSuchFileException ex) {
+            if (!isSpilled(team)) {
+                return null;
+            }
+            throw new UncheckedIOException("Failed to reload spilled team " + team, ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to reload spilled team " + team, ex);
+        }
+    }
+
+    /**
+     * True while {@code version} is the spilled copy of the team, i.e. a reload that read it may still
+     * put it back on the heap.
+     */
+    public boolean isSpilledAt(TeamKey team, long version) {
+        Long spilledVersion = spilled.get(team);
+        return spilledVersion != null && spilledVersion == version;
+    }
+
+    /**
+     * The team's spilled copy at {@code version} is back on the heap: forgets it and deletes its file.
+     * A newer spill that got in first is left alone.
+     */
+    public void markResident(TeamKey team, long version) {
+        spilled.computeIfPresent(team, (k, spilledVersion) -> {
+            if (spilledVersion != version) {
+                return spilledVersion;
+            }
+            try {
+                Files.deleteIfExists(spillFile(k));
+            } catch (IOException ex) {
+                // harmless, the next spill of the team overwrites it
+                log.warn("Could not delete spill file of {}: {}", k, ex.getMessage());
+            }
+            reloads.increment();
+            return null;
+        });
+    }
+
+    private void sweep() {
+        sweepPending.set(false);
+        try {
+            evictor.run();
+        } catch (RuntimeException ex) {
+            log.error("Team cache sweep failed", ex);
+        }
+    }
+
+    private Path spillFile(TeamKey team) {
+        return Path.of(props.getSpillDirectory(),
+                team.league().toLowerCase(Locale.ROOT),
+                team.team().toLowerCase(Locale.ROOT) + ".json");
+    }
+}
@@ -0,0 +1,198 @@
+package com.fd.depthchart.snapshot;
+
+import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.Player;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.fd.depthchart.snapshot.SnapshotFormat.*;
+
+/**
+ * Writes the whole store into the binary layout described in {@link SnapshotFormat}.
+ * The file is written next to the target and moved into place, so readers never see a partial file.
+ */
+public final class DepthChartSnapshotWriter {
+
+    private DepthChartSnapshotWriter() {
+    }
+
+    public static void write(Map<DepthChartKey, List<Player>> depthCharts, Path target) throws IOException {
+        write(depthCharts, target, MappedDepthChartSnapshot.NO_SOURCE_STAMP);
+    }
+
+    /**
+     * Writes the snapshot recording {@code sourceStamp}, a checksum of the data it was built from,
+     * so a reader can tell when the sources have changed since.
+     */
+    public static void write(Map<DepthChartKey, List<Player>> depthCharts, Path target, long sourceStamp)
+            throws IOException {
+        ByteBuffer buffer = encode(depthCharts, sourceStamp);
+
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static ByteBuffer encode(Map<DepthChartKey, List<Player>> depthCharts, long sourceStamp) {
+        // group keys by team so a team's positions are contiguous in the key section
+        Map<String, List<Map.Entry<DepthChartKey, List<Player>>>> byTeam = new LinkedHashMap<>();
+        for (Map.Entry<DepthChartKey, List<Player>> entry : depthCharts.entrySet()) {
+            if (entry.getValue() == null || entry.getValue().isEmpty()) {
+                continue;
+            }
+            DepthChartKey key = entry.getKey();
+            byTeam.computeIfAbsent(teamHashInput(key.league(), key.team()), k -> new ArrayList<>()).add(entry);
+        }
+
+        StringTable strings = new StringTable();
+        Map<Player, Integer> playerIndex = new LinkedHashMap<>();
+        List<int[]> keys = new ArrayList<>();
+        List<int[]> teams = new ArrayList<>();
+        List<String> keyHashInputs = new ArrayList<>();
+        List<String> teamHashInputs = new ArrayList<>();
+        List<Integer> depth = new ArrayList<>();
+
+        for (Map.Entry<String, List<Map.Entry<DepthChartKey, List<Player>>>> team : byTeam.entrySet()) {
+            DepthChartKey first = team.getValue().get(0).getKey();
+            teams.add(new int[]{
+                    strings.indexOf(first.league()), strings.indexOf(first.team()), keys.size(), team.getValue().size()
+            });
+            teamHashInputs.add(team.getKey());
+
+            for (Map.Entry<DepthChartKey, List<Player>> entry : team.getValue()) {
+                DepthChartKey key = entry.getKey();
+                keys.add(new int[]{
+                        strings.indexOf(key.league()), strings.indexOf(key.team()), strings.indexOf(key.position()),
+                        depth.size(), entry.getValue().size()
+                });
+                keyHashInputs.add(keyHashInput(key.league(), key.team(), key.position()));
+
+                for (Player player : entry.getValue()) {
+                    Integer idx = playerIndex.get(player);
+                    if (idx == null) {
+                        idx = playerIndex.size();
+                        playerIndex.put(player, idx);
+                        strings.indexOf(player.name());
+                    }
+                    depth.add(idx);
+                }
+            }
+        }
+
+        int keySlots = slotsFor(keys.size());
+        int teamSlots = slotsFor(teams.size());
+        byte[][] blobs = strings.encoded();
+        int blobSize = 0;
+        for (byte[] b : blobs) {
+            blobSize += b.length;
+        }
+
+        int stringsOffset = HEADER_SIZE;
+        int playersOffset = stringsOffset + blobs.length * STRING_ENTRY;
+        int keysOffset = playersOffset + playerIndex.size() * PLAYER_ENTRY;
+        int keyTableOffset = keysOffset + keys.size() * KEY_ENTRY;
+        int teamsOffset = keyTableOffset + keySlots * Integer.BYTES;
+        int teamTableOffset = teamsOffset + teams.size() * TEAM_ENTRY;
+        int depthOffset = teamTableOffset + teamSlots * Integer.BYTES;
+        int blobOffset = depthOffset + depth.size() * Integer.BYTES;
+        long totalSize = (long) blobOffset + blobSize;
+        if (totalSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Snapshot exceeds 2GB: " + totalSize + " bytes");
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate((int) totalSize);
+        buf.putInt(MAGIC).putInt(VERSION)
+                .putInt(blobs.length).putInt(playerIndex.size()).putInt(keys.size()).putInt(teams.size())
+                .putInt(depth.size()).putInt(keySlots).putInt(teamSlots)
+                .putInt(stringsOffset).putInt(playersOffset).putInt(keysOffset).putInt(keyTableOffset)
+                .putInt(teamsOffset).putInt(teamTableOffset).putInt(depthOffset).putInt(blobOffset)
+                .putLong(sourceStamp).putLong(totalSize);
+        buf.putInt(headerChecksum(buf));
+
+        int cursor = 0;
+        for (byte[] b : blobs) {
+            buf.putInt(cursor).putInt(b.length);
+            cursor += b.length;
+        }
+        for (Player player : playerIndex.keySet()) {
+            buf.putInt(player.number()).putInt(strings.indexOf(player.name()));
+        }
+        for (int[] key : keys) {
+            for (int v : key) {
+                buf.putInt(v);
+            }
+        }
+        putHashTable(buf, keyTableOffset, keySlots, keyHashInputs);
+        buf.position(teamsOffset);
+        for (int[] team : teams) {
+            for (int v : team) {
+                buf.putInt(v);
+            }
+        }
+        putHashTable(buf, teamTableOffset, teamSlots, teamHashInputs);
+        buf.position(depthOffset);
+        for (int idx : depth) {
+            buf.putInt(idx);
+        }
+        for (byte[] b : blobs) {
+            buf.put(b);
+        }
+
+        buf.flip();
+        return buf;
+    }
+
+    private static void putHashTable(ByteBuffer buf, int offset, int slots, List<String> hashInputs) {
+        for (int i = 0; i < hashInputs.size(); i++) {
+            int slot = slotOf(hashInputs.get(i), slots);
+            while (buf.getInt(offset + slot * Integer.BYTES) != 0) {
+                slot = (slot + 1) & (slots - 1);
+            }
+            buf.putInt(offset + slot * Integer.BYTES, i + 1);
+        }
+        buf.position(offset + slots * Integer.BYTES);
+    }
+
+    private static final class StringTable {
+        private final Map<String, Integer> index = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int indexOf(String value) {
+            String v = value == null ? "" : value;
+            return index.computeIfAbsent(v, k -> {
+                values.add(k);
+                return values.size() - 1;
+            });
+        }
+
+        byte[][] encoded() {
+            byte[][] result = new byte[values.size()][];
+            for (int i = 0; i < values.size(); i++) {
+                result[i] = values.get(i).getBytes(StandardCharsets.UTF_8);
+            }
+            return result;
+        }
+    }
+}
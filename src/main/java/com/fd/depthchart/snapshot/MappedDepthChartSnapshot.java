@@ -0,0 +1,303 @@
+package com.fd.depthchart.snapshot;
+
+import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.TeamKey;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static com.fd.depthchart.snapshot.SnapshotFormat.*;
+
+/**
+ * Read-only view over a snapshot file mapped with {@link FileChannel#map}.
+ * Opening reads only the header: its checksum, the recorded file size and the section bounds, so it takes
+ * the same time for any dataset and a truncated file or a damaged header is rejected up front. Entries are
+ * checked as they are read: every index and offset a lookup follows is bounds-checked against its section
+ * and probing is bounded, so a corrupt entry fails that lookup instead of reading outside its section.
+ * Lookups go through the hash tables in the file and decode just the requested lists.
+ * Only absolute reads are used, so a single instance is safe to share between threads.
+ */
+public final class MappedDepthChartSnapshot {
+
+    /**
+     * Stamp of a snapshot written without recording its sources; never matches a real source stamp.
+     */
+    public static final long NO_SOURCE_STAMP = 0L;
+
+    private final ByteBuffer buf;
+    private final Path source;
+
+    private final int stringCount;
+    private final int playerCount;
+    private final int keyCount;
+    private final int teamCount;
+    private final int keySlots;
+    private final int teamSlots;
+    private final int stringsOffset;
+    private final int playersOffset;
+    private final int keysOffset;
+    private final int keyTableOffset;
+    private final int teamsOffset;
+    private final int teamTableOffset;
+    private final int depthOffset;
+    private final int blobOffset;
+    private final int depthCount;
+    private final long sourceStamp;
+
+    private MappedDepthChartSnapshot(ByteBuffer buf, Path source) {
+        this.buf = buf;
+        this.source = source;
+
+        if (buf.capacity() < HEADER_SIZE || buf.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a depth chart snapshot: " + source);
+        }
+        if (buf.getInt(4) != VERSION) {
+            throw new IllegalStateException("Unsupported snapshot version " + buf.getInt(4) + " in " + source);
+        }
+        if (buf.getInt(HEADER_CHECKSUM) != headerChecksum(buf)) {
+            throw corrupt("header checksum mismatch");
+        }
+        if (buf.getLong(FILE_SIZE) != buf.capacity()) {
+            throw corrupt("file is " + buf.capacity() + " bytes, header says " + buf.getLong(FILE_SIZE));
+        }
+
+        this.stringCount = buf.getInt(STRING_COUNT);
+        this.playerCount = buf.getInt(PLAYER_COUNT);
+        this.keyCount = buf.getInt(KEY_COUNT);
+        this.teamCount = buf.getInt(TEAM_COUNT);
+        this.keySlots = buf.getInt(KEY_SLOTS);
+        this.teamSlots = buf.getInt(TEAM_SLOTS);
+        this.stringsOffset = buf.getInt(STRINGS_OFFSET);
+        this.playersOffset = buf.getInt(PLAYERS_OFFSET);
+        this.keysOffset = buf.getInt(KEYS_OFFSET);
+        this.keyTableOffset = buf.getInt(KEY_TABLE_OFFSET);
+        this.teamsOffset = buf.getInt(TEAMS_OFFSET);
+        this.teamTableOffset = buf.getInt(TEAM_TABLE_OFFSET);
+        this.depthOffset = buf.getInt(DEPTH_OFFSET);
+        this.blobOffset = buf.getInt(BLOB_OFFSET);
+        this.depthCount = buf.getInt(DEPTH_COUNT);
+        this.sourceStamp = buf.getLong(SOURCE_STAMP);
+
+        validateLayout();
+    }
+
+    public static MappedDepthChartSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedDepthChartSnapshot(mapped, path);
+        }
+    }
+
+    public Path getSource() {
+        return source;
+    }
+
+    public int getKeyCount() {
+        return keyCount;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    /**
+     * Stamp of the sources the snapshot was built from, {@link #NO_SOURCE_STAMP} if not recorded.
+     */
+    public long getSourceStamp() {
+        return sourceStamp;
+    }
+
+    /**
+     * Depth list for the key, or null if the snapshot does not hold it.
+     */
+    public List<Player> get(DepthChartKey key) {
+        int entry = findKey(key.league(), key.team(), key.position());
+        if (entry < 0) {
+            return null;
+        }
+        return readDepth(entry);
+    }
+
+    /**
+     * Position -> depth list for a team, in snapshot order. Empty if the team is not in the snapshot.
+     */
+    public Map<String, List<Player>> getTeam(String league, String team) {
+        int teamEntry = findTeam(league, team);
+        if (teamEntry < 0) {
+            return Map.of();
+        }
+        int base = teamsOffset + teamEntry * TEAM_ENTRY;
+        int firstKey = buf.getInt(base + 8);
+        int count = buf.getInt(base + 12);
+        checkRange("keys of team " + teamEntry, firstKey, count, keyCount);
+
+        Map<String, List<Player>> result = new LinkedHashMap<>();
+        for (int k = firstKey; k < firstKey + count; k++) {
+            result.put(readString(buf.getInt(keysOffset + k * KEY_ENTRY + 8)), readDepth(k));
+        }
+        return result;
+    }
+
+    /**
+     * Visits every key in the snapshot. Decodes everything, so only meant for exports and rewrites.
+     */
+    public void forEach(BiConsumer<DepthChartKey, List<Player>> consumer) {
+        for (int k = 0; k < keyCount; k++) {
+            consumer.accept(readKey(k), readDepth(k));
+        }
+    }
+
+    /**
+     * Visits every key without decoding the depth lists.
+     */
+    public void forEachKey(Consumer<DepthChartKey> consumer) {
+        for (int k = 0; k < keyCount; k++) {
+            consumer.accept(readKey(k));
+        }
+    }
+
+    /**
+     * Visits every team in the snapshot, in file order.
+     */
+    public void forEachTeam(Consumer<TeamKey> consumer) {
+        for (int t = 0; t < teamCount; t++) {
+            int base = teamsOffset + t * TEAM_ENTRY;
+            consumer.accept(new TeamKey(readString(buf.getInt(base)), readString(buf.getInt(base + 4))));
+        }
+    }
+
+    private void validateLayout() {
+        if (stringCount < 0 || playerCount < 0 || keyCount < 0 || teamCount < 0 || depthCount < 0) {
+            throw corrupt("negative count");
+        }
+        checkSection("strings", stringsOffset, stringCount, STRING_ENTRY);
+        checkSection("players", playersOffset, playerCount, PLAYER_ENTRY);
+        checkSection("keys", keysOffset, keyCount, KEY_ENTRY);
+        checkSection("key table", keyTableOffset, keySlots, Integer.BYTES);
+        checkSection("teams", teamsOffset, teamCount, TEAM_ENTRY);
+        checkSection("team table", teamTableOffset, teamSlots, Integer.BYTES);
+        checkSection("depth", depthOffset, depthCount, Integer.BYTES);
+        checkSection("blob", blobOffset, 0, 1);
+        checkTableSize("key table", keySlots);
+        checkTableSize("team table", teamSlots);
+    }
+
+    private void checkSection(String name, int offset, int count, int entrySize) {
+        if (offset < HEADER_SIZE || count < 0 || offset + (long) count * entrySize > buf.capacity()) {
+            throw corrupt(name + " section outside the file");
+        }
+    }
+
+    private void checkTableSize(String name, int slots) {
+        if (slots <= 0 || (slots & (slots - 1)) != 0) {
+            throw corrupt(name + " size " + slots + " is not a power of two");
+        }
+    }
+
+    private void checkIndex(String name, int index, int count) {
+        if (index < 0 || index >= count) {
+            throw corrupt(name + " " + index + " out of range");
+        }
+    }
+
+    private void checkRange(String name, int start, int length, int count) {
+        if (start < 0 || length < 0 || (long) start + length > count) {
+            throw corrupt(name + " out of range");
+        }
+    }
+
+    private IllegalStateException corrupt(String reason) {
+        return new IllegalStateException("Corrupt depth chart snapshot " + source + ": " + reason);
+    }
+
+    private DepthChartKey readKey(int keyEntry) {
+        int base = keysOffset + keyEntry * KEY_ENTRY;
+        return new DepthChartKey(
+                readString(buf.getInt(base)),
+                readString(buf.getInt(base + 4)),
+                readString(buf.getInt(base + 8))
+        );
+    }
+
+    private int findKey(String league, String team, String position) {
+        int slot = slotOf(keyHashInput(league, team, position), keySlots);
+        for (int probes = 0; probes < keySlots; probes++) {
+            int entry = buf.getInt(keyTableOffset + slot * Integer.BYTES) - 1;
+            if (entry < 0) {
+                return -1;
+            }
+            checkIndex("key table entry", entry, keyCount);
+            int base = keysOffset + entry * KEY_ENTRY;
+            if (stringEquals(buf.getInt(base + 8), position)
+                    && stringEquals(buf.getInt(base + 4), team)
+                    && stringEquals(buf.getInt(base), league)) {
+                return entry;
+            }
+            slot = (slot + 1) & (keySlots - 1);
+        }
+        throw corrupt("key table has no empty slot");
+    }
+
+    private int findTeam(String league, String team) {
+        int slot = slotOf(teamHashInput(league, team), teamSlots);
+        for (int probes = 0; probes < teamSlots; probes++) {
+            int entry = buf.getInt(teamTableOffset + slot * Integer.BYTES) - 1;
+            if (entry < 0) {
+                return -1;
+            }
+            checkIndex("team table entry", entry, teamCount);
+            int base = teamsOffset + entry * TEAM_ENTRY;
+            if (stringEquals(buf.getInt(base + 4), team) && stringEquals(buf.getInt(base), league)) {
+                return entry;
+            }
+            slot = (slot + 1) & (teamSlots - 1);
+        }
+        throw corrupt("team table has no empty slot");
+    }
+
+    private List<Player> readDepth(int keyEntry) {
+        int base = keysOffset + keyEntry * KEY_ENTRY;
+        int start = buf.getInt(base + 12);
+        int length = buf.getInt(base + 16);
+        checkRange("depth list of key " + keyEntry, start, length, depthCount);
+
+        List<Player> players = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            int player = buf.getInt(depthOffset + (start + i) * Integer.BYTES);
+            checkIndex("depth entry", player, playerCount);
+            int playerEntry = playersOffset + player * PLAYER_ENTRY;
+            players.add(new Player(buf.getInt(playerEntry), readString(buf.getInt(playerEntry + 4))));
+        }
+        return Collections.unmodifiableList(players);
+    }
+
+    private String readString(int index) {
+        checkIndex("string", index, stringCount);
+        int base = stringsOffset + index * STRING_ENTRY;
+        int offset = buf.getInt(base);
+        int length = buf.getInt(base + 4);
+        if (offset < 0 || length < 0 || (long) blobOffset + offset + length > buf.capacity()) {
+            throw corrupt("string " + index + " outside the blob");
+        }
+        byte[] bytes = new byte[length];
+        buf.get(blobOffset + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean stringEquals(int index, String expected) {
+        return readString(index).equals(expected);
+    }
+}
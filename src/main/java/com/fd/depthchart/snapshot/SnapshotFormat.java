@@ -0,0 +1,85 @@
+package com.fd.depthchart.snapshot;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Layout of the binary depth chart snapshot. All values are big-endian.
+ *
+ * <pre>
+ * header    MAGIC, VERSION, stringCount, playerCount, keyCount, teamCount, depthCount, keySlots, teamSlots,
+ *           then the int offset of every section below, the long stamp of the sources it was built from,
+ *           the long size of the whole file and a CRC32 of the header bytes before it
+ * strings   stringCount x (blobOffset, byteLength)
+ * players   playerCount x (number, nameString)
+ * keys      keyCount x (leagueString, teamString, positionString, depthStart, depthLength), grouped by team
+ * keyTable  keySlots x (keyIndex + 1, 0 = empty) - open addressing on "LEAGUE|TEAM|POSITION"
+ * teams     teamCount x (leagueString, teamString, firstKey, keyCount)
+ * teamTable teamSlots x (teamIndex + 1, 0 = empty) - open addressing on "LEAGUE|TEAM"
+ * depth     depthCount x playerIndex, ordered by depth within each key
+ * blob      UTF-8 bytes of every string
+ * </pre>
+ */
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x44435331; // "DCS1"
+    static final int VERSION = 3;
+
+    static final int STRING_COUNT = 8;
+    static final int PLAYER_COUNT = 12;
+    static final int KEY_COUNT = 16;
+    static final int TEAM_COUNT = 20;
+    static final int DEPTH_COUNT = 24;
+    static final int KEY_SLOTS = 28;
+    static final int TEAM_SLOTS = 32;
+    static final int STRINGS_OFFSET = 36;
+    static final int PLAYERS_OFFSET = 40;
+    static final int KEYS_OFFSET = 44;
+    static final int KEY_TABLE_OFFSET = 48;
+    static final int TEAMS_OFFSET = 52;
+    static final int TEAM_TABLE_OFFSET = 56;
+    static final int DEPTH_OFFSET = 60;
+    static final int BLOB_OFFSET = 64;
+    static final int SOURCE_STAMP = 68;
+    static final int FILE_SIZE = 76;
+    static final int HEADER_CHECKSUM = 84;
+    static final int HEADER_SIZE = 88;
+
+    static final int STRING_ENTRY = 8;
+    static final int PLAYER_ENTRY = 8;
+    static final int KEY_ENTRY = 20;
+    static final int TEAM_ENTRY = 16;
+
+    private SnapshotFormat() {
+    }
+
+    static String keyHashInput(String league, String team, String position) {
+        return league + "|" + team + "|" + position;
+    }
+
+    static String teamHashInput(String league, String team) {
+        return league + "|" + team;
+    }
+
+    /**
+     * Power of two with at most 50% load.
+     */
+    static int slotsFor(int entries) {
+        int slots = 2;
+        while (slots < entries * 2) {
+            slots <<= 1;
+        }
+        return slots;
+    }
+
+    static int headerChecksum(ByteBuffer buf) {
+        CRC32 crc = new CRC32();
+        crc.update(buf.slice(0, HEADER_CHECKSUM));
+        return (int) crc.getValue();
+    }
+
+    static int slotOf(String hashInput, int slots) {
+        int h = hashInput.hashCode();
+        return (h ^ (h >>> 16)) & (slots - 1);
+    }
+}
@@ -0,0 +1,48 @@
+package com.fd.depthchart.unit.config;
+
+import com.fd.depthchart.config.DepthChartRuntimeHints;
+import com.fd.depthchart.config.LeagueCatalogProperties;
+import com.fd.depthchart.model.DepthChartDTO;
+import com.fd.depthchart.model.DepthChartDiff;
+import com.fd.depthchart.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DepthChartRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new DepthChartRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Jackson-bound models and the league catalog are registered for reflection")
+    void registersBindingHints() {
+        for (Class<?> type : new Class<?>[]{
+                Player.class,
+                DepthChartDTO.class,
+                DepthChartDiff.PositionDiff.class,
+                LeagueCatalogProperties.League.class}) {
+            assertTrue(RuntimeHintsPredicates.reflection()
+                            .onType(type)
+                            .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                            .test(hints),
+                    type.getName());
+        }
+    }
+
+    @Test
+    @DisplayName("classpath depth chart files are included as resources")
+    void registersDataResources() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("data/nfl/tb_2022.json").test(hints));
+    }
+}
@@ -0,0 +1,170 @@
+package com.fd.depthchart.unit.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fd.depthchart.controller.ChartBodies;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.TeamKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChartBodiesTest {
+
+    private static final TeamKey TB = TeamKey.of("NFL", "TB");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ChartBodies bodies = new ChartBodies(objectMapper);
+
+    @Test
+    @DisplayName("TC: A version is serialized and compressed once, then served from the cache")
+    void get_encodesOncePerVersion() {
+        AtomicInteger reads = new AtomicInteger();
+        Map<String, List<Player>> chart = largeChart();
+
+        ChartBodies.Variants first = bodies.get(TB, 3, () -> {
+            reads.incrementAndGet();
+            return TeamDepthChart.of(3, chart);
+        });
+        ChartBodies.Variants second = bodies.get(TB, 3, () -> {
+            reads.incrementAndGet();
+            return TeamDepthChart.of(3, chart);
+        });
+
+        assertEquals(1, reads.get());
+        assertSame(first, second);
+        assertEquals(3, first.version());
+    }
+
+    @Test
+    @DisplayName("TC: A newer version replaces the cached bodies")
+    void get_newVersion_reencodes() throws IOException {
+        bodies.get(TB, 3, () -> TeamDepthChart.of(3, largeChart()));
+        Map<String, List<Player>> updated = largeChart();
+        updated.put("K", List.of(new Player(3, "Ryan Succop")));
+
+        ChartBodies.Variants variants = bodies.get(TB, 4, () -> TeamDepthChart.of(4, updated));
+
+        assertEquals(4, variants.version());
+        assertArrayEquals(objectMapper.writeValueAsBytes(updated), variants.identity());
+        assertArrayEquals(variants.identity(), gunzip(variants.gzip()));
+    }
+
+    @Test
+    @DisplayName("TC: A request that read an older version gets the newer cached bodies with their own version")
+    void get_olderVersion_returnsNewerCachedBodies() {
+        bodies.get(TB, 5, () -> TeamDepthChart.of(5, largeChart()));
+
+        ChartBodies.Variants variants = bodies.get(TB, 4, () -> fail("cached version is newer"));
+
+        assertEquals(5, variants.version());
+    }
+
+    @Test
+    @DisplayName("TC: A chart written after the version was read is cached under its own version, not the one asked for")
+    void get_chartNewerThanRequested_taggedWithChartVersion() throws IOException {
+        Map<String, List<Player>> updated = largeChart();
+        updated.put("K", List.of(new Player(3, "Ryan Succop")));
+
+        ChartBodies.Variants variants = bodies.get(TB, 3, () -> TeamDepthChart.of(4, updated));
+
+        assertEquals(4, variants.version());
+        assertArrayEquals(objectMapper.writeValueAsBytes(updated), variants.identity());
+        assertSame(variants, bodies.get(TB, 4, () -> fail("version 4 is cached")));
+    }
+
+    @Test
+    @DisplayName("TC: Gzip variant is smaller and decompresses to the JSON body")
+    void get_largeChart_producesGzip() throws IOException {
+        ChartBodies.Variants variants = bodies.get(TB, 1, () -> TeamDepthChart.of(1, largeChart()));
+
+        assertNotNull(variants.gzip());
+        assertTrue(variants.gzip().length < variants.identity().length);
+        assertArrayEquals(variants.identity(), gunzip(variants.gzip()));
+    }
+
+    @Test
+    @DisplayName("TC: Small charts are not compressed")
+    void get_smallChart_identityOnly() {
+        ChartBodies.Variants variants = bodies.get(TB, 1,
+                () -> TeamDepthChart.of(1, Map.of("QB", List.of(new Player(12, "Tom Brady")))));
+
+        assertTrue(variants.identity().length < ChartBodies.MIN_COMPRESSED_SIZE);
+        assertNull(variants.gzip());
+        assertEquals(ChartBodies.IDENTITY, bodies.negotiate("gzip, br", variants));
+    }
+
+    @Test
+    @DisplayName("TC: Negotiation prefers brotli, then gzip, and honours q-values and exclusions")
+    void negotiate_followsAcceptEncoding() {
+        ChartBodies.Variants all = new ChartBodies.Variants(1, new byte[300], new byte[100], new byte[80]);
+        ChartBodies.Variants gzipOnly = new ChartBodies.Variants(1, new byte[300], new byte[100], null);
+
+        assertEquals(ChartBodies.IDENTITY, bodies.negotiate(null, all));
+        assertEquals(ChartBodies.IDENTITY, bodies.negotiate("deflate", all));
+        assertEquals(ChartBodies.GZIP, bodies.negotiate("gzip", all));
+        assertEquals(ChartBodies.GZIP, bodies.negotiate("x-gzip", all));
+        assertEquals(ChartBodies.BROTLI, bodies.negotiate("gzip, deflate, br", all));
+        assertEquals(ChartBodies.GZIP, bodies.negotiate("gzip, deflate, br", gzipOnly));
+        assertEquals(ChartBodies.GZIP, bodies.negotiate("br;q=0.5, gzip;q=0.8", all));
+        assertEquals(ChartBodies.GZIP, bodies.negotiate("br;q=0, *", all));
+        assertEquals(ChartBodies.BROTLI, bodies.negotiate("*", all));
+        assertEquals(ChartBodies.IDENTITY, bodies.negotiate("gzip;q=0", all));
+        assertEquals(ChartBodies.IDENTITY, bodies.negotiate("gzip;q=0.5, identity", all));
+    }
+
+    @Test
+    @DisplayName("TC: Past its bound the cache evicts teams nobody read since they were cached, not the polled ones")
+    void get_overBound_evictsColdTeamsOnly() {
+        ChartBodies small = new ChartBodies(objectMapper, 8);
+        TeamKey hot = TeamKey.of("NFL", "T0");
+        for (int i = 0; i < 8; i++) {
+            small.get(TeamKey.of("NFL", "T" + i), 1, () -> TeamDepthChart.of(1, Map.of()));
+        }
+        small.get(hot, 1, () -> fail("hot team is cached"));
+
+        // one team too many: the sweep brings the cache back to 7 of the 9
+        small.get(TeamKey.of("NFL", "T8"), 1, () -> TeamDepthChart.of(1, Map.of()));
+
+        assertEquals(1, small.get(hot, 1, () -> fail("hot team was evicted")).version());
+        int evicted = 0;
+        for (int i = 1; i <= 8; i++) {
+            try {
+                small.get(TeamKey.of("NFL", "T" + i), 1, () -> {
+                    throw new IllegalStateException("evicted");
+                });
+            } catch (IllegalStateException ex) {
+                evicted++;
+            }
+        }
+        assertEquals(2, evicted);
+    }
+
+    private Map<String, List<Player>> largeChart() {
+        Map<String, List<Player>> chart = new LinkedHashMap<>();
+        for (String position : List.of("QB", "RB", "WR", "TE", "LT", "LG", "C", "RG", "RT")) {
+            List<Player> players = new ArrayList<>();
+            for (int depth = 0; depth < 4; depth++) {
+                players.add(new Player(10 + depth, position + " Player " + depth));
+            }
+            chart.put(position, players);
+        }
+        return chart;
+    }
+
+    private static byte[] gunzip(byte[] gzip) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        }
+    }
+}
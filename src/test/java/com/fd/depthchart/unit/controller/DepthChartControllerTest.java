@@ -2,22 +2,39 @@ package com.fd.depthchart.unit.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fd.depthchart.controller.DepthChartController;
+import com.fd.depthchart.exception.VersionConflictException;
+import com.fd.depthchart.model.DepthChartDiff;
 import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.LeagueDepthEntry;
+import com.fd.depthchart.model.LineupSimulation;
 import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.PlayerSearchHit;
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.Validated;
+import com.fd.depthchart.model.ValidationResult;
+import com.fd.depthchart.model.VersionTag;
 import com.fd.depthchart.service.DepthChartService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -25,6 +42,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(controllers = DepthChartController.class)
 public class DepthChartControllerTest {
 
+    private static final String EPOCH = "k3x9";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -34,6 +53,11 @@ public class DepthChartControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @BeforeEach
+    void stubEpoch() {
+        when(depthChartService.getEpoch()).thenReturn(EPOCH);
+    }
+
     @Test
     @DisplayName("TC: Add player returns 201 and delegates to service")
     void addPlayerToDepthChart_shouldReturnsCreated() throws Exception {
@@ -53,7 +77,43 @@ public class DepthChartControllerTest {
 
         // also verify that service is called
         verify(depthChartService)
-                .addPlayerToDepthChart(any(), eq(player), eq(0));
+                .addPlayerToDepthChart(any(), eq(player), eq(0), isNull());
+    }
+
+    @Test
+    @DisplayName("TC: Get backups returns the cached 400 body for an unknown team")
+    void getBackups_invalidTeam_shouldReturnCachedBadRequest() throws Exception {
+        Player player = new Player(12, "Tom Brady");
+        when(depthChartService.lookupBackups(any(), eq(player)))
+                .thenReturn(Validated.rejected(ValidationResult.INVALID_TEAM, "NFL", "xyz", "QB"));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/{league}/teams/{team}/depth-chart/{position}/backups",
+                            "nfl", "xyz", "qb")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(player)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.error").value("Illegal argument"))
+                    .andExpect(jsonPath("$.message").value("Invalid team: XYZ"))
+                    .andExpect(jsonPath("$.timestamp").isNotEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("TC: Full depth chart returns the cached 400 body for an unknown team without reading a chart")
+    void getFullDepthChart_invalidTeam_shouldReturnCachedBadRequest() throws Exception {
+        when(depthChartService.lookupDepthChartVersion("nfl", "xyz"))
+                .thenReturn(Validated.rejected(ValidationResult.INVALID_TEAM, "NFL", "xyz", null));
+
+        mockMvc.perform(get("/api/v1/{league}/teams/{team}/depth-chart", "nfl", "xyz"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error").value("Illegal argument"))
+                .andExpect(jsonPath("$.message").value("Invalid team: XYZ"))
+                .andExpect(jsonPath("$.timestamp").isNotEmpty());
+
+        verify(depthChartService, never()).getTeamDepthChart(any(), any());
     }
 
     @Test
@@ -65,7 +125,7 @@ public class DepthChartControllerTest {
         // service throws validation error
         doThrow(new IllegalArgumentException("Unsupported league: xxx"))
                 .when(depthChartService)
-                .addPlayerToDepthChart(any(), eq(player), eq(0));
+                .addPlayerToDepthChart(any(), eq(player), eq(0), isNull());
 
         // when and then
         mockMvc.perform(post("/api/v1/{league}/teams/{team}/depth-chart/{position}",
@@ -77,7 +137,57 @@ public class DepthChartControllerTest {
                 .andExpect(jsonPath("$.message").value("Unsupported league: xxx"));
 
         verify(depthChartService)
-                .addPlayerToDepthChart(any(), eq(player), eq(0));
+                .addPlayerToDepthChart(any(), eq(player), eq(0), isNull());
+    }
+
+    @Test
+    @DisplayName("TC: Add player with a stale If-Match returns 412 with the current ETag")
+    void addPlayerToDepthChart_staleIfMatch_shouldReturnPreconditionFailed() throws Exception {
+        Player player = new Player(12, "Tom Brady");
+
+        doThrow(new VersionConflictException("NFL", "TB", new VersionTag(EPOCH, 3), new VersionTag(EPOCH, 5)))
+                .when(depthChartService)
+                .addPlayerToDepthChart(any(), eq(player), eq(0), eq(3L));
+
+        mockMvc.perform(post("/api/v1/{league}/teams/{team}/depth-chart/{position}",
+                        "NFL", "TB", "QB")
+                        .queryParam("position_depth", "0")
+                        .header("If-Match", "\"" + EPOCH + ".3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(player)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", "\"" + EPOCH + ".5\""));
+    }
+
+    @Test
+    @DisplayName("TC: Add player with an If-Match from before a restart returns 412 without writing")
+    void addPlayerToDepthChart_ifMatchFromOtherEpoch_shouldReturnPreconditionFailed() throws Exception {
+        Player player = new Player(12, "Tom Brady");
+        when(depthChartService.getDepthChartVersion("NFL", "TB")).thenReturn(3L);
+
+        for (String ifMatch : List.of("\"old1.3\"", "\"3\"")) {
+            mockMvc.perform(post("/api/v1/{league}/teams/{team}/depth-chart/{position}",
+                            "NFL", "TB", "QB")
+                            .header("If-Match", ifMatch)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(player)))
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(header().string("ETag", "\"" + EPOCH + ".3\""));
+        }
+
+        verify(depthChartService, never()).addPlayerToDepthChart(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("TC: Remove player with a malformed If-Match returns 400")
+    void removePlayer_malformedIfMatch_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(delete("/api/v1/NFL/teams/TB/depth-chart/QB")
+                        .header("If-Match", "\"abc\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Player(12, "Tom Brady"))))
+                .andExpect(status().isBadRequest());
+
+        verify(depthChartService, never()).removePlayerFromDepthChart(any(), any(), any());
     }
 
 
@@ -90,8 +200,9 @@ public class DepthChartControllerTest {
                 "WR", List.of(new Player(13, "Mike Evans"))
         );
 
-        when(depthChartService.getFullDepthChart("nfl", "tb"))
-                .thenReturn(chart);
+        when(depthChartService.lookupDepthChartVersion("nfl", "tb")).thenReturn(Validated.valid(1L));
+        when(depthChartService.getTeamDepthChart("nfl", "tb"))
+                .thenReturn(TeamDepthChart.of(1L, chart));
 
         // when / then
         mockMvc.perform(get("/api/v1/{league}/teams/{team}/depth-chart",
@@ -104,7 +215,53 @@ public class DepthChartControllerTest {
                 .andExpect(jsonPath("$.WR[0].number").value(13))
                 .andExpect(jsonPath("$.WR[0].name").value("Mike Evans"));
 
-        verify(depthChartService).getFullDepthChart("nfl", "tb");
+        verify(depthChartService).getTeamDepthChart("nfl", "tb");
+    }
+
+    @Test
+    @DisplayName("TC: Full depth chart is served pre-compressed when the client accepts gzip")
+    void getFullDepthChart_acceptsGzip_returnsCompressedBody() throws Exception {
+        List<Player> receivers = new ArrayList<>();
+        for (int number = 80; number < 100; number++) {
+            receivers.add(new Player(number, "Receiver " + number));
+        }
+        when(depthChartService.lookupDepthChartVersion("nfl", "ne")).thenReturn(Validated.valid(7L));
+        when(depthChartService.getTeamDepthChart("nfl", "ne")).thenReturn(TeamDepthChart.of(7L, Map.of("WR", receivers)));
+
+        byte[] body = mockMvc.perform(get("/api/v1/{league}/teams/{team}/depth-chart", "nfl", "ne")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + EPOCH + ".7-gzip\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            Map<?, ?> chart = objectMapper.readValue(in.readAllBytes(), Map.class);
+            assertEquals(20, ((List<?>) chart.get("WR")).size());
+        }
+
+        mockMvc.perform(get("/api/v1/{league}/teams/{team}/depth-chart", "nfl", "ne"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + EPOCH + ".7\""))
+                .andExpect(jsonPath("$.WR[0].number").value(80));
+        // the second request was served from the bodies cached for version 7
+        verify(depthChartService, times(1)).getTeamDepthChart("nfl", "ne");
+    }
+
+    @Test
+    @DisplayName("TC: Full depth chart ETag is the version of the chart the body was read from")
+    void getFullDepthChart_writtenAfterVersionRead_tagsBodyWithItsOwnVersion() throws Exception {
+        // a write lands between the version check and the chart read
+        when(depthChartService.lookupDepthChartVersion("nfl", "no")).thenReturn(Validated.valid(3L));
+        when(depthChartService.getTeamDepthChart("nfl", "no"))
+                .thenReturn(TeamDepthChart.of(4L, Map.of("QB", List.of(new Player(9, "Drew Brees")))));
+
+        mockMvc.perform(get("/api/v1/{league}/teams/{team}/depth-chart", "nfl", "no"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + EPOCH + ".4\""))
+                .andExpect(jsonPath("$.QB[0].name").value("Drew Brees"));
     }
 
     @Test
@@ -113,7 +270,7 @@ public class DepthChartControllerTest {
         DepthChartKey key = DepthChartKey.of("NFL", "TB", "QB");
         Player player = new Player(12, "Tom Brady");
 
-        when(depthChartService.removePlayerFromDepthChart(eq(key), any(Player.class)))
+        when(depthChartService.removePlayerFromDepthChart(eq(key), any(Player.class), isNull()))
                 .thenReturn(List.of(player));
 
         mockMvc.perform(delete("/api/v1/NFL/teams/TB/depth-chart/QB")
@@ -134,7 +291,7 @@ public class DepthChartControllerTest {
     void removePlayer_whenPlayerNotFound_shouldReturnEmptyList() throws Exception {
         DepthChartKey key = DepthChartKey.of("NFL", "TB", "QB");
 
-        when(depthChartService.removePlayerFromDepthChart(eq(key), any(Player.class)))
+        when(depthChartService.removePlayerFromDepthChart(eq(key), any(Player.class), isNull()))
                 .thenReturn(List.of());
 
         mockMvc.perform(delete("/api/v1/NFL/teams/TB/depth-chart/QB")
@@ -149,6 +306,48 @@ public class DepthChartControllerTest {
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    @DisplayName("TC: Move player returns the position's new order")
+    void movePlayer_shouldReturnNewOrder() throws Exception {
+        DepthChartKey key = DepthChartKey.of("NFL", "TB", "QB");
+        Player brady = new Player(12, "Tom Brady");
+        Player trask = new Player(2, "Kyle Trask");
+
+        when(depthChartService.movePlayer(eq(key), eq(trask), eq(0), eq(4L)))
+                .thenReturn(List.of(trask, brady));
+
+        mockMvc.perform(post("/api/v1/NFL/teams/TB/depth-chart/QB/move")
+                        .queryParam("to_depth", "0")
+                        .header("If-Match", "\"" + EPOCH + ".4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(trask)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].number").value(2))
+                .andExpect(jsonPath("$[1].number").value(12));
+    }
+
+    @Test
+    @DisplayName("TC: If-Match accepts the ETag of a compressed response as its version")
+    void movePlayer_ifMatchWithCodingSuffix_shouldUseVersion() throws Exception {
+        DepthChartKey key = DepthChartKey.of("NFL", "TB", "QB");
+        Player brady = new Player(12, "Tom Brady");
+        Player trask = new Player(2, "Kyle Trask");
+
+        when(depthChartService.movePlayer(eq(key), eq(trask), eq(0), eq(4L)))
+                .thenReturn(List.of(trask, brady));
+
+        for (String ifMatch : List.of("\"" + EPOCH + ".4-gzip\"", "\"" + EPOCH + ".4-br\"", "W/\"" + EPOCH + ".4\"")) {
+            mockMvc.perform(post("/api/v1/NFL/teams/TB/depth-chart/QB/move")
+                            .queryParam("to_depth", "0")
+                            .header("If-Match", ifMatch)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(trask)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].number").value(2));
+        }
+        verify(depthChartService, times(3)).movePlayer(eq(key), eq(trask), eq(0), eq(4L));
+    }
+
     @Test
     @DisplayName("TC: Get backup, returns backup players")
     void getBackups_shouldReturnBackupPlayers() throws Exception {
@@ -158,8 +357,8 @@ public class DepthChartControllerTest {
                 new Player(7, "Backup Two")
         );
 
-        when(depthChartService.getBackups(eq(key), any(Player.class)))
-                .thenReturn(backups);
+        when(depthChartService.lookupBackups(eq(key), any(Player.class)))
+                .thenReturn(Validated.valid(backups));
 
         mockMvc.perform(post("/api/v1/NFL/teams/TB/depth-chart/QB/backups")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -181,8 +380,8 @@ public class DepthChartControllerTest {
     void getBackups_whenNoBackups_shouldReturnEmptyList() throws Exception {
         DepthChartKey key = DepthChartKey.of("NFL", "TB", "QB");
 
-        when(depthChartService.getBackups(eq(key), any(Player.class)))
-                .thenReturn(List.of());
+        when(depthChartService.lookupBackups(eq(key), any(Player.class)))
+                .thenReturn(Validated.valid(List.of()));
 
         mockMvc.perform(post("/api/v1/NFL/teams/TB/depth-chart/QB/backups")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -196,4 +395,88 @@ public class DepthChartControllerTest {
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    @DisplayName("TC: Diff returns changed positions and the current version as ETag")
+    void getDepthChartDiff_shouldReturnDiff() throws Exception {
+        Player trask = new Player(2, "Kyle Trask");
+        DepthChartDiff diff = new DepthChartDiff("NFL", "TB", EPOCH, 3, 5, false,
+                Map.of("QB", new DepthChartDiff.PositionDiff(
+                        List.of(new DepthChartDiff.DepthEntry(trask, null, 0)), List.of(), List.of())),
+                Map.of());
+
+        when(depthChartService.getDepthChartDiff("NFL", "TB", new VersionTag(EPOCH, 3))).thenReturn(diff);
+
+        mockMvc.perform(get("/api/v1/NFL/teams/TB/depth-chart/diff")
+                        .queryParam("since_version", EPOCH + ".3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + EPOCH + ".5\""))
+                .andExpect(jsonPath("$.fullSnapshot").value(false))
+                .andExpect(jsonPath("$.positions.QB.added[0].player.name").value("Kyle Trask"))
+                .andExpect(jsonPath("$.positions.QB.added[0].depth").value(0));
+    }
+
+    @Test
+    @DisplayName("TC: League query streams one row per player as a JSON array")
+    void queryLeagueDepthCharts_streamsRows() throws Exception {
+        when(depthChartService.queryLeague("NFL", List.of("QB"), 0, 0)).thenReturn(Stream.of(
+                new LeagueDepthEntry("NE", "QB", 0, new Player(10, "Mac Jones")),
+                new LeagueDepthEntry("TB", "QB", 0, new Player(12, "Tom Brady"))));
+
+        var result = mockMvc.perform(get("/api/v1/NFL/depth-chart")
+                        .queryParam("position", "QB")
+                        .queryParam("max_depth", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].team").value("TB"))
+                .andExpect(jsonPath("$[1].player.name").value("Tom Brady"));
+    }
+
+    @Test
+    @DisplayName("TC: League query rejects an invalid depth range with 400 before streaming")
+    void queryLeagueDepthCharts_invalidRange_returnsBadRequest() throws Exception {
+        when(depthChartService.queryLeague("NFL", null, 3, 1))
+                .thenThrow(new IllegalArgumentException("max_depth must be >= min_depth"));
+
+        mockMvc.perform(get("/api/v1/NFL/depth-chart")
+                        .queryParam("min_depth", "3")
+                        .queryParam("max_depth", "1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("TC: What-if returns the simulated lineups of the affected teams")
+    void simulateUnavailable_returnsLineups() throws Exception {
+        Player brady = new Player(12, "Tom Brady");
+        Player gabbert = new Player(6, "Blaine Gabbert");
+        Map<String, List<Player>> unavailable = Map.of("TB", List.of(brady));
+        when(depthChartService.simulateUnavailable("NFL", unavailable)).thenReturn(new LineupSimulation("NFL", Map.of(
+                "TB", new LineupSimulation.TeamLineup(7L, List.of(brady), Map.of(
+                        "QB", new LineupSimulation.PositionLineup(gabbert, brady, List.of()))))));
+
+        mockMvc.perform(post("/api/v1/NFL/depth-chart/what-if")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(unavailable)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teams.TB.version").value(7))
+                .andExpect(jsonPath("$.teams.TB.positions.QB.starter.name").value("Blaine Gabbert"))
+                .andExpect(jsonPath("$.teams.TB.positions.QB.previousStarter.name").value("Tom Brady"));
+    }
+
+    @Test
+    @DisplayName("TC: Player search passes the query through and returns the hits")
+    void searchPlayers_returnsHits() throws Exception {
+        Player godwin = new Player(14, "Godwin Jr., Chris 17/3");
+        when(depthChartService.searchPlayers("godw", null, 20))
+                .thenReturn(List.of(new PlayerSearchHit("NFL", "TB", "WR", 1, godwin)));
+
+        mockMvc.perform(get("/api/v1/players/search").queryParam("q", "godw"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].team").value("TB"))
+                .andExpect(jsonPath("$[0].depth").value(1))
+                .andExpect(jsonPath("$[0].player.name").value("Godwin Jr., Chris 17/3"));
+    }
 }
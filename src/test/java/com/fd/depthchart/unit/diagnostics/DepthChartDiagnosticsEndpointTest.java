@@ -0,0 +1,104 @@
+package com.fd.depthchart.unit.diagnostics;
+
+import com.fd.depthchart.config.DiagnosticsProperties;
+import com.fd.depthchart.config.LeagueCatalogProperties;
+import com.fd.depthchart.diagnostics.DepthChartDiagnosticsEndpoint;
+import com.fd.depthchart.diagnostics.DiagnosticsReport;
+import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.service.DepthChartServiceImpl;
+import com.fd.depthchart.service.PropertiesLeagueMetadataService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DepthChartDiagnosticsEndpointTest {
+
+    private DepthChartDiagnosticsEndpoint endpoint;
+    private DepthChartServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        LeagueCatalogProperties.League nfl = new LeagueCatalogProperties.League();
+        nfl.setTeams(Set.of("TB", "NE"));
+        nfl.setPositions(Set.of("QB", "WR"));
+        LeagueCatalogProperties catalog = new LeagueCatalogProperties();
+        catalog.setLeagues(Map.of("NFL", nfl));
+
+        service = new DepthChartServiceImpl(new PropertiesLeagueMetadataService(catalog));
+        endpoint = new DepthChartDiagnosticsEndpoint(new DiagnosticsProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.shutdown();
+    }
+
+    @Test
+    @DisplayName("report is idle before any recording was started")
+    void report_beforeStart_isIdle() {
+        DiagnosticsReport report = endpoint.report();
+
+        assertFalse(report.recording());
+        assertTrue(report.operations().isEmpty());
+    }
+
+    @Test
+    @DisplayName("a recording reports operation timings and the hottest keys")
+    void recording_reportsOperationsAndHottestKeys() throws Exception {
+        assertTrue(endpoint.start(60L).recording());
+
+        DepthChartKey qb = DepthChartKey.of("NFL", "TB", "QB");
+        Player brady = new Player(12, "Tom Brady");
+        service.addPlayerToDepthChart(qb, brady, null);
+        service.addPlayerToDepthChart(qb, new Player(11, "Blaine Gabbert"), null);
+        for (int i = 0; i < 20; i++) {
+            service.getBackups(qb, brady);
+        }
+        service.getFullDepthChart("NFL", "NE");
+
+        // the stream delivers events about once a second
+        DiagnosticsReport report = endpoint.report();
+        for (int i = 0; i < 100 && report.operations().size() < 3; i++) {
+            Thread.sleep(100);
+            report = endpoint.report();
+        }
+
+        DiagnosticsReport.OperationSummary backups = report.operations().stream()
+                .filter(summary -> summary.operation().equals("getBackups"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no getBackups events in " + endpoint.report()));
+        assertEquals(20, backups.count());
+        assertEquals("NFL/TB/QB", report.hottestKeys().get(0).key());
+        assertEquals(22, report.hottestKeys().get(0).operations());
+        assertFalse(report.slowest().isEmpty());
+
+        assertFalse(endpoint.stop().recording());
+        // the last window stays readable after the recording stopped
+        assertEquals(3, endpoint.report().operations().size());
+    }
+
+    @Test
+    @DisplayName("calls that fail validation are recorded too")
+    void recording_includesFailedCalls() throws Exception {
+        assertTrue(endpoint.start(60L).recording());
+
+        assertThrows(IllegalArgumentException.class, () -> service.getFullDepthChart("NFL", "XX"));
+
+        DiagnosticsReport report = endpoint.report();
+        for (int i = 0; i < 100 && report.operations().isEmpty(); i++) {
+            Thread.sleep(100);
+            report = endpoint.report();
+        }
+
+        assertEquals(1, report.operations().size());
+        assertEquals("getFullDepthChart", report.operations().get(0).operation());
+        assertEquals("NFL/XX", report.hottestKeys().get(0).key());
+    }
+}
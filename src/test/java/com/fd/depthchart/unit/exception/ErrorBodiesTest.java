@@ -0,0 +1,46 @@
+package com.fd.depthchart.unit.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fd.depthchart.exception.ErrorBodies;
+import com.fd.depthchart.exception.InvalidDepthChartRequestException;
+import com.fd.depthchart.model.ValidationResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorBodiesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ErrorBodies errorBodies = new ErrorBodies(objectMapper);
+
+    @Test
+    @DisplayName("the offending value is JSON-escaped into the cached message")
+    void writeIllegalArgument_escapesValue() throws IOException {
+        JsonNode body = write(InvalidDepthChartRequestException.of(ValidationResult.INVALID_TEAM, "NFL", "x\"}\\y", "QB"));
+
+        assertEquals(ErrorBodies.ILLEGAL_ARGUMENT, body.get("error").asText());
+        assertEquals("Invalid team: X\"}\\Y", body.get("message").asText());
+        assertFalse(body.get("timestamp").asText().isEmpty());
+    }
+
+    @Test
+    @DisplayName("a missing value writes the message of its reason alone")
+    void writeIllegalArgument_missingValue() throws IOException {
+        JsonNode body = write(InvalidDepthChartRequestException.of(ValidationResult.TEAM_REQUIRED, "NFL", null, null));
+
+        assertEquals("team is required", body.get("message").asText());
+    }
+
+    private JsonNode write(InvalidDepthChartRequestException ex) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        errorBodies.writeIllegalArgument(ex, out);
+        JsonNode body = objectMapper.readTree(out.toByteArray());
+        assertEquals(ex.getMessage(), body.get("message").asText());
+        return body;
+    }
+}
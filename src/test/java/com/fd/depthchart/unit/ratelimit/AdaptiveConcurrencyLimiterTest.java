@@ -0,0 +1,41 @@
+package com.fd.depthchart.unit.ratelimit;
+
+import com.fd.depthchart.ratelimit.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("writes are shed before reads once their share of the limit is used")
+    void tryAcquire_reservesCapacityForReads() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 2.0, 0.5);
+
+        assertTrue(limiter.tryAcquire(true));
+        assertTrue(limiter.tryAcquire(true));
+        assertFalse(limiter.tryAcquire(true));
+
+        assertTrue(limiter.tryAcquire(false));
+        assertTrue(limiter.tryAcquire(false));
+        assertFalse(limiter.tryAcquire(false));
+    }
+
+    @Test
+    @DisplayName("limit shrinks when latency shows queueing")
+    void release_shrinksLimitOnSlowRequests() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 100, 2.0, 0.5);
+
+        limiter.tryAcquire(false);
+        limiter.release(1_000_000);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(false);
+            limiter.release(50_000_000);
+        }
+
+        assertTrue(limiter.getLimit() < 20);
+        assertEquals(0, limiter.getInFlight());
+    }
+}
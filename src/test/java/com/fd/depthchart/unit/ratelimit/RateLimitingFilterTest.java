@@ -0,0 +1,182 @@
+package com.fd.depthchart.unit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fd.depthchart.config.RateLimitProperties;
+import com.fd.depthchart.config.WarmupGate;
+import com.fd.depthchart.ratelimit.RateLimitingFilter;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitingFilterTest {
+
+    private static final String CHART = "/api/v1/NFL/teams/TB/depth-chart";
+    private static final String LEAGUE = "/api/v1/NFL/depth-chart";
+
+    // stands in for the MVC handler mapping: request URI -> handler pattern
+    private static final Map<String, String> ROUTES = Map.of(
+            CHART, "/api/v1/{league}/teams/{team}/depth-chart",
+            "/api/v1/NFL/teams/KC/depth-chart", "/api/v1/{league}/teams/{team}/depth-chart",
+            "/api/v1/NFL/teams/KC/depth-chart/diff", "/api/v1/{league}/teams/{team}/depth-chart/diff",
+            LEAGUE, "/api/v1/{league}/depth-chart",
+            "/api/v1/MLB/depth-chart", "/api/v1/{league}/depth-chart"
+    );
+
+    private static final HandlerMapping HANDLER_MAPPING = request -> {
+        String pattern = ROUTES.get(request.getRequestURI());
+        if (pattern != null) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        }
+        return null;
+    };
+
+    @Test
+    @DisplayName("a client header does not buy a fresh bucket, clients are keyed by remote address")
+    void doFilter_ignoresClientHeaderForBuckets() throws Exception {
+        RateLimitingFilter filter = filter(props(1, 100));
+
+        assertEquals(200, get(filter, "10.0.0.1", "client-a").getStatus());
+        assertEquals(429, get(filter, "10.0.0.1", "client-b").getStatus());
+        assertEquals(200, get(filter, "10.0.0.2", "client-b").getStatus());
+    }
+
+    @Test
+    @DisplayName("at the bucket cap new clients are rejected while known clients keep their buckets")
+    void doFilter_rejectsNewClientsAtCap() throws Exception {
+        RateLimitingFilter filter = filter(props(5, 1));
+
+        assertEquals(200, get(filter, "10.0.0.1", null).getStatus());
+        MockHttpServletResponse rejected = get(filter, "10.0.0.2", null);
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(200, get(filter, "10.0.0.1", null).getStatus());
+    }
+
+    @Test
+    @DisplayName("warmup calls bypass the limit only from loopback, with the running warmup's token")
+    void doFilter_warmupBypassNeedsOpenGateAndToken() throws Exception {
+        WarmupGate gate = new WarmupGate();
+        RateLimitingFilter filter =
+                new RateLimitingFilter(props(1, 100), new ObjectMapper().findAndRegisterModules(), gate, HANDLER_MAPPING);
+
+        // gate closed, as it always is with warmup disabled
+        assertEquals(200, get(filter, "127.0.0.1", null, "true").getStatus());
+        assertEquals(429, get(filter, "127.0.0.1", null, "true").getStatus());
+
+        String token = gate.open();
+        assertEquals(429, get(filter, "127.0.0.1", null, "guess").getStatus());
+        // the right token from a remote caller is limited like any other request
+        assertEquals(200, get(filter, "10.0.0.1", null, token).getStatus());
+        assertEquals(429, get(filter, "10.0.0.1", null, token).getStatus());
+        assertEquals(200, get(filter, "127.0.0.1", null, token).getStatus());
+        assertEquals(200, get(filter, "127.0.0.1", null, token).getStatus());
+
+        gate.close();
+        assertEquals(429, get(filter, "127.0.0.1", null, token).getStatus());
+    }
+
+    @Test
+    @DisplayName("calls to one route share a bucket whatever the path variables, other routes have their own")
+    void doFilter_keysBucketsByHandlerPattern() throws Exception {
+        RateLimitingFilter filter = filter(props(1, 100));
+
+        assertEquals(200, get(filter, CHART).getStatus());
+        assertEquals(429, get(filter, "/api/v1/NFL/teams/KC/depth-chart").getStatus());
+        assertEquals(200, get(filter, "/api/v1/NFL/teams/KC/depth-chart/diff").getStatus());
+        assertEquals(200, get(filter, LEAGUE).getStatus());
+        assertEquals(429, get(filter, "/api/v1/MLB/depth-chart").getStatus());
+    }
+
+    @Test
+    @DisplayName("a streamed response holds its slot until the async response completes")
+    void doFilter_streamedResponseHoldsSlotUntilComplete() throws Exception {
+        RateLimitingFilter filter = filter(singleSlot());
+
+        MockHttpServletRequest streamed = request(LEAGUE);
+        streamed.setAsyncSupported(true);
+        FilterChain startsStreaming = (req, res) -> req.startAsync();
+        filter.doFilter(streamed, new MockHttpServletResponse(), startsStreaming);
+        AsyncContext async = streamed.getAsyncContext();
+
+        assertEquals(503, get(filter, LEAGUE).getStatus());
+
+        async.complete();
+        assertEquals(200, get(filter, LEAGUE).getStatus());
+    }
+
+    @Test
+    @DisplayName("heavy endpoints have their own limiter, so a saturated league-wide query does not shed team calls")
+    void doFilter_heavyEndpointsDoNotShedLightOnes() throws Exception {
+        RateLimitingFilter filter = filter(singleSlot());
+
+        MockHttpServletRequest streamed = request(LEAGUE);
+        streamed.setAsyncSupported(true);
+        filter.doFilter(streamed, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertEquals(503, get(filter, "/api/v1/MLB/depth-chart").getStatus());
+        assertEquals(200, get(filter, CHART).getStatus());
+    }
+
+    private static RateLimitProperties singleSlot() {
+        RateLimitProperties props = props(100, 100);
+        props.getConcurrency().setInitialLimit(1);
+        props.getConcurrency().setMinLimit(1);
+        props.getConcurrency().setMaxLimit(1);
+        return props;
+    }
+
+    private static RateLimitProperties props(long readCapacity, int maxTrackedBuckets) {
+        RateLimitProperties props = new RateLimitProperties();
+        props.setEnabled(true);
+        props.setMaxTrackedBuckets(maxTrackedBuckets);
+        // slow refill so nothing comes back during the test
+        props.setRead(new RateLimitProperties.Bucket(readCapacity, 0.001));
+        return props;
+    }
+
+    private static RateLimitingFilter filter(RateLimitProperties props) {
+        return new RateLimitingFilter(props, new ObjectMapper().findAndRegisterModules(), new WarmupGate(),
+                HANDLER_MAPPING);
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    private static MockHttpServletResponse get(RateLimitingFilter filter, String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(uri), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletResponse get(RateLimitingFilter filter, String remoteAddr, String clientId)
+            throws Exception {
+        return get(filter, remoteAddr, clientId, null);
+    }
+
+    private static MockHttpServletResponse get(RateLimitingFilter filter, String remoteAddr, String clientId,
+                                               String warmupToken) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", CHART);
+        request.setRemoteAddr(remoteAddr);
+        if (clientId != null) {
+            request.addHeader("X-Client-Id", clientId);
+        }
+        if (warmupToken != null) {
+            request.addHeader(WarmupGate.HEADER, warmupToken);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,42 @@
+package com.fd.depthchart.unit.ratelimit;
+
+import com.fd.depthchart.ratelimit.TokenBucket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("tryAcquire allows up to capacity, then rejects")
+    void tryAcquire_rejectsWhenEmpty() {
+        TokenBucket bucket = new TokenBucket(2, 1, clock::get);
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("tokens refill over time, never above capacity")
+    void tryAcquire_refillsOverTime() {
+        TokenBucket bucket = new TokenBucket(2, 1, clock::get);
+        bucket.tryAcquire();
+        bucket.tryAcquire();
+
+        assertTrue(bucket.nanosUntilNextToken() > 0);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(bucket.isFull());
+    }
+}
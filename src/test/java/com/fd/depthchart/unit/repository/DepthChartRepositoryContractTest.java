@@ -0,0 +1,281 @@
+package com.fd.depthchart.unit.repository;
+
+import com.fd.depthchart.config.LeagueCatalogProperties;
+import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.TeamKey;
+import com.fd.depthchart.model.VersionTag;
+import com.fd.depthchart.repository.DepthChartRepository;
+import com.fd.depthchart.service.DepthChartServiceImpl;
+import com.fd.depthchart.service.DepthChartWriteMode;
+import com.fd.depthchart.service.HotKeyTracker;
+import com.fd.depthchart.service.PropertiesLeagueMetadataService;
+import com.fd.depthchart.service.TeamCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * What every {@link DepthChartRepository} backend has to do; each backend runs it through a subclass.
+ */
+abstract class DepthChartRepositoryContractTest {
+
+    private static final TeamKey TB = new TeamKey("NFL", "TB");
+    private static final TeamKey NE = new TeamKey("NFL", "NE");
+
+    @TempDir
+    Path tempDir;
+
+    protected DepthChartRepository repository;
+
+    protected abstract DepthChartRepository createRepository(Path directory);
+
+    /**
+     * Makes writes of the team fail from now on; false for a backend whose writes cannot fail.
+     */
+    protected boolean failWrites(TeamKey team) throws IOException {
+        return false;
+    }
+
+    @BeforeEach
+    void setUp() {
+        repository = createRepository(tempDir);
+    }
+
+    @Test
+    @DisplayName("an empty repository holds no teams")
+    void emptyRepository() {
+        assertNull(repository.get(TB));
+        assertFalse(repository.contains(TB));
+        assertTrue(repository.isEmpty());
+        assertEquals(Set.of(), Set.copyOf(repository.keys()));
+    }
+
+    @Test
+    @DisplayName("the epoch is stable and usable in a version tag")
+    void epoch_isStableTagPart() {
+        String epoch = repository.epoch();
+
+        assertFalse(epoch == null || epoch.isBlank());
+        assertFalse(epoch.contains("."));
+        assertEquals(epoch, repository.epoch());
+    }
+
+    @Test
+    @DisplayName("compute stores the chart it returns, and reads give back the same content")
+    void compute_storesAndReadsBack() {
+        TeamDepthChart chart = chart(3L, "QB", new Player(12, "Tom Brady"), new Player(6, "Blaine Gabbert"));
+
+        assertSame(chart, repository.compute(TB, (k, stored) -> {
+            assertNull(stored);
+            return chart;
+        }));
+
+        assertEquals(chart, repository.get(TB));
+        assertTrue(repository.contains(TB));
+        assertEquals(1, repository.size());
+        assertEquals(Set.of(TB), Set.copyOf(repository.keys()));
+    }
+
+    @Test
+    @DisplayName("getPosition reads one position of a stored team")
+    void getPosition_readsOnePosition() {
+        Player brady = new Player(12, "Tom Brady");
+        Player evans = new Player(13, "Mike Evans");
+        Player godwin = new Player(14, "Godwin Jr., Chris");
+        repository.compute(TB, (k, stored) -> TeamDepthChart.of(2L,
+                Map.of("QB", List.of(brady), "WR", List.of(evans, godwin), "TE", List.of())));
+
+        assertEquals(List.of(evans, godwin), repository.getPosition(TB, "WR"));
+        assertEquals(List.of(brady), repository.getPosition(TB, "QB"));
+        assertEquals(List.of(), repository.getPosition(TB, "TE"));
+        assertEquals(List.of(), repository.getPosition(TB, "K"));
+        assertNull(repository.getPosition(NE, "QB"));
+    }
+
+    @Test
+    @DisplayName("version reads the stored version, or -1 for a team the repository does not hold")
+    void version_readsStoredVersion() {
+        repository.compute(TB, (k, stored) -> chart(4L, "QB", new Player(12, "Tom Brady")));
+
+        assertEquals(4L, repository.version(TB));
+        assertEquals(-1L, repository.version(NE));
+
+        repository.remove(TB, 4L);
+        assertEquals(-1L, repository.version(TB));
+    }
+
+    @Test
+    @DisplayName("compute hands the stored chart to the function; returning it keeps it, null removes the team")
+    void compute_seesStoredChart() {
+        repository.compute(TB, (k, stored) -> chart(1L, "QB", new Player(12, "Tom Brady")));
+        TeamDepthChart next = chart(2L, "QB", new Player(12, "Tom Brady"), new Player(2, "Kyle Trask"));
+
+        repository.compute(TB, (k, stored) -> {
+            assertEquals(1L, stored.version());
+            return next;
+        });
+        TeamDepthChart kept = repository.compute(TB, (k, stored) -> stored);
+        assertEquals(next, kept);
+
+        assertNull(repository.compute(TB, (k, stored) -> null));
+        assertNull(repository.get(TB));
+        assertNull(repository.compute(NE, (k, stored) -> null));
+        assertTrue(repository.isEmpty());
+    }
+
+    @Test
+    @DisplayName("onStored runs once for a stored chart, and not when the function keeps or removes it")
+    void compute_runsOnStoredForStoredCharts() {
+        List<TeamDepthChart> stored = new ArrayList<>();
+        TeamDepthChart chart = chart(1L, "QB", new Player(12, "Tom Brady"));
+
+        repository.compute(TB, (k, current) -> chart, (k, next) -> stored.add(next));
+        repository.compute(TB, (k, current) -> current, (k, next) -> stored.add(next));
+        repository.compute(TB, (k, current) -> null, (k, next) -> stored.add(next));
+
+        assertEquals(List.of(chart), stored);
+    }
+
+    @Test
+    @DisplayName("a failed write is thrown before onStored and keeps the stored chart, in the service too")
+    void compute_failedWriteHasNoSideEffects() throws Exception {
+        DepthChartServiceImpl service = service();
+        DepthChartKey qb = DepthChartKey.of("NFL", "TB", "QB");
+        service.addPlayerToDepthChart(qb, new Player(12, "Tom Brady"), null);
+        TeamDepthChart before = repository.get(TB);
+        assumeTrue(failWrites(TB), "writes to this backend cannot fail");
+
+        AtomicInteger onStored = new AtomicInteger();
+        assertThrows(RuntimeException.class, () -> repository.compute(TB,
+                (k, current) -> chart(2L, "QB", new Player(2, "Kyle Trask")), (k, next) -> onStored.incrementAndGet()));
+        assertEquals(0, onStored.get());
+        assertEquals(before, repository.get(TB));
+
+        assertThrows(RuntimeException.class, () -> service.addPlayerToDepthChart(qb, new Player(2, "Kyle Trask"), null));
+        assertEquals(1L, service.getDepthChartVersion("NFL", "TB"));
+        assertEquals(List.of(), service.searchPlayers("trask", null, 10));
+        assertTrue(service.getDepthChartDiff("NFL", "TB", new VersionTag(service.getEpoch(), 1L)).positions().isEmpty());
+    }
+
+    @Test
+    @DisplayName("computeIfAbsent loads a missing team once and keeps an existing one")
+    void computeIfAbsent_loadsOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        TeamDepthChart chart = chart(5L, "WR", new Player(13, "Mike Evans"));
+
+        assertEquals(chart, repository.computeIfAbsent(TB, k -> {
+            loads.incrementAndGet();
+            return chart;
+        }));
+        assertEquals(chart, repository.computeIfAbsent(TB, k -> {
+            loads.incrementAndGet();
+            return chart(9L, "WR");
+        }));
+        assertNull(repository.computeIfAbsent(NE, k -> null));
+
+        assertEquals(1, loads.get());
+        assertFalse(repository.contains(NE));
+    }
+
+    @Test
+    @DisplayName("remove only drops the team at the expected version")
+    void remove_checksVersion() {
+        repository.compute(TB, (k, stored) -> chart(4L, "QB", new Player(12, "Tom Brady")));
+
+        assertFalse(repository.remove(TB, 3L));
+        assertTrue(repository.contains(TB));
+        assertTrue(repository.remove(TB, 4L));
+        assertFalse(repository.contains(TB));
+        assertFalse(repository.remove(TB, 4L));
+    }
+
+    @Test
+    @DisplayName("names survive the round trip, including non-ASCII and punctuation")
+    void roundTrip_keepsNamesAndOrder() {
+        TeamDepthChart chart = chart(7L, "WR",
+                new Player(14, "Godwin Jr., Chris 17/3"),
+                new Player(10, "Núñez, José \"JJ\""),
+                new Player(1, ""));
+        repository.compute(TB, (k, stored) -> chart);
+
+        TeamDepthChart read = repository.get(TB);
+        assertEquals(chart, read);
+        assertEquals(List.of("WR"), List.copyOf(read.positions().keySet()));
+    }
+
+    @Test
+    @DisplayName("compute is atomic per team: concurrent increments are never lost")
+    void compute_isAtomicPerTeam() throws Exception {
+        repository.compute(TB, (k, stored) -> chart(0L, "QB"));
+        int writers = 4;
+        int writesPerWriter = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < writesPerWriter; i++) {
+                        repository.compute(TB, (k, stored) -> chart(stored.version() + 1, "QB"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(writers * writesPerWriter, repository.get(TB).version());
+    }
+
+    @Test
+    @DisplayName("the service works unchanged on top of the backend")
+    void service_runsOnBackend() {
+        DepthChartServiceImpl service = service();
+        DepthChartKey qb = DepthChartKey.of("NFL", "TB", "QB");
+        Player brady = new Player(12, "Tom Brady");
+        Player gabbert = new Player(6, "Blaine Gabbert");
+        service.addPlayerToDepthChart(qb, brady, null);
+        service.addPlayerToDepthChart(qb, gabbert, null);
+        service.removePlayerFromDepthChart(qb, brady);
+
+        assertEquals(List.of(gabbert), service.getFullDepthChart("NFL", "TB").get("QB"));
+        assertEquals(3L, service.getDepthChartVersion("NFL", "TB"));
+        assertEquals(3L, repository.get(TB).version());
+    }
+
+    private DepthChartServiceImpl service() {
+        LeagueCatalogProperties.League nfl = new LeagueCatalogProperties.League();
+        nfl.setTeams(Set.of("TB", "NE"));
+        nfl.setPositions(Set.of("QB", "WR"));
+        LeagueCatalogProperties catalog = new LeagueCatalogProperties();
+        catalog.setLeagues(Map.of("NFL", nfl));
+
+        return new DepthChartServiceImpl(new PropertiesLeagueMetadataService(catalog),
+                16, DepthChartWriteMode.OPTIMISTIC, 1, TeamCache.disabled(), HotKeyTracker.disabled(), repository);
+    }
+
+    protected static TeamDepthChart chart(long version, String position, Player... players) {
+        return players.length == 0
+                ? new TeamDepthChart(version, Map.of())
+                : TeamDepthChart.of(version, Map.of(position, List.of(players)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.fd.depthchart.unit.repository;
+
+import com.fd.depthchart.config.StorageProperties;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.TeamKey;
+import com.fd.depthchart.repository.DepthChartRepository;
+import com.fd.depthchart.repository.DiskDepthChartRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DiskDepthChartRepositoryTest extends DepthChartRepositoryContractTest {
+
+    @Override
+    protected DepthChartRepository createRepository(Path directory) {
+        return new DiskDepthChartRepository(directory);
+    }
+
+    @Override
+    protected boolean failWrites(TeamKey team) throws IOException {
+        // a directory where the temporary file goes cannot be opened for writing, not even by root
+        Path league = tempDir.resolve(team.league().toLowerCase(Locale.ROOT));
+        Files.createDirectories(league.resolve(team.team().toLowerCase(Locale.ROOT) + ".chart.tmp"));
+        return true;
+    }
+
+    @Test
+    @DisplayName("a reopened store has every team at its last version and drops unfinished writes")
+    void reopen_recoversTeams() throws Exception {
+        TeamKey tb = new TeamKey("NFL", "TB");
+        TeamDepthChart chart = chart(8L, "QB", new Player(12, "Tom Brady"));
+        repository.compute(tb, (k, stored) -> chart);
+        Path leftover = tempDir.resolve("nfl").resolve("ne.chart.tmp");
+        Files.write(leftover, new byte[]{1, 2, 3});
+
+        DepthChartRepository reopened = new DiskDepthChartRepository(tempDir);
+
+        assertEquals(Set.of(tb), Set.copyOf(reopened.keys()));
+        assertEquals(chart, reopened.get(tb));
+        assertFalse(Files.exists(leftover));
+        // versions carry on, so tags issued before the restart stay valid
+        assertEquals(repository.epoch(), reopened.epoch());
+    }
+
+    @Test
+    @DisplayName("the disk backend has no default directory")
+    void requiresDirectory() {
+        assertThrows(IllegalStateException.class, () -> new DiskDepthChartRepository(new StorageProperties()));
+    }
+}
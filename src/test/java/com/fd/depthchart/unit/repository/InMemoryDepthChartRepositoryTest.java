@@ -0,0 +1,14 @@
+package com.fd.depthchart.unit.repository;
+
+import com.fd.depthchart.repository.DepthChartRepository;
+import com.fd.depthchart.repository.InMemoryDepthChartRepository;
+
+import java.nio.file.Path;
+
+class InMemoryDepthChartRepositoryTest extends DepthChartRepositoryContractTest {
+
+    @Override
+    protected DepthChartRepository createRepository(Path directory) {
+        return new InMemoryDepthChartRepository();
+    }
+}
@@ -0,0 +1,36 @@
+package com.fd.depthchart.unit.repository;
+
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.TeamKey;
+import com.fd.depthchart.repository.DepthChartRepository;
+import com.fd.depthchart.repository.OffHeapDepthChartRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapDepthChartRepositoryTest extends DepthChartRepositoryContractTest {
+
+    @Override
+    protected DepthChartRepository createRepository(Path directory) {
+        return new OffHeapDepthChartRepository();
+    }
+
+    @Test
+    @DisplayName("direct memory is accounted as charts are replaced and removed")
+    void storedBytes_followsWrites() {
+        OffHeapDepthChartRepository offHeap = (OffHeapDepthChartRepository) repository;
+        TeamKey tb = new TeamKey("NFL", "TB");
+
+        offHeap.compute(tb, (k, stored) -> chart(1L, "QB", new Player(12, "Tom Brady")));
+        long one = offHeap.storedBytes();
+        offHeap.compute(tb, (k, stored) -> chart(2L, "QB", new Player(12, "Tom Brady"), new Player(2, "Kyle Trask")));
+        assertTrue(offHeap.storedBytes() > one);
+
+        offHeap.remove(tb, 2L);
+        assertEquals(0, offHeap.storedBytes());
+    }
+}
@@ -1,22 +1,51 @@
 package com.fd.depthchart.unit.service;
 
+import com.fd.depthchart.config.HotKeyProperties;
+import com.fd.depthchart.exception.InvalidDepthChartRequestException;
+import com.fd.depthchart.exception.VersionConflictException;
+import com.fd.depthchart.model.DepthChartDiff;
 import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.LeagueDepthEntry;
+import com.fd.depthchart.model.LineupSimulation;
 import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.PlayerSearchHit;
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.TeamKey;
+import com.fd.depthchart.model.Validated;
+import com.fd.depthchart.model.ValidationResult;
+import com.fd.depthchart.model.VersionTag;
 import com.fd.depthchart.service.DepthChartServiceImpl;
+import com.fd.depthchart.service.DepthChartWriteMode;
+import com.fd.depthchart.service.HotKeyTracker;
 import com.fd.depthchart.service.LeagueMetadataService;
+import com.fd.depthchart.service.TeamCache;
+import com.fd.depthchart.snapshot.DepthChartSnapshotWriter;
+import com.fd.depthchart.snapshot.MappedDepthChartSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class DepthChartServiceImplTest {
@@ -26,8 +55,12 @@ class DepthChartServiceImplTest {
 
     private DepthChartServiceImpl depthChartService;
 
+    @TempDir
+    Path tempDir;
+
     @BeforeEach
     void setUp() {
+        LeagueMetadataStubs.acceptAll(leagueMetadataService);
         depthChartService = new DepthChartServiceImpl(leagueMetadataService);
     }
 
@@ -46,7 +79,7 @@ class DepthChartServiceImplTest {
 
         // league/team validation should be invoked at least once
         verify(leagueMetadataService, times(1))
-                .validateLeagueTeamPosition("NFL", "TB", "QB");
+                .checkLeagueTeamPosition("NFL", "TB", "QB");
     }
 
     @Test
@@ -72,8 +105,531 @@ class DepthChartServiceImplTest {
         assertIterableEquals(List.of(player3, player1, player2), wrPlayers);
     }
 
+    @Test
+    @DisplayName("lookups return an unknown team as a rejection; the plain reads throw it")
+    void lookup_unknownTeam_returnsRejection() {
+        when(leagueMetadataService.checkLeagueTeamPosition("NFL", "XYZ", "QB")).thenReturn(ValidationResult.INVALID_TEAM);
+        when(leagueMetadataService.checkLeagueTeam("NFL", "XYZ")).thenReturn(ValidationResult.INVALID_TEAM);
+        DepthChartKey key = DepthChartKey.of("nfl", " xyz ", "qb");
+        Player brady = new Player(12, "Tom Brady");
+
+        Validated<List<Player>> backups = depthChartService.lookupBackups(key, brady);
+        assertEquals(ValidationResult.INVALID_TEAM, backups.result());
+        assertEquals("XYZ", backups.rejectedValue());
+        assertEquals(ValidationResult.INVALID_TEAM, depthChartService.lookupDepthChartVersion("nfl", "xyz").result());
+
+        InvalidDepthChartRequestException ex = assertThrows(InvalidDepthChartRequestException.class,
+                () -> depthChartService.getBackups(key, brady));
+        assertEquals("Invalid team: XYZ", ex.getMessage());
+        assertEquals(List.of(), depthChartService.lookupBackups(DepthChartKey.of("nfl", "tb", "qb"), brady).value());
+    }
+
+    @Test
+    @DisplayName("attached snapshot serves reads; the first write copies the key onto the heap")
+    void attachSnapshot_readsFromSnapshotAndCopiesOnWrite() throws Exception {
+        DepthChartKey key = DepthChartKey.of("nfl", "tb", "qb");
+        Player brady = new Player(12, "Tom Brady");
+        Player gabbert = new Player(6, "Blaine Gabbert");
+
+        Path file = tempDir.resolve("store.bin");
+        DepthChartSnapshotWriter.write(Map.of(key, List.of(brady, gabbert)), file);
+        depthChartService.attachSnapshot(MappedDepthChartSnapshot.open(file));
+
+        assertIterableEquals(List.of(gabbert), depthChartService.getBackups(key, brady));
+        assertEquals(List.of(), depthChartService.getBackups(DepthChartKey.of("nfl", "tb", "wr"), brady));
+        assertEquals(0L, depthChartService.getDepthChartVersion("nfl", "tb"));
+        assertEquals(1, depthChartService.searchPlayers("brady", null, 10).size());
+
+        assertIterableEquals(List.of(brady), depthChartService.removePlayerFromDepthChart(key, brady));
+        assertEquals(1L, depthChartService.getDepthChartVersion("nfl", "tb"));
+        assertIterableEquals(List.of(gabbert), depthChartService.getFullDepthChart("nfl", "tb").get("QB"));
+        assertEquals(List.of(), depthChartService.searchPlayers("brady", null, 10));
+        assertEquals(0, depthChartService.searchPlayers("gabbert", null, 10).get(0).depth());
+
+        // the mapped file itself is never modified
+        assertIterableEquals(List.of(brady, gabbert), MappedDepthChartSnapshot.open(file).get(key));
+    }
+
+    @Test
+    @DisplayName("getDepthChartDiff returns only what changed since the client's version")
+    void getDepthChartDiff_returnsMinimalDiff() {
+        DepthChartKey key = DepthChartKey.of("nfl", "tb", "qb");
+        Player brady = new Player(12, "Tom Brady");
+        Player gabbert = new Player(6, "Blaine Gabbert");
+        Player trask = new Player(2, "Kyle Trask");
+
+        depthChartService.addPlayerToDepthChart(key, brady, null);
+        depthChartService.addPlayerToDepthChart(key, gabbert, null);
+        long clientVersion = depthChartService.getDepthChartVersion("nfl", "tb");
+
+        depthChartService.addPlayerToDepthChart(key, trask, 0);
+        depthChartService.removePlayerFromDepthChart(key, gabbert);
+
+        DepthChartDiff diff = depthChartService.getDepthChartDiff("nfl", "tb",
+                new VersionTag(depthChartService.getEpoch(), clientVersion));
+
+        assertFalse(diff.fullSnapshot());
+        assertEquals(clientVersion + 2, diff.toVersion());
+        DepthChartDiff.PositionDiff qb = diff.positions().get("QB");
+        assertEquals(List.of(new DepthChartDiff.DepthEntry(trask, null, 0)), qb.added());
+        assertEquals(List.of(new DepthChartDiff.DepthEntry(gabbert, 1, null)), qb.removed());
+        // Brady shifted down because of the insert, but his relative order did not change
+        assertTrue(qb.reordered().isEmpty());
+    }
+
+    @Test
+    @DisplayName("getDepthChartDiff falls back to the full chart once the version is evicted from the change log")
+    void getDepthChartDiff_fallsBackToFullSnapshot() {
+        DepthChartServiceImpl service = new DepthChartServiceImpl(leagueMetadataService, 2);
+        DepthChartKey key = DepthChartKey.of("nfl", "tb", "wr");
+
+        service.addPlayerToDepthChart(key, new Player(13, "Mike Evans"), null);
+        service.addPlayerToDepthChart(key, new Player(14, "Chris Godwin"), null);
+        service.addPlayerToDepthChart(key, new Player(15, "Russell Gage"), null);
+
+        DepthChartDiff diff = service.getDepthChartDiff("nfl", "tb", new VersionTag(service.getEpoch(), 0));
+
+        assertTrue(diff.fullSnapshot());
+        assertEquals(3, diff.depthChart().get("WR").size());
+    }
+
+    @Test
+    @DisplayName("getDepthChartDiff sends the full chart for a version issued by another store epoch")
+    void getDepthChartDiff_otherEpoch_fallsBackToFullSnapshot() {
+        DepthChartKey key = DepthChartKey.of("nfl", "tb", "qb");
+        depthChartService.addPlayerToDepthChart(key, new Player(12, "Tom Brady"), null);
+        depthChartService.addPlayerToDepthChart(key, new Player(6, "Blaine Gabbert"), null);
+
+        // version 1 exists in this store too, but the client got it from the one before a restart
+        DepthChartDiff diff = depthChartService.getDepthChartDiff("nfl", "tb", new VersionTag("old", 1));
+        DepthChartDiff bare = depthChartService.getDepthChartDiff("nfl", "tb", new VersionTag(null, 1));
+
+        assertTrue(diff.fullSnapshot());
+        assertEquals(depthChartService.getEpoch(), diff.epoch());
+        assertEquals(2, diff.depthChart().get("QB").size());
+        assertTrue(bare.fullSnapshot());
+    }
+
+    @Test
+    @DisplayName("batched write mode applies queued writes on the writer thread and completes the futures")
+    void batchedWriteMode_appliesAllQueuedWrites() {
+        DepthChartServiceImpl service = new DepthChartServiceImpl(leagueMetadataService, 16,
+                DepthChartWriteMode.BATCHED, 8);
+        DepthChartKey key = DepthChartKey.of("nfl", "tb", "wr");
+
+        try {
+            List<CompletableFuture<Void>> writes = new ArrayList<>();
+            for (int number = 1; number <= 50; number++) {
+                writes.add(service.addPlayerToDepthChartAsync(key, new Player(number, "Player " + number), null));
+            }
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+
+            List<Player> wr = service.getFullDepthChart("nfl", "tb").get("WR");
+            assertEquals(50, wr.size());
+            assertEquals(new Player(1, "Player 1"), wr.get(0));
+            // one version per drained batch of the team's writes
+            long version = service.getDepthChartVersion("nfl", "tb");
+            assertTrue(version >= 1 && version <= 50);
+
+            assertIterableEquals(List.of(new Player(1, "Player 1")),
+                    service.removePlayerFromDepthChart(key, new Player(1, "Player 1")));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("batched write mode publishes the writes queued for a team meanwhile as one version")
+    void batchedWriteMode_foldsQueuedWritesIntoOneVersion() throws Exception {
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HotKeyProperties props = new HotKeyProperties();
+        props.setEnabled(false);
+        // holds the writer thread in the first publish while the next writes queue up
+        HotKeyTracker hotKeys = new HotKeyTracker(props, new SimpleMeterRegistry()) {
+            @Override
+            public void onPublish(TeamKey team, TeamDepthChart chart) {
+                if (chart.version() == 1) {
+                    publishing.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+        DepthChartServiceImpl service = new DepthChartServiceImpl(leagueMetadataService, 16,
+                DepthChartWriteMode.BATCHED, 16, TeamCache.disabled(), hotKeys);
+        DepthChartKey key = DepthChartKey.of("nfl", "tb", "wr");
+
+        try {
+            List<CompletableFuture<?>> writes = new ArrayList<>();
+            writes.add(service.addPlayerToDepthChartAsync(key, new Player(1, "Player 1"), null));
+            assertTrue(publishing.await(10, TimeUnit.SECONDS));
+            for (int number = 2; number <= 10; number++) {
+                writes.add(service.addPlayerToDepthChartAsync(key, new Player(number, "Player " + number), null));
+            }
+            writes.add(service.removePlayerFromDepthChartAsync(key, new Player(5, "Player 5")));
+            release.countDown();
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+
+            assertEquals(2L, service.getDepthChartVersion("nfl", "tb"));
+            List<Player> wr = service.getFullDepthChart("nfl", "tb").get("WR");
+            assertEquals(9, wr.size());
+            assertFalse(wr.contains(new Player(5, "Player 5")));
+            assertEquals(List.of(new Player(5, "Player 5")), writes.get(writes.size() - 1).join());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("a write with a stale expected version fails and leaves the chart untouched")
+    void conditionalWrite_staleVersion_throwsVersionConflict() {
+        DepthChartKey key = DepthChartKey.of("nfl", "tb", "qb");
+        depthChartService.addPlayerToDepthChart(key, new Player(12, "Tom Brady"), null, 0L);
+        depthChartService.addPlayerToDepthChart(key, new Player(11, "Blaine Gabbert"), null, 1L);
+
+        VersionConflictException ex = assertThrows(VersionConflictException.class,
+                () -> depthChartService.removePlayerFromDepthChart(key, new Player(12, "Tom Brady"), 1L));
+
+        assertEquals(2L, ex.getCurrent().version());
+        assertEquals(2L, depthChartService.getDepthChartVersion("nfl", "tb"));
+        assertEquals(2, depthChartService.getFullDepthChart("nfl", "tb").get("QB").size());
+    }
+
+    @Test
+    @DisplayName("concurrent unconditional writes to one team all commit, each as its own version")
+    void concurrentWrites_sameTeam_noLostUpdates() throws Exception {
+        int writers = 8;
+        int writesPerWriter = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        for (int w = 0; w < writers; w++) {
+            int base = 1 + w * writesPerWriter;
+            pool.execute(() -> {
+                for (int i = 0; i < writesPerWriter; i++) {
+                    // alternate positions so retries see both same-position and other-position races
+                    String position = i % 2 == 0 ? "qb" : "wr";
+                    depthChartService.addPlayerToDepthChart(
+                            DepthChartKey.of("nfl", "tb", position), new Player(base + i, "Player " + (base + i)), 0);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        Map<String, List<Player>> chart = depthChartService.getFullDepthChart("nfl", "tb");
+        assertEquals(writers * writesPerWriter, chart.get("QB").size() + chart.get("WR").size());
+        assertEquals(writers * writesPerWriter, depthChartService.getDepthChartVersion("nfl", "tb"));
+    }
+
+    @Test
+    @DisplayName("attempts that lose the compare-and-set leave no change log entries behind")
+    void concurrentWrites_changeLogHoldsOnlyPublishedVersions() throws Exception {
+        int writers = 8;
+        int writesPerWriter = 25;
+        // room for exactly one entry per published version, a phantom entry would evict version 1
+        DepthChartServiceImpl service = new DepthChartServiceImpl(leagueMetadataService, writers * writesPerWriter);
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        for (int w = 0; w < writers; w++) {
+            int base = 1 + w * writesPerWriter;
+            pool.execute(() -> {
+                for (int i = 0; i < writesPerWriter; i++) {
+                    service.addPlayerToDepthChart(
+                            DepthChartKey.of("nfl", "tb", "qb"), new Player(base + i, "Player " + (base + i)), 0);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        DepthChartDiff diff = service.getDepthChartDiff("nfl", "tb", new VersionTag(service.getEpoch(), 0));
+
+        assertFalse(diff.fullSnapshot());
+        assertEquals(writers * writesPerWriter, diff.positions().get("QB").added().size());
+    }
+
+    @Test
+    @DisplayName("concurrent writes leave the search index at each team's latest version")
+    void concurrentWrites_searchIndexMatchesPublishedCharts() throws Exception {
+        int writers = 8;
+        int writesPerWriter = 25;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        for (int w = 0; w < writers; w++) {
+            int base = 1 + w * writesPerWriter;
+            String team = w % 2 == 0 ? "tb" : "ne";
+            pool.execute(() -> {
+                for (int i = 0; i < writesPerWriter; i++) {
+                    // inserting at the top moves every player below, so each write re-files the whole position
+                    depthChartService.addPlayerToDepthChart(
+                            DepthChartKey.of("nfl", team, "qb"), new Player(base + i, "Player " + (base + i)), 0);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        for (String team : List.of("TB", "NE")) {
+            List<Player> qbs = depthChartService.getFullDepthChart("nfl", team).get("QB");
+            assertEquals(writers / 2 * writesPerWriter, qbs.size());
+            for (int depth = 0; depth < qbs.size(); depth++) {
+                Player player = qbs.get(depth);
+                // "12" also finds 120 to 129 by prefix
+                List<PlayerSearchHit> hits = depthChartService.searchPlayers(Integer.toString(player.number()), null, 100)
+                        .stream().filter(hit -> hit.player().equals(player)).toList();
+                assertEquals(List.of(new PlayerSearchHit("NFL", team, "QB", depth, player)), hits);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("move, swap and reorder each publish exactly one new version")
+    void moveSwapReorder_publishOneVersionEach() {
+        DepthChartKey key = DepthChartKey.of("nfl", "tb", "qb");
+        Player brady = new Player(12, "Tom Brady");
+        Player gabbert = new Player(11, "Blaine Gabbert");
+        Player trask = new Player(2, "Kyle Trask");
+        depthChartService.addPlayerToDepthChart(key, brady, null);
+        depthChartService.addPlayerToDepthChart(key, gabbert, null);
+        depthChartService.addPlayerToDepthChart(key, trask, null);
+
+        assertIterableEquals(List.of(trask, brady, gabbert), depthChartService.movePlayer(key, trask, 0, 3L));
+        assertEquals(4L, depthChartService.getDepthChartVersion("nfl", "tb"));
+
+        assertIterableEquals(List.of(gabbert, brady, trask), depthChartService.swapPlayers(key, trask, gabbert, null));
+        assertEquals(5L, depthChartService.getDepthChartVersion("nfl", "tb"));
+
+        assertIterableEquals(List.of(brady, gabbert, trask),
+                depthChartService.replaceDepthOrder(key, List.of(brady, gabbert, trask), 5L));
+        assertEquals(6L, depthChartService.getDepthChartVersion("nfl", "tb"));
+
+        // a move to the player's own depth is not a new version
+        depthChartService.movePlayer(key, brady, 0, null);
+        assertEquals(6L, depthChartService.getDepthChartVersion("nfl", "tb"));
+    }
+
+    @Test
+    @DisplayName("move and reorder reject players that are not listed at the position")
+    void moveAndReorder_unlistedPlayer_throwsIllegalArgument() {
+        DepthChartKey key = DepthChartKey.of("nfl", "tb", "qb");
+        Player brady = new Player(12, "Tom Brady");
+        depthChartService.addPlayerToDepthChart(key, brady, null);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> depthChartService.movePlayer(key, new Player(11, "Blaine Gabbert"), 0, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> depthChartService.replaceDepthOrder(key, List.of(brady, new Player(11, "Blaine Gabbert")), null));
+        assertEquals(1L, depthChartService.getDepthChartVersion("nfl", "tb"));
+    }
+
+    @Test
+    @DisplayName("queryLeague returns the requested depth slice for every team that has the position")
+    void queryLeague_returnsDepthSliceAcrossTeams() {
+        depthChartService.addPlayerToDepthChart(DepthChartKey.of("nfl", "tb", "qb"), new Player(12, "Tom Brady"), null);
+        depthChartService.addPlayerToDepthChart(DepthChartKey.of("nfl", "tb", "qb"), new Player(6, "Blaine Gabbert"), null);
+        depthChartService.addPlayerToDepthChart(DepthChartKey.of("nfl", "ne", "qb"), new Player(10, "Mac Jones"), null);
+        depthChartService.addPlayerToDepthChart(DepthChartKey.of("nfl", "ne", "wr"), new Player(1, "DeVante Parker"), null);
 
+        List<LeagueDepthEntry> starters = depthChartService.queryLeague("nfl", List.of("qb"), 0, 0).toList();
 
+        assertEquals(List.of(
+                new LeagueDepthEntry("NE", "QB", 0, new Player(10, "Mac Jones")),
+                new LeagueDepthEntry("TB", "QB", 0, new Player(12, "Tom Brady"))
+        ), starters);
 
+        List<LeagueDepthEntry> backups = depthChartService.queryLeague("nfl", List.of("QB"), 1, null).toList();
+        assertEquals(List.of(new LeagueDepthEntry("TB", "QB", 1, new Player(6, "Blaine Gabbert"))), backups);
 
-}
\ No newline at end of file
+        // a team drops out of the index once its position is empty
+        depthChartService.removePlayerFromDepthChart(DepthChartKey.of("nfl", "ne", "qb"), new Player(10, "Mac Jones"));
+        assertEquals(1, depthChartService.queryLeague("nfl", List.of("QB"), 0, 0).count());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> depthChartService.queryLeague("nfl", List.of("QB"), 2, 1));
+    }
+
+    @Test
+    @DisplayName("queryLeague keeps a team whose emptied position is refilled before the emptying write is indexed")
+    void queryLeague_emptyThenRefillInterleaved_keepsTeam() throws Exception {
+        CountDownLatch emptied = new CountDownLatch(1);
+        CountDownLatch refilled = new CountDownLatch(1);
+        HotKeyProperties props = new HotKeyProperties();
+        props.setEnabled(false);
+        // parks the publish that empties QB between storing the chart and updating the league index
+        HotKeyTracker hotKeys = new HotKeyTracker(props, new SimpleMeterRegistry()) {
+            @Override
+            public void onPublish(TeamKey team, TeamDepthChart chart) {
+                if (chart.playersAt("QB").isEmpty() && emptied.getCount() > 0) {
+                    emptied.countDown();
+                    try {
+                        refilled.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+        depthChartService = new DepthChartServiceImpl(leagueMetadataService, 16, DepthChartWriteMode.OPTIMISTIC, 1,
+                TeamCache.disabled(), hotKeys);
+        Player brady = new Player(12, "Tom Brady");
+        DepthChartKey qb = DepthChartKey.of("nfl", "tb", "qb");
+        depthChartService.addPlayerToDepthChart(qb, brady, null);
+
+        CompletableFuture<Void> empty = CompletableFuture.runAsync(
+                () -> depthChartService.removePlayerFromDepthChart(qb, brady));
+        assertTrue(emptied.await(10, TimeUnit.SECONDS));
+        depthChartService.addPlayerToDepthChart(qb, brady, null);
+        refilled.countDown();
+        empty.get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of(new LeagueDepthEntry("TB", "QB", 0, brady)),
+                depthChartService.queryLeague("nfl", List.of("qb"), 0, 0).toList());
+    }
+
+    @Test
+    @DisplayName("simulateUnavailable promotes the next man up, cascading through multi-position players, without writing")
+    void simulateUnavailable_cascadesWithoutMutatingStore() {
+        when(leagueMetadataService.getPositions("NFL")).thenReturn(new LinkedHashSet<>(List.of("QB", "WR", "LT", "RT")));
+        Player brady = new Player(12, "Tom Brady");
+        Player gabbert = new Player(6, "Blaine Gabbert");
+        Player trask = new Player(2, "Kyle Trask");
+        Player evans = new Player(13, "Mike Evans");
+        Player godwin = new Player(14, "Chris Godwin");
+        Player smith = new Player(76, "Donovan Smith");
+        Player wirfs = new Player(78, "Tristan Wirfs");
+        Player wells = new Player(72, "Josh Wells");
+        Player hainsey = new Player(70, "Robert Hainsey");
+        addAll("tb", "qb", brady, gabbert, trask);
+        addAll("tb", "wr", evans, godwin, gabbert);
+        addAll("tb", "lt", smith, wells);
+        addAll("tb", "rt", wirfs, wells, hainsey);
+        Player jones = new Player(10, "Mac Jones");
+        Player zappe = new Player(4, "Bailey Zappe");
+        addAll("ne", "qb", jones, zappe);
+        long tbVersion = depthChartService.getDepthChartVersion("nfl", "tb");
+        Map<String, List<Player>> liveTb = depthChartService.getFullDepthChart("nfl", "tb");
+
+        LineupSimulation simulation = depthChartService.simulateUnavailable("nfl", Map.of(
+                "tb", List.of(brady, smith, wirfs),
+                "NE", List.of(jones)));
+
+        LineupSimulation.TeamLineup tb = simulation.teams().get("TB");
+        assertEquals(tbVersion, tb.version());
+        assertEquals(List.of(brady, smith, wirfs), tb.unavailable());
+        assertEquals(List.of("QB", "WR", "LT", "RT"), List.copyOf(tb.positions().keySet()));
+
+        // Gabbert starts at QB, so drops off the WR backups
+        assertEquals(gabbert, tb.positions().get("QB").starter());
+        assertEquals(brady, tb.positions().get("QB").previousStarter());
+        assertEquals(List.of(trask), tb.positions().get("QB").backups());
+        assertFalse(tb.positions().get("WR").changed());
+        assertEquals(List.of(godwin), tb.positions().get("WR").backups());
+
+        // Wells is next up at both tackle spots; LT comes first in the catalog, RT goes one further
+        assertEquals(wells, tb.positions().get("LT").starter());
+        assertEquals(List.of(), tb.positions().get("LT").backups());
+        assertEquals(hainsey, tb.positions().get("RT").starter());
+        assertEquals(List.of(), tb.positions().get("RT").backups());
+
+        LineupSimulation.TeamLineup ne = simulation.teams().get("NE");
+        assertEquals(zappe, ne.positions().get("QB").starter());
+        assertTrue(ne.positions().get("QB").changed());
+
+        // the live store is untouched
+        assertEquals(tbVersion, depthChartService.getDepthChartVersion("nfl", "tb"));
+        assertEquals(liveTb, depthChartService.getFullDepthChart("nfl", "tb"));
+        assertEquals(List.of(jones, zappe), depthChartService.getFullDepthChart("nfl", "ne").get("QB"));
+
+        assertThrows(IllegalArgumentException.class, () -> depthChartService.simulateUnavailable("nfl", Map.of()));
+    }
+
+    @Test
+    @DisplayName("simulateUnavailable fills the holes a promotion leaves behind, level after level")
+    void simulateUnavailable_promotedStarterOpensNextHole() {
+        when(leagueMetadataService.getPositions("NFL")).thenReturn(new LinkedHashSet<>(List.of("LT", "LG", "C")));
+        Player smith = new Player(76, "Donovan Smith");
+        Player marpet = new Player(74, "Ali Marpet");
+        Player jensen = new Player(66, "Ryan Jensen");
+        Player haeg = new Player(71, "Joe Haeg");
+        Player stinnie = new Player(64, "Aaron Stinnie");
+        Player shipley = new Player(62, "A.Q. Shipley");
+        addAll("tb", "lt", smith, marpet, haeg);
+        addAll("tb", "lg", marpet, jensen, stinnie);
+        addAll("tb", "c", jensen, shipley);
+
+        LineupSimulation.TeamLineup tb = depthChartService.simulateUnavailable("nfl", Map.of("tb", List.of(smith)))
+                .teams().get("TB");
+
+        // Marpet slides out to LT, Jensen over to LG, and Shipley takes the snaps at C
+        assertEquals(marpet, tb.positions().get("LT").starter());
+        assertEquals(List.of(haeg), tb.positions().get("LT").backups());
+        assertEquals(jensen, tb.positions().get("LG").starter());
+        assertEquals(marpet, tb.positions().get("LG").previousStarter());
+        assertEquals(List.of(stinnie), tb.positions().get("LG").backups());
+        assertEquals(shipley, tb.positions().get("C").starter());
+        assertTrue(tb.positions().get("C").changed());
+        assertEquals(List.of(), tb.positions().get("C").backups());
+    }
+
+    @Test
+    @DisplayName("simulateUnavailable over many teams runs them on the simulation pool with the same result per team")
+    void simulateUnavailable_manyTeams() {
+        when(leagueMetadataService.getPositions("NFL")).thenReturn(new LinkedHashSet<>(List.of("QB")));
+        Map<String, List<Player>> unavailable = new TreeMap<>();
+        for (int i = 0; i < 12; i++) {
+            String team = "T" + i;
+            Player starter = new Player(i * 10 + 1, team + " starter");
+            addAll(team, "qb", starter, new Player(i * 10 + 2, team + " backup"));
+            unavailable.put(team, List.of(starter));
+        }
+
+        LineupSimulation simulation = depthChartService.simulateUnavailable("nfl", unavailable);
+
+        assertEquals(List.copyOf(unavailable.keySet()), List.copyOf(simulation.teams().keySet()));
+        simulation.teams().forEach((team, lineup) ->
+                assertEquals(team + " backup", lineup.positions().get("QB").starter().name()));
+    }
+
+    @Test
+    @DisplayName("searchPlayers finds players by name prefix, number and one typo, and follows every write")
+    void searchPlayers_matchesPrefixNumberAndTypos() {
+        Player godwin = new Player(14, "Godwin Jr., Chris 17/3");
+        Player evans = new Player(13, "Mike Evans");
+        Player chris = new Player(81, "Chris Olave");
+        addAll("tb", "wr", evans, godwin);
+        addAll("tb", "kr", godwin);
+        addAll("ne", "wr", chris);
+
+        assertEquals(List.of(
+                new PlayerSearchHit("NFL", "TB", "KR", 0, godwin),
+                new PlayerSearchHit("NFL", "TB", "WR", 1, godwin)
+        ), depthChartService.searchPlayers("godw", null, 10));
+
+        // every term has to match; "chris" alone also finds Olave
+        assertEquals(3, depthChartService.searchPlayers("Chris", "nfl", 10).size());
+        assertEquals(2, depthChartService.searchPlayers("chr godwin", null, 10).size());
+        // jersey number, and a swapped pair of letters
+        assertEquals(godwin, depthChartService.searchPlayers("14", null, 1).get(0).player());
+        assertEquals(evans, depthChartService.searchPlayers("evnas", null, 10).get(0).player());
+        // exact beats fuzzy: "olave" is exact for Olave only
+        assertEquals(chris, depthChartService.searchPlayers("chris olave", null, 10).get(0).player());
+
+        // moving Godwin up re-files the depth, removing drops the hit
+        depthChartService.movePlayer(DepthChartKey.of("nfl", "tb", "wr"), godwin, 0, null);
+        assertTrue(depthChartService.searchPlayers("godwin", null, 10)
+                .contains(new PlayerSearchHit("NFL", "TB", "WR", 0, godwin)));
+        depthChartService.removePlayerFromDepthChart(DepthChartKey.of("nfl", "tb", "kr"), godwin);
+        depthChartService.removePlayerFromDepthChart(DepthChartKey.of("nfl", "tb", "wr"), godwin);
+        assertEquals(List.of(), depthChartService.searchPlayers("godwin", null, 10));
+
+        assertThrows(IllegalArgumentException.class, () -> depthChartService.searchPlayers(" ", null, 10));
+        assertThrows(IllegalArgumentException.class, () -> depthChartService.searchPlayers("evans", null, 0));
+    }
+
+    private void addAll(String team, String position, Player... players) {
+        for (Player player : players) {
+            depthChartService.addPlayerToDepthChart(DepthChartKey.of("nfl", team, position), player, null);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.fd.depthchart.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fd.depthchart.config.AdminProperties;
+import com.fd.depthchart.model.DepthChartDTO;
+import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.ImportSummary;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.ValidationResult;
+import com.fd.depthchart.service.DepthChartServiceImpl;
+import com.fd.depthchart.service.DepthChartTransferService;
+import com.fd.depthchart.service.LeagueMetadataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DepthChartTransferServiceTest {
+
+    @Mock
+    private LeagueMetadataService leagueMetadataService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private DepthChartServiceImpl depthChartService;
+    private DepthChartTransferService transferService;
+
+    private final AdminProperties props = new AdminProperties();
+
+    @BeforeEach
+    void setUp() {
+        LeagueMetadataStubs.acceptAll(leagueMetadataService);
+        depthChartService = new DepthChartServiceImpl(leagueMetadataService);
+        transferService = new DepthChartTransferService(depthChartService, objectMapper, props);
+    }
+
+    @Test
+    @DisplayName("importFrom applies valid lines and reports malformed or invalid ones without stopping")
+    void importFrom_skipsAndReportsBadLines() throws Exception {
+        when(leagueMetadataService.checkLeaguePosition("NFL", "XX")).thenReturn(ValidationResult.INVALID_POSITION);
+
+        String ndjson = """
+                {"league":"NFL","team":"TB","positions":{"QB":[{"number":12,"name":"Tom Brady"},{"number":6,"name":"Blaine Gabbert"}]}}
+
+                {"league":"NFL","team":"NE","positions":{"XX":[{"number":10,"name":"Mac Jones"}]}}
+                {"league":"NFL","team":
+                {"league":"NFL","team":"NE","positions":{"QB":[{"number":10,"name":"Mac Jones"}]}}
+                """;
+
+        ImportSummary summary = transferService.importFrom(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, summary.teamsImported());
+        assertEquals(3, summary.playersImported());
+        assertEquals(2, summary.linesRejected());
+        assertTrue(summary.errors().get(0).startsWith("line 3: Invalid position"));
+        assertTrue(summary.errors().get(1).startsWith("line 4: malformed JSON"));
+
+        assertEquals(List.of(new Player(12, "Tom Brady"), new Player(6, "Blaine Gabbert")),
+                depthChartService.getFullDepthChart("nfl", "tb").get("QB"));
+        // the whole team is one write
+        assertEquals(1, depthChartService.getDepthChartVersion("nfl", "tb"));
+    }
+
+    @Test
+    @DisplayName("exportTo writes one team per line that imports back into an identical store")
+    void exportTo_roundTripsThroughImport() throws Exception {
+        depthChartService.addPlayerToDepthChart(DepthChartKey.of("nfl", "tb", "qb"), new Player(12, "Tom Brady"), null);
+        depthChartService.addPlayerToDepthChart(DepthChartKey.of("nfl", "tb", "wr"), new Player(13, "Mike Evans"), null);
+        depthChartService.addPlayerToDepthChart(DepthChartKey.of("nfl", "ne", "qb"), new Player(10, "Mac Jones"), null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2, transferService.exportTo(out));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        DepthChartDTO first = objectMapper.readValue(lines[0], DepthChartDTO.class);
+        assertEquals("NE", first.getTeam());
+        assertEquals(1L, (long) first.getVersion());
+
+        DepthChartServiceImpl restored = new DepthChartServiceImpl(leagueMetadataService);
+        ImportSummary summary = new DepthChartTransferService(restored, objectMapper, props)
+                .importFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(0, summary.linesRejected());
+        assertEquals(depthChartService.copyOfDepthCharts(), restored.copyOfDepthCharts());
+        // exported versions are kept
+        assertEquals(2, restored.getDepthChartVersion("nfl", "tb"));
+    }
+
+    @Test
+    @DisplayName("importFrom rejects a version that is not newer than the team's current one")
+    void importFrom_olderVersion_isRejected() throws Exception {
+        depthChartService.addPlayerToDepthChart(DepthChartKey.of("nfl", "tb", "qb"), new Player(12, "Tom Brady"), null);
+        depthChartService.addPlayerToDepthChart(DepthChartKey.of("nfl", "tb", "qb"), new Player(6, "Blaine Gabbert"), null);
+
+        String ndjson = """
+                {"league":"NFL","team":"TB","version":1,"positions":{"QB":[{"number":2,"name":"Kyle Trask"}]}}
+                {"league":"NFL","team":"TB","version":7,"positions":{"QB":[{"number":2,"name":"Kyle Trask"}]}}
+                """;
+
+        ImportSummary summary = transferService.importFrom(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, summary.teamsImported());
+        assertTrue(summary.errors().get(0).startsWith("line 1: Team NFL/TB is at version 2"));
+        assertEquals(7, depthChartService.getDepthChartVersion("nfl", "tb"));
+    }
+
+    @Test
+    @DisplayName("importFrom rejects overlong lines unparsed and stops at the body size limit")
+    void importFrom_enforcesLineAndBodyLimits() throws Exception {
+        String tb = "{\"league\":\"NFL\",\"team\":\"TB\",\"positions\":{\"QB\":[{\"number\":12,\"name\":\"Tom Brady\"}]}}\n";
+        String ne = "{\"league\":\"NFL\",\"team\":\"NE\",\"positions\":{\"QB\":[{\"number\":10,\"name\":\"Mac Jones\"}]}}\n";
+        String ndjson = tb + "{\"team\":\"" + "X".repeat(tb.length()) + "\"}\n" + ne + tb;
+        props.setMaxLineLength(tb.length() + 10);
+        // cuts the last line short
+        props.setMaxImportBytes(ndjson.length() - 5);
+
+        ImportSummary summary = transferService.importFrom(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, summary.teamsImported());
+        assertEquals(2, summary.linesRejected());
+        assertTrue(summary.errors().get(0).startsWith("line 2: longer than"));
+        assertTrue(summary.errors().get(1).startsWith("line 4: body exceeds"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.fd.depthchart.unit.service;
+
+import com.fd.depthchart.config.HotKeyProperties;
+import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.TeamKey;
+import com.fd.depthchart.service.DepthChartServiceImpl;
+import com.fd.depthchart.service.DepthChartWriteMode;
+import com.fd.depthchart.service.HotKeyTracker;
+import com.fd.depthchart.service.LeagueMetadataService;
+import com.fd.depthchart.service.TeamCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class HotKeyTrackerTest {
+
+    private static final TeamKey TB = new TeamKey("NFL", "TB");
+    private static final TeamKey NE = new TeamKey("NFL", "NE");
+
+    private SimpleMeterRegistry meterRegistry;
+    private HotKeyTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        HotKeyProperties props = new HotKeyProperties();
+        // count every read; with no background decay the thresholds are per decay() call
+        props.setSampleOneIn(1);
+        props.setPromoteReadsPerSecond(100);
+        props.setDemoteReadsPerSecond(50);
+        props.setDecayInterval(Duration.ZERO);
+
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new HotKeyTracker(props, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("a team crossing the promote rate is served from a replica until it cools down")
+    void promotesAndDemotesOnReadRate() {
+        TeamDepthChart chart = TeamDepthChart.of(3L, Map.of("QB", List.of(new Player(12, "Tom Brady"))));
+        tracker.start(team -> chart);
+
+        for (int i = 0; i < 99; i++) {
+            tracker.recordAccess(TB);
+        }
+        tracker.recordAccess(NE);
+        assertNull(tracker.read(TB));
+
+        tracker.recordAccess(TB);
+        assertEquals(Set.of(TB), tracker.hotTeams());
+        assertSame(chart, tracker.read(TB));
+        assertEquals(1.0, meterRegistry.counter("depthchart.hotkeys.promotions").count());
+
+        // an out-of-order publish of an older version must not win
+        TeamDepthChart next = chart.withPosition("QB", List.of());
+        tracker.onPublish(TB, next);
+        tracker.onPublish(TB, chart);
+        assertSame(next, tracker.read(TB));
+
+        // 100 -> 50 stays hot, 50 -> 25 falls below the demote rate
+        tracker.decay();
+        assertEquals(Set.of(TB), tracker.hotTeams());
+        tracker.decay();
+        assertTrue(tracker.hotTeams().isEmpty());
+        assertNull(tracker.read(TB));
+        assertEquals(1.0, meterRegistry.counter("depthchart.hotkeys.demotions").count());
+    }
+
+    @Test
+    @DisplayName("writes to a promoted team are visible to the next read")
+    void promotedTeam_seesWrites() {
+        DepthChartServiceImpl service = new DepthChartServiceImpl(LeagueMetadataStubs.acceptAll(mock(LeagueMetadataService.class)),
+                256, DepthChartWriteMode.OPTIMISTIC, 1, TeamCache.disabled(), tracker);
+        DepthChartKey key = DepthChartKey.of("NFL", "TB", "QB");
+        service.addPlayerToDepthChart(key, new Player(12, "Tom Brady"), null);
+
+        for (int i = 0; i < 100; i++) {
+            service.getFullDepthChart("NFL", "TB");
+        }
+        assertEquals(Set.of(TB), tracker.hotTeams());
+
+        service.addPlayerToDepthChart(key, new Player(11, "Blaine Gabbert"), 0);
+
+        assertEquals(2L, service.getDepthChartVersion("NFL", "TB"));
+        assertEquals(new Player(11, "Blaine Gabbert"), service.getFullDepthChart("NFL", "TB").get("QB").get(0));
+    }
+}
@@ -0,0 +1,25 @@
+package com.fd.depthchart.unit.service;
+
+import com.fd.depthchart.model.ValidationResult;
+import com.fd.depthchart.service.LeagueMetadataService;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * A mocked catalog answers every check with null; this makes it accept every league, team and position.
+ * Tests stub single checks afterwards to reject.
+ */
+final class LeagueMetadataStubs {
+
+    private LeagueMetadataStubs() {
+    }
+
+    static LeagueMetadataService acceptAll(LeagueMetadataService mock) {
+        lenient().when(mock.checkLeague(any())).thenReturn(ValidationResult.VALID);
+        lenient().when(mock.checkLeagueTeam(any(), any())).thenReturn(ValidationResult.VALID);
+        lenient().when(mock.checkLeaguePosition(any(), any())).thenReturn(ValidationResult.VALID);
+        lenient().when(mock.checkLeagueTeamPosition(any(), any(), any())).thenReturn(ValidationResult.VALID);
+        return mock;
+    }
+}
@@ -1,6 +1,8 @@
 package com.fd.depthchart.unit.service;
 
 import com.fd.depthchart.config.LeagueCatalogProperties;
+import com.fd.depthchart.exception.InvalidDepthChartRequestException;
+import com.fd.depthchart.model.ValidationResult;
 import com.fd.depthchart.service.PropertiesLeagueMetadataService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -27,34 +29,57 @@ public class PropertiesLeagueMetadataServiceTest {
     }
 
     @Test
-    @DisplayName("validateLeague should pass for known league")
-    void validateLeague_valid() {
-        service.validateLeague("NFL");
+    @DisplayName("checkLeague should pass for known league")
+    void checkLeague_valid() {
+        assertEquals(ValidationResult.VALID, service.checkLeague("NFL"));
     }
 
     @Test
-    @DisplayName("validateLeague should throw for unknown league")
-    void validateLeague_invalid() {
-        assertThrows(IllegalArgumentException.class, () -> service.validateLeague("NBA"));
+    @DisplayName("checkLeague should reject unknown league")
+    void checkLeague_invalid() {
+        assertEquals(ValidationResult.UNSUPPORTED_LEAGUE, service.checkLeague("NBA"));
     }
 
     @Test
-    void validateLeagueTeam_acceptsKnownTeam() {
-        service.validateLeagueTeam("NFL", "tb");
+    void checkLeagueTeam_acceptsKnownTeam() {
+        assertEquals(ValidationResult.VALID, service.checkLeagueTeam("NFL", "tb"));
     }
 
     @Test
-    void validateLeagueTeam_rejectsUnknownTeam() {
-        assertThrows(IllegalArgumentException.class, () -> service.validateLeagueTeam("NFL", "XYZ"));
+    void checkLeagueTeam_rejectsUnknownTeam() {
+        assertEquals(ValidationResult.INVALID_TEAM, service.checkLeagueTeam("NFL", "XYZ"));
     }
 
     @Test
-    void validateLeagueTeamPosition_acceptsKnownPosition() {
-        service.validateLeagueTeamPosition("NFL", "TB", "qb");
+    void checkLeagueTeamPosition_acceptsKnownPosition() {
+        assertEquals(ValidationResult.VALID, service.checkLeagueTeamPosition("NFL", "TB", "qb"));
     }
 
     @Test
-    void validateLeagueTeamPosition_rejectsUnknownPosition() {
-        assertThrows(IllegalArgumentException.class, () -> service.validateLeagueTeamPosition("NFL", "TB", "RB"));
+    void checkLeagueTeamPosition_rejectsUnknownPosition() {
+        assertEquals(ValidationResult.INVALID_POSITION, service.checkLeagueTeamPosition("NFL", "TB", "RB"));
+    }
+
+    @Test
+    @DisplayName("check methods report the first failing field without throwing")
+    void check_returnsReason() {
+        assertEquals(ValidationResult.VALID, service.checkLeagueTeamPosition("nfl", " tb ", "qb"));
+        assertEquals(ValidationResult.LEAGUE_REQUIRED, service.checkLeagueTeamPosition(" ", "TB", "QB"));
+        assertEquals(ValidationResult.UNSUPPORTED_LEAGUE, service.checkLeagueTeamPosition("NBA", "XYZ", "RB"));
+        assertEquals(ValidationResult.INVALID_TEAM, service.checkLeagueTeamPosition("NFL", "XYZ", "RB"));
+        assertEquals(ValidationResult.TEAM_REQUIRED, service.checkLeagueTeam("NFL", null));
+        assertEquals(ValidationResult.INVALID_POSITION, service.checkLeaguePosition("NFL", "RB"));
+        assertEquals(ValidationResult.POSITION_REQUIRED, service.checkLeagueTeamPosition("NFL", "TB", ""));
+    }
+
+    @Test
+    @DisplayName("getPositions throws a stackless typed exception with the normalized value")
+    void getPositions_unknownLeague_throwsStacklessException() {
+        InvalidDepthChartRequestException ex = assertThrows(InvalidDepthChartRequestException.class,
+                () -> service.getPositions(" nba "));
+
+        assertEquals(ValidationResult.UNSUPPORTED_LEAGUE, ex.getReason());
+        assertEquals("Unsupported league: NBA", ex.getMessage());
+        assertEquals(0, ex.getStackTrace().length);
     }
 }
@@ -0,0 +1,132 @@
+package com.fd.depthchart.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fd.depthchart.config.LeagueCatalogProperties;
+import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.service.DepthChartServiceImpl;
+import com.fd.depthchart.service.PropertiesLeagueMetadataService;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation budgets for the hot reads, measured with the JVM's per-thread allocation counter.
+ * The budgets leave headroom for JIT and JDK differences; a failure means something started copying
+ * per request again. ReadPathBenchmark (./gradlew jmh) gives the exact figure.
+ */
+class ReadPathAllocationTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int MEASURED = 10_000;
+
+    // service lookups only
+    private static final long BACKUPS_LOOKUP_BUDGET = 64;
+    private static final long FULL_CHART_LOOKUP_BUDGET = 64;
+    // lookup plus the JSON written to the response stream
+    private static final long BACKUPS_RESPONSE_BUDGET = 2_048;
+    private static final long FULL_CHART_RESPONSE_BUDGET = 4_096;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OutputStream sink = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private DepthChartServiceImpl service;
+    private DepthChartKey key;
+    private Player starter;
+
+    @BeforeEach
+    void setUp() {
+        LeagueCatalogProperties.League nfl = new LeagueCatalogProperties.League();
+        nfl.setTeams(Set.of("TB"));
+        nfl.setPositions(Set.of("QB", "RB", "WR", "TE"));
+        LeagueCatalogProperties props = new LeagueCatalogProperties();
+        props.setLeagues(Map.of("NFL", nfl));
+
+        service = new DepthChartServiceImpl(new PropertiesLeagueMetadataService(props));
+        for (String position : List.of("QB", "RB", "WR", "TE")) {
+            for (int i = 1; i <= 4; i++) {
+                service.addPlayerToDepthChart(DepthChartKey.of("NFL", "TB", position),
+                        new Player(i, position + " Player " + i), null);
+            }
+        }
+        key = DepthChartKey.of("NFL", "TB", "QB");
+        starter = new Player(1, "QB Player 1");
+    }
+
+    @Test
+    @DisplayName("getBackups does not copy the depth list")
+    void getBackups_staysWithinAllocationBudget() {
+        assertWithinBudget("getBackups", BACKUPS_LOOKUP_BUDGET, () -> service.getBackups(key, starter));
+    }
+
+    @Test
+    @DisplayName("getFullDepthChart returns the published chart without copying it")
+    void getFullDepthChart_staysWithinAllocationBudget() {
+        assertWithinBudget("getFullDepthChart", FULL_CHART_LOOKUP_BUDGET, () -> service.getFullDepthChart("NFL", "TB"));
+    }
+
+    @Test
+    @DisplayName("getBackups response stays within its per-request allocation budget")
+    void getBackupsResponse_staysWithinAllocationBudget() {
+        assertWithinBudget("getBackups response", BACKUPS_RESPONSE_BUDGET,
+                () -> write(service.getBackups(key, starter)));
+    }
+
+    @Test
+    @DisplayName("getFullDepthChart response stays within its per-request allocation budget")
+    void getFullDepthChartResponse_staysWithinAllocationBudget() {
+        assertWithinBudget("getFullDepthChart response", FULL_CHART_RESPONSE_BUDGET,
+                () -> write(service.getFullDepthChart("NFL", "TB")));
+    }
+
+    private Object write(Object value) {
+        try {
+            objectMapper.writeValue(sink, value);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return value;
+    }
+
+    private static void assertWithinBudget(String operation, long budgetBytes, Supplier<Object> call) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled(),
+                "thread allocation counter not available on this JVM");
+
+        Object sinkhole = null;
+        for (int i = 0; i < WARMUP; i++) {
+            sinkhole = call.get();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED; i++) {
+            sinkhole = call.get();
+        }
+        long bytesPerCall = (threads.getThreadAllocatedBytes(threadId) - before) / MEASURED;
+
+        assertTrue(sinkhole != null);
+        assertTrue(bytesPerCall <= budgetBytes,
+                operation + " allocated " + bytesPerCall + " bytes per call, budget is " + budgetBytes);
+    }
+}
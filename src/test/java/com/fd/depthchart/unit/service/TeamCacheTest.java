@@ -0,0 +1,120 @@
+package com.fd.depthchart.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fd.depthchart.config.TeamCacheProperties;
+import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.model.TeamDepthChart;
+import com.fd.depthchart.model.TeamKey;
+import com.fd.depthchart.service.DepthChartServiceImpl;
+import com.fd.depthchart.service.DepthChartWriteMode;
+import com.fd.depthchart.service.LeagueMetadataService;
+import com.fd.depthchart.service.TeamCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class TeamCacheTest {
+
+    @Mock
+    private LeagueMetadataService leagueMetadataService;
+
+    @TempDir
+    Path spillDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DepthChartServiceImpl depthChartService;
+
+    @BeforeEach
+    void setUp() {
+        TeamCacheProperties props = new TeamCacheProperties();
+        props.setEnabled(true);
+        props.setMaxTeams(1);
+        props.setTtl(Duration.ofHours(1));
+        // no background sweep, the test triggers eviction itself
+        props.setSweepInterval(Duration.ZERO);
+        props.setSpillDirectory(spillDir.toString());
+
+        meterRegistry = new SimpleMeterRegistry();
+        TeamCache teamCache = new TeamCache(props, new ObjectMapper(), meterRegistry);
+        LeagueMetadataStubs.acceptAll(leagueMetadataService);
+        depthChartService = new DepthChartServiceImpl(leagueMetadataService, 256,
+                DepthChartWriteMode.OPTIMISTIC, 1, teamCache);
+    }
+
+    @Test
+    @DisplayName("least recently used team is spilled past max-teams and reloaded on next access")
+    void evictColdTeams_spillsLruTeamAndReloadsLazily() {
+        Player brady = new Player(12, "Tom Brady");
+        Player jones = new Player(10, "Mac Jones");
+        depthChartService.addPlayerToDepthChart(DepthChartKey.of("nfl", "tb", "qb"), brady, null);
+        depthChartService.addPlayerToDepthChart(DepthChartKey.of("nfl", "ne", "qb"), jones, null);
+
+        // touch TB so NE becomes the least recently used team
+        depthChartService.getFullDepthChart("nfl", "tb");
+        depthChartService.evictColdTeams();
+
+        assertTrue(Files.exists(spillDir.resolve("nfl").resolve("ne.json")));
+        assertEquals(1.0, meterRegistry.counter("depthchart.cache.evictions").count());
+
+        assertEquals(List.of(jones), depthChartService.getFullDepthChart("nfl", "ne").get("QB"));
+        assertEquals(1L, depthChartService.getDepthChartVersion("nfl", "ne"));
+        assertEquals(1.0, meterRegistry.counter("depthchart.cache.reloads").count());
+        assertTrue(meterRegistry.counter("depthchart.cache.hits").count() > 0);
+        // the reloaded copy is authoritative again, its spill file must not outlive it
+        assertFalse(Files.exists(spillDir.resolve("nfl").resolve("ne.json")));
+    }
+
+    @Test
+    @DisplayName("a spill file without positions or version fails the read instead of passing for an empty team")
+    void corruptSpillFile_failsRead() throws Exception {
+        depthChartService.addPlayerToDepthChart(DepthChartKey.of("nfl", "tb", "qb"), new Player(12, "Tom Brady"), null);
+        depthChartService.addPlayerToDepthChart(DepthChartKey.of("nfl", "ne", "qb"), new Player(10, "Mac Jones"), null);
+        depthChartService.getFullDepthChart("nfl", "tb");
+        depthChartService.evictColdTeams();
+
+        Files.writeString(spillDir.resolve("nfl").resolve("ne.json"), "{\"league\":\"NFL\",\"team\":\"NE\",\"positions\":{}}");
+
+        // used to retry the reload forever
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertThrows(IllegalStateException.class, () -> depthChartService.getFullDepthChart("nfl", "ne")));
+    }
+
+    @Test
+    @DisplayName("a spilled copy read before a newer spill is not put back on the heap")
+    void teamCache_staleSpilledCopy_isNotReinstated() {
+        TeamCacheProperties props = new TeamCacheProperties();
+        props.setEnabled(true);
+        props.setSpillDirectory(spillDir.toString());
+        TeamCache teamCache = new TeamCache(props, new ObjectMapper(), meterRegistry);
+        TeamKey ne = TeamKey.of("nfl", "ne");
+        Player jones = new Player(10, "Mac Jones");
+
+        teamCache.spill(ne, TeamDepthChart.of(1L, Map.of("QB", List.of(jones))));
+        TeamDepthChart first = teamCache.readSpilled(ne);
+        teamCache.spill(ne, TeamDepthChart.of(2L, Map.of("QB", List.of(jones, new Player(12, "Tom Brady")))));
+
+        assertFalse(teamCache.isSpilledAt(ne, first.version()));
+        teamCache.markResident(ne, first.version());
+        assertTrue(teamCache.isSpilled(ne));
+        assertEquals(2L, teamCache.readSpilled(ne).version());
+
+        teamCache.markResident(ne, 2L);
+        assertFalse(teamCache.isSpilled(ne));
+        assertNull(teamCache.readSpilled(ne));
+    }
+}
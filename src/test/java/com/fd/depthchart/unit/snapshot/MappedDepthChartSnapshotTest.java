@@ -0,0 +1,110 @@
+package com.fd.depthchart.unit.snapshot;
+
+import com.fd.depthchart.model.DepthChartKey;
+import com.fd.depthchart.model.Player;
+import com.fd.depthchart.snapshot.DepthChartSnapshotWriter;
+import com.fd.depthchart.snapshot.MappedDepthChartSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedDepthChartSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("snapshot round-trips keys, depth order and team grouping")
+    void writeThenOpen_roundTrips() throws Exception {
+        Player brady = new Player(12, "Tom Brady");
+        Player gabbert = new Player(6, "Blaine Gabbert");
+        Player evans = new Player(13, "Mike Evans");
+
+        Map<DepthChartKey, List<Player>> store = new LinkedHashMap<>();
+        store.put(DepthChartKey.of("NFL", "TB", "QB"), List.of(brady, gabbert));
+        store.put(DepthChartKey.of("NFL", "NE", "QB"), List.of(new Player(10, "Mac Jones")));
+        store.put(DepthChartKey.of("NFL", "TB", "WR"), List.of(evans));
+
+        Path file = tempDir.resolve("store.bin");
+        DepthChartSnapshotWriter.write(store, file);
+        MappedDepthChartSnapshot snapshot = MappedDepthChartSnapshot.open(file);
+
+        assertEquals(3, snapshot.getKeyCount());
+        assertEquals(List.of(brady, gabbert), snapshot.get(DepthChartKey.of("NFL", "TB", "QB")));
+        assertNull(snapshot.get(DepthChartKey.of("NFL", "TB", "TE")));
+
+        Map<String, List<Player>> team = snapshot.getTeam("NFL", "TB");
+        assertEquals(List.of("QB", "WR"), List.copyOf(team.keySet()));
+        assertEquals(List.of(evans), team.get("WR"));
+        assertTrue(snapshot.getTeam("NBA", "TB").isEmpty());
+    }
+
+    @Test
+    @DisplayName("snapshot records the stamp of the sources it was built from")
+    void write_recordsSourceStamp() throws Exception {
+        Path stamped = tempDir.resolve("stamped.bin");
+        Path unstamped = tempDir.resolve("unstamped.bin");
+        DepthChartSnapshotWriter.write(sampleStore(), stamped, 42L);
+        DepthChartSnapshotWriter.write(sampleStore(), unstamped);
+
+        assertEquals(42L, MappedDepthChartSnapshot.open(stamped).getSourceStamp());
+        assertEquals(MappedDepthChartSnapshot.NO_SOURCE_STAMP, MappedDepthChartSnapshot.open(unstamped).getSourceStamp());
+    }
+
+    @Test
+    @DisplayName("truncated snapshot is rejected when opened, not when read")
+    void open_truncatedFile_throws() throws Exception {
+        Path file = tempDir.resolve("store.bin");
+        DepthChartSnapshotWriter.write(sampleStore(), file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> MappedDepthChartSnapshot.open(file));
+        assertTrue(ex.getMessage().startsWith("Corrupt depth chart snapshot"));
+    }
+
+    @Test
+    @DisplayName("snapshot with an index pointing outside its section fails the lookup that reads it")
+    void open_corruptIndex_throws() throws Exception {
+        Path file = tempDir.resolve("store.bin");
+        DepthChartSnapshotWriter.write(sampleStore(), file);
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        // first depth entry (the header's depth section offset is at byte 60) points at a player that does not exist
+        bytes.putInt(bytes.getInt(60), 1_000_000);
+        Files.write(file, bytes.array());
+
+        MappedDepthChartSnapshot snapshot = MappedDepthChartSnapshot.open(file);
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> snapshot.get(DepthChartKey.of("NFL", "TB", "QB")));
+        assertTrue(ex.getMessage().startsWith("Corrupt depth chart snapshot"));
+    }
+
+    @Test
+    @DisplayName("snapshot with a damaged header is rejected when opened")
+    void open_corruptHeader_throws() throws Exception {
+        Path file = tempDir.resolve("store.bin");
+        DepthChartSnapshotWriter.write(sampleStore(), file);
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        bytes.putInt(60, bytes.getInt(60) + 4);
+        Files.write(file, bytes.array());
+
+        assertThrows(IllegalStateException.class, () -> MappedDepthChartSnapshot.open(file));
+    }
+
+    private static Map<DepthChartKey, List<Player>> sampleStore() {
+        Map<DepthChartKey, List<Player>> store = new LinkedHashMap<>();
+        store.put(DepthChartKey.of("NFL", "TB", "QB"), List.of(new Player(12, "Tom Brady"), new Player(6, "Blaine Gabbert")));
+        store.put(DepthChartKey.of("NFL", "NE", "QB"), List.of(new Player(10, "Mac Jones")));
+        return store;
+    }
+}